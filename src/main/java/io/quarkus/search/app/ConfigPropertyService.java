@@ -0,0 +1,88 @@
+package io.quarkus.search.app;
+
+import java.net.URI;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import io.quarkus.search.app.dto.ConfigPropertyHit;
+import io.quarkus.search.app.entity.ConfigProperty;
+import io.quarkus.search.app.local.LocalIndex;
+
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestQuery;
+
+/**
+ * Looks up configuration properties by key, e.g. {@code quarkus.hibernate-orm.enabled},
+ * and returns the guides documenting them.
+ * <p>
+ * Full-text search tokenizes keys on dots and dashes, which makes exact lookups unreliable;
+ * this relies on a separate keyword index instead (see {@link ConfigProperty}).
+ */
+@ApplicationScoped
+@Path("/")
+@org.jboss.resteasy.reactive.Cache(maxAge = 120)
+public class ConfigPropertyService {
+
+    @Inject
+    SearchMapping searchMapping;
+
+    @Inject
+    LocalIndex localIndex;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Look up configuration properties by exact key or key prefix")
+    @Path("/config-properties")
+    public List<ConfigPropertyHit> lookup(@RestQuery String q,
+            @RestQuery @DefaultValue(QuarkusVersions.LATEST) String version,
+            @RestQuery @DefaultValue("false") boolean exact,
+            @RestQuery @DefaultValue("20") @Min(1) @Max(100) int limit) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Missing configuration property key");
+        }
+        if (localIndex.isExclusive()) {
+            // Configuration properties are only indexed in the search backend.
+            return List.of();
+        }
+        String key = q.trim();
+        try (var session = searchMapping.createSession()) {
+            return session.search(ConfigProperty.class)
+                    .select(f -> f.composite()
+                            .from(f.field("key", String.class),
+                                    f.field("guides", URI.class).list())
+                            .as(ConfigPropertyHit::new))
+                    .where(f -> f.bool()
+                            .must(exact
+                                    ? f.match().field("key").matching(key)
+                                    : f.wildcard().field("key").matching(escapeWildcard(key) + "*"))
+                            // Quarkiverse guides are not versioned: always include their properties.
+                            .filter(f.or(f.match().field("quarkusVersion").matching(version),
+                                    f.not(f.exists().field("quarkusVersion")))))
+                    .sort(f -> f.field("key"))
+                    .fetchHits(limit);
+        }
+    }
+
+    private static String escapeWildcard(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '\\' || c == '*' || c == '?') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
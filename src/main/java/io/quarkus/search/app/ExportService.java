@@ -0,0 +1,201 @@
+package io.quarkus.search.app;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import io.quarkus.search.app.dto.GuideExport;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.entity.QuarkusVersionAndLanguageRoutingBinder;
+import io.quarkus.search.app.local.LocalIndex;
+
+import io.quarkus.logging.Log;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.ElasticsearchExtension;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.backend.elasticsearch.search.query.ElasticsearchSearchResult;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+import org.hibernate.search.mapper.pojo.standalone.session.SearchSession;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestQuery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+
+/**
+ * Exports all guides of a given version and language, for consumption by batch jobs
+ * (sitemaps, offline documentation, analytics, ...).
+ * <p>
+ * Unlike paging through {@code /guides/search}, this doesn't highlight anything,
+ * doesn't compute scores, and relies on a point in time and {@code search_after}
+ * rather than ever-increasing offsets, so that memory usage remains constant on both ends.
+ */
+@ApplicationScoped
+@Path("/")
+public class ExportService {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    @Inject
+    SearchMapping searchMapping;
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    LocalIndex localIndex;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final Gson gson = new Gson();
+
+    @GET
+    @Produces(APPLICATION_NDJSON)
+    @Operation(summary = "Export all guides for a given version and language, as newline-delimited JSON")
+    @Path("/guides/export")
+    public StreamingOutput export(@RestQuery @DefaultValue(QuarkusVersions.LATEST) String version,
+            @RestQuery @DefaultValue("en") Language language) {
+        // Unlike /guides/search, "*" and comma-separated lists are not supported:
+        // they would be used as is for routing, and thus would silently match nothing but Quarkiverse guides.
+        if (version.isBlank() || version.contains("*") || version.contains(",")) {
+            throw new BadRequestException("Invalid version: '%s'. Exports are limited to a single version."
+                    .formatted(version));
+        }
+        int pageSize = searchingConfig.export().pageSize();
+        if (localIndex.isPrimary()) {
+            return output -> localIndex.export(version, language, pageSize, page -> write(output, page));
+        }
+        return output -> exportFromSearchBackend(version, language, pageSize, output);
+    }
+
+    private void exportFromSearchBackend(String version, Language language, int pageSize, OutputStream output)
+            throws IOException {
+        List<String> routingKeys = QuarkusVersionAndLanguageRoutingBinder.searchKeys(version, language);
+        String pointInTimeId = openPointInTime(routingKeys);
+        try (var session = searchMapping.createSession()) {
+            JsonArray searchAfter = null;
+            while (true) {
+                var result = fetchPage(session, routingKeys, language, pageSize, pointInTimeId, searchAfter);
+                write(output, result.hits());
+                JsonObject responseBody = result.responseBody();
+                // The search backend may change the ID of the point in time on each request.
+                pointInTimeId = responseBody.get("pit_id").getAsString();
+                if (result.hits().size() < pageSize) {
+                    return;
+                }
+                JsonArray rawHits = responseBody.getAsJsonObject("hits").getAsJsonArray("hits");
+                searchAfter = rawHits.get(rawHits.size() - 1).getAsJsonObject().getAsJsonArray("sort");
+            }
+        } finally {
+            closePointInTime(pointInTimeId);
+        }
+    }
+
+    private ElasticsearchSearchResult<GuideExport> fetchPage(SearchSession session, List<String> routingKeys,
+            Language language, int pageSize, String pointInTimeId, JsonArray searchAfter) {
+        return session.search(Guide.class)
+                .extension(ElasticsearchExtension.get())
+                .select(f -> f.composite().from(
+                        f.id(),
+                        f.field("quarkusVersion"),
+                        f.field("type"),
+                        f.field("origin"),
+                        f.field("status"),
+                        f.field(language.addSuffix("title")),
+                        f.field(language.addSuffix("summary")),
+                        f.field("categories").list())
+                        .asList(GuideExport::new))
+                .where(f -> f.matchAll())
+                // Index order is the cheapest sort;
+                // the search backend adds a tiebreaker automatically when using a point in time.
+                .sort(f -> f.indexOrder())
+                // Routing keys are not used to route the search request itself (see below),
+                // but Hibernate Search also turns them into a filter.
+                .routing(routingKeys)
+                // We don't need the total hit count.
+                .totalHitCountThreshold(pageSize)
+                .requestTransformer(context -> {
+                    // A point in time already targets specific indexes and shards:
+                    // the search backend rejects requests that specify them again.
+                    context.path("/_search");
+                    context.parametersMap().remove("routing");
+                    JsonObject pit = new JsonObject();
+                    pit.addProperty("id", pointInTimeId);
+                    pit.addProperty("keep_alive", keepAlive());
+                    context.body().add("pit", pit);
+                    if (searchAfter != null) {
+                        context.body().add("search_after", searchAfter);
+                    }
+                })
+                .fetch(pageSize);
+    }
+
+    private String openPointInTime(List<String> routingKeys) throws IOException {
+        String readName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+        var request = new Request("POST", "/" + readName + "/_pit");
+        request.addParameter("keep_alive", keepAlive());
+        request.addParameter("routing", String.join(",", routingKeys));
+        var response = client().performRequest(request);
+        try (var input = response.getEntity().getContent()) {
+            var responseBody = gson.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8), JsonObject.class);
+            return responseBody.get("id").getAsString();
+        }
+    }
+
+    private void closePointInTime(String pointInTimeId) {
+        try {
+            var request = new Request("DELETE", "/_pit");
+            JsonObject body = new JsonObject();
+            body.addProperty("id", pointInTimeId);
+            request.setJsonEntity(gson.toJson(body));
+            client().performRequest(request);
+        } catch (IOException | RuntimeException e) {
+            // Not critical: the point in time will expire on its own.
+            Log.warnf(e, "Failed to close point in time: %s", e.getMessage());
+        }
+    }
+
+    private String keepAlive() {
+        return searchingConfig.export().keepAlive().toMillis() + "ms";
+    }
+
+    private Rest5Client client() {
+        return searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class);
+    }
+
+    private void write(OutputStream output, List<GuideExport> guides) {
+        try {
+            for (GuideExport guide : guides) {
+                output.write(objectMapper.writeValueAsBytes(guide));
+                output.write('\n');
+            }
+            // Let clients start processing before we fetch the next page.
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
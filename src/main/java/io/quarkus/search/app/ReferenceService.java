@@ -1,8 +1,11 @@
 package io.quarkus.search.app;
 
+import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -10,19 +13,27 @@ import jakarta.transaction.Transactional;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.core.MediaType;
 
+import io.quarkus.search.app.cache.LastKnownGoodResults;
 import io.quarkus.search.app.cache.MethodNameCacheKeyGenerator;
 import io.quarkus.search.app.entity.Guide;
 import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.local.LocalIndex;
 
 import io.quarkus.cache.Cache;
 import io.quarkus.cache.CacheName;
 import io.quarkus.cache.CacheResult;
+import io.quarkus.cache.CaffeineCache;
 
 import org.hibernate.search.engine.search.aggregation.AggregationKey;
 import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+import org.hibernate.search.util.common.SearchException;
 
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Fallback;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 
 @ApplicationScoped
@@ -39,13 +50,25 @@ public class ReferenceService {
     @Inject
     SearchMapping searchMapping;
 
+    @Inject
+    LastKnownGoodResults lastKnownGoodResults;
+
+    @Inject
+    LocalIndex localIndex;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "List available versions")
     @Path("/versions")
-    @CacheResult(cacheName = REFERENCE_CACHE, keyGenerator = MethodNameCacheKeyGenerator.class)
+    @CircuitBreaker(failOn = SearchException.class, requestVolumeThreshold = 4, failureRatio = 0.5, delay = 5, delayUnit = ChronoUnit.SECONDS)
+    @Fallback(fallbackMethod = "versionsLastKnownGood", applyOn = { SearchException.class, CircuitBreakerOpenException.class })
     public List<String> versions() {
-        return listAllValues("quarkusVersion", QuarkusVersions.COMPARATOR.reversed());
+        return cached("versions", this::listAllVersions);
+    }
+
+    // Used while the search backend is unhealthy, see @Fallback above.
+    List<String> versionsLastKnownGood() {
+        return lastKnownGood("versions", this::listAllVersions);
     }
 
     @GET
@@ -61,16 +84,58 @@ public class ReferenceService {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "List available categories")
     @Path("/categories")
-    @CacheResult(cacheName = REFERENCE_CACHE, keyGenerator = MethodNameCacheKeyGenerator.class)
+    @CircuitBreaker(failOn = SearchException.class, requestVolumeThreshold = 4, failureRatio = 0.5, delay = 5, delayUnit = ChronoUnit.SECONDS)
+    @Fallback(fallbackMethod = "categoriesLastKnownGood", applyOn = { SearchException.class, CircuitBreakerOpenException.class })
     public List<String> categories() {
-        return listAllValues("categories", Comparator.naturalOrder());
+        return cached("categories", this::listAllCategories);
+    }
+
+    // Used while the search backend is unhealthy, see @Fallback above.
+    List<String> categoriesLastKnownGood() {
+        return lastKnownGood("categories", this::listAllCategories);
     }
 
     public void invalidateCaches() {
         cache.invalidateAll().subscribe().asCompletionStage().join();
     }
 
+    // Not @CacheResult: it would also cache results of the fallback, which must not outlive the outage.
+    private List<String> cached(String key, Supplier<List<String>> loader) {
+        CompletableFuture<List<String>> cached = cache.as(CaffeineCache.class).getIfPresent(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            return cached.join();
+        }
+        return load(key, loader);
+    }
+
+    private List<String> load(String key, Supplier<List<String>> loader) {
+        List<String> result = lastKnownGoodResults.remember(key, loader.get());
+        cache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(result));
+        return result;
+    }
+
+    private List<String> lastKnownGood(String key, Supplier<List<String>> loader) {
+        // Revalidation runs outside of any request, and calls the loader directly:
+        // the CDI proxy, and thus fault tolerance, are not involved.
+        List<String> lastKnownGood = lastKnownGoodResults.lookup(key, () -> load(key, loader));
+        if (lastKnownGood == null) {
+            throw new ServiceUnavailableException("The search backend is currently unavailable. Please try again later.");
+        }
+        return lastKnownGood;
+    }
+
+    private List<String> listAllVersions() {
+        return listAllValues("quarkusVersion", QuarkusVersions.COMPARATOR.reversed());
+    }
+
+    private List<String> listAllCategories() {
+        return listAllValues("categories", Comparator.naturalOrder());
+    }
+
     private List<String> listAllValues(String fieldName, Comparator<String> comparator) {
+        if (localIndex.isPrimary()) {
+            return localIndex.allValues(fieldName).stream().sorted(comparator).toList();
+        }
         try (var session = searchMapping.createSession()) {
             var aggKey = AggregationKey.<Map<String, Long>> of("versions");
             var result = session.search(Guide.class)
@@ -0,0 +1,90 @@
+package io.quarkus.search.app;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import io.quarkus.search.app.dto.RelatedGuide;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.entity.RelatedGuides;
+import io.quarkus.search.app.local.LocalIndex;
+
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestQuery;
+
+@ApplicationScoped
+@Path("/")
+@org.jboss.resteasy.reactive.Cache(maxAge = 120)
+public class RelatedGuidesService {
+
+    @Inject
+    SearchMapping searchMapping;
+
+    @Inject
+    LocalIndex localIndex;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "List guides related to a given guide")
+    @Path("/guides/related")
+    public List<RelatedGuide> related(@RestQuery URI url, @RestQuery Language language) {
+        if (url == null) {
+            throw new BadRequestException("Missing guide URL");
+        }
+        if (localIndex.isExclusive()) {
+            // Related guides are computed by the search backend during indexing.
+            return List.of();
+        }
+        try (var session = searchMapping.createSession()) {
+            // Related guides are precomputed, see RelatedGuidesComputation:
+            // we only need to look them up, then fetch their title/summary.
+            List<Lookup> hits = session.search(RelatedGuides.class)
+                    .select(f -> f.composite()
+                            .from(f.field("language", Language.class),
+                                    f.field("related", URI.class).list())
+                            .as(Lookup::new))
+                    .where(f -> f.id().matching(url))
+                    .fetchHits(1);
+            if (hits.isEmpty()) {
+                throw new NotFoundException("Unknown guide: " + url);
+            }
+            Lookup lookup = hits.get(0);
+            // The language is optional: the URL of a guide is specific to its language already.
+            if (language != null && language != lookup.language()) {
+                throw new BadRequestException("Guide %s is in language '%s', not '%s'"
+                        .formatted(url, lookup.language().code, language.code));
+            }
+            List<URI> related = lookup.related();
+            if (related.isEmpty()) {
+                return List.of();
+            }
+            return session.search(Guide.class)
+                    .select(f -> f.composite()
+                            .from(f.id(URI.class),
+                                    f.field(lookup.language().addSuffix("title"), String.class),
+                                    f.field(lookup.language().addSuffix("summary"), String.class))
+                            .as(RelatedGuide::new))
+                    .where(f -> f.id().matchingAny(related))
+                    .fetchHits(related.size())
+                    .stream()
+                    // Keep the order of related guides, from most to least related.
+                    .sorted(Comparator.comparingInt(guide -> related.indexOf(guide.url())))
+                    .toList();
+        }
+    }
+
+    private record Lookup(Language language, List<URI> related) {
+    }
+}
@@ -1,62 +1,167 @@
 package io.quarkus.search.app;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.core.MediaType;
 
+import io.quarkus.search.app.analytics.SearchAnalytics;
+import io.quarkus.search.app.cache.LastKnownGoodResults;
+import io.quarkus.search.app.catalog.GuideCatalog;
 import io.quarkus.search.app.dto.GuideSearchHit;
 import io.quarkus.search.app.dto.SearchResult;
 import io.quarkus.search.app.entity.Guide;
 import io.quarkus.search.app.entity.Language;
-import io.quarkus.search.app.entity.QuarkusVersionAndLanguageRoutingBinder;
+import io.quarkus.search.app.health.WarmUpRequest;
+import io.quarkus.search.app.hibernate.GuideSectionsBinder;
+import io.quarkus.search.app.jfr.SearchEvent;
+import io.quarkus.search.app.local.LocalIndex;
+import io.quarkus.search.app.query.GuideSearchRequest;
+import io.quarkus.search.app.query.PartialWord;
+import io.quarkus.search.app.query.QueryGuard;
+import io.quarkus.search.app.query.SearchHedging;
+import io.quarkus.search.app.query.SearchProfile;
+import io.quarkus.search.app.query.SlowQueryLog;
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
 import io.quarkus.search.app.quarkusio.QuarkusIO;
+import io.quarkus.search.app.util.AdaptiveLimiter;
+import io.quarkus.search.app.util.Tracing;
 
 import io.quarkus.logging.Log;
 
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
 import org.hibernate.search.backend.elasticsearch.ElasticsearchExtension;
-import org.hibernate.search.backend.elasticsearch.search.query.ElasticsearchSearchResult;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.backend.elasticsearch.search.query.ElasticsearchSearchQuery;
+import org.hibernate.search.backend.elasticsearch.search.query.ElasticsearchSearchRequestTransformer;
 import org.hibernate.search.engine.search.common.BooleanOperator;
 import org.hibernate.search.engine.search.common.ValueModel;
+import org.hibernate.search.engine.search.highlighter.dsl.HighlighterFinalStep;
+import org.hibernate.search.engine.search.highlighter.dsl.HighlighterOptionsStep;
+import org.hibernate.search.engine.search.highlighter.dsl.SearchHighlighterFactory;
 import org.hibernate.search.engine.search.predicate.dsl.MatchPredicateOptionsStep;
 import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
 import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleQueryStringPredicateFieldMoreStep;
 import org.hibernate.search.engine.search.predicate.dsl.SimpleQueryFlag;
 import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
 import org.hibernate.search.mapper.pojo.standalone.session.SearchSession;
+import org.hibernate.search.util.common.SearchException;
 
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Fallback;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.jboss.resteasy.reactive.RestQuery;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @ApplicationScoped
 @Path("/")
 public class SearchService {
 
     private static final int TITLE_OR_SUMMARY_MAX_SIZE = 32_600;
-    private static final int PAGE_SIZE = 50;
+    public static final int PAGE_SIZE = 50;
+    public static final String LATENCY_METRIC_NAME = "search.latency";
+    private static final String IN_FLIGHT_METRIC_NAME = "search.concurrency.in_flight";
+    private static final String REJECTED_METRIC_NAME = "search.concurrency.rejected";
     private static final long TOTAL_HIT_COUNT_THRESHOLD = 100;
+    private static final String ALL_VERSIONS = "*";
+    private static final String VERSIONS_INNER_HITS = "versions";
+    private static final String SECTIONS_INNER_HITS = "sections";
     private static final String MAX_FOR_PERF_MESSAGE = "{jakarta.validation.constraints.Max.message} for performance reasons";
 
     @Inject
     SearchMapping searchMapping;
 
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    LastKnownGoodResults lastKnownGoodResults;
+
+    @Inject
+    LocalIndex localIndex;
+
+    @Inject
+    QueryGuard queryGuard;
+
+    @Inject
+    ReferenceService referenceService;
+
+    @Inject
+    GuideCatalog guideCatalog;
+
+    @Inject
+    SlowQueryLog slowQueryLog;
+
+    @Inject
+    SearchAnalytics searchAnalytics;
+
+    @Inject
+    SearchHedging searchHedging;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private AdaptiveLimiter backendConcurrency;
+    private Counter backendConcurrencyRejected;
+    private Timer latency;
+
+    @PostConstruct
+    void init() {
+        backendConcurrency = new AdaptiveLimiter(searchingConfig.concurrency().max());
+        Gauge.builder(IN_FLIGHT_METRIC_NAME, backendConcurrency, AdaptiveLimiter::inFlight)
+                .description("The number of searches currently sent to the search backend")
+                .register(meterRegistry);
+        backendConcurrencyRejected = Counter.builder(REJECTED_METRIC_NAME)
+                .description("The number of searches served by the fallback because too many were in flight")
+                .register(meterRegistry);
+        latency = Timer.builder(LATENCY_METRIC_NAME)
+                .publishPercentiles(0.95, 0.99)
+                .register(meterRegistry);
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Search for Guides")
     @Transactional
     @Path("/guides/search")
+    @CircuitBreaker(failOn = SearchException.class, requestVolumeThreshold = 20, failureRatio = 0.5, delay = 5, delayUnit = ChronoUnit.SECONDS)
+    @Fallback(fallbackMethod = "searchFallback", applyOn = { SearchException.class, CircuitBreakerOpenException.class,
+            BulkheadException.class })
     public SearchResult<GuideSearchHit> search(@RestQuery @DefaultValue(QuarkusVersions.LATEST) String version,
             @RestQuery List<String> categories,
             @RestQuery String q,
@@ -65,37 +170,354 @@ public class SearchService {
             @RestQuery @DefaultValue("highlighted") String highlightCssClass,
             @RestQuery @DefaultValue("0") @Min(0) int page,
             @RestQuery @DefaultValue("1") @Min(0) @Max(value = 10, message = MAX_FOR_PERF_MESSAGE) int contentSnippets,
-            @RestQuery @DefaultValue("100") @Min(0) @Max(value = 200, message = MAX_FOR_PERF_MESSAGE) int contentSnippetsLength) {
-        try (var session = searchMapping.createSession()) {
-            var result = performSearch(version, categories, q, origin, language, highlightCssClass, page, contentSnippets,
-                    contentSnippetsLength, session);
-            if (result.total().hitCountLowerBound() > 0) {
-                return new SearchResult<>(result);
-            } else {
-                SearchResult.Suggestion suggestion = extractSuggestion(result);
-                if (suggestion != null) {
-                    result = performSearch(version, categories, suggestion.query(), origin, language, highlightCssClass, page,
-                            contentSnippets, contentSnippetsLength, session);
+            @RestQuery @DefaultValue("100") @Min(0) @Max(value = 200, message = MAX_FOR_PERF_MESSAGE) int contentSnippetsLength,
+            @RestQuery @DefaultValue("false") boolean fallbackToEnglish) {
+        long startNanos = System.nanoTime();
+        try {
+            return searchGuides(version, categories, q, origin, language, highlightCssClass, page, contentSnippets,
+                    contentSnippetsLength, fallbackToEnglish, startNanos);
+        } catch (SearchException | BulkheadException e) {
+            // Recorded by the fallback, see @Fallback above.
+            throw e;
+        } catch (RuntimeException e) {
+            searchAnalytics.record(SearchAnalytics.SOURCE_FAILED, version, language, categories, q, origin, page, 0L,
+                    startNanos);
+            throw e;
+        } finally {
+            // Percentiles are used to throttle indexing (see IndexingThrottle) and to hedge searches (see SearchHedging):
+            // warm-up requests, sent in bulk on startup, would skew them.
+            if (!WarmUpRequest.isCurrent()) {
+                latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private SearchResult<GuideSearchHit> searchGuides(String version, List<String> categories, String q, String origin,
+            Language language, String highlightCssClass, int page, int contentSnippets, int contentSnippetsLength,
+            boolean fallbackToEnglish, long startNanos) {
+        QueryGuard.Verdict verdict = queryGuard.check(q);
+        List<String> versions = versions(version);
+        if ((q == null || q.isBlank()) && versions.size() == 1) {
+            // Browsing: there's nothing to score or highlight, so the catalog has everything we need.
+            var event = SearchEvent.begin(SearchEvent.PHASE_CATALOG, version, language, categories, q, page);
+            var result = Tracing.trace("search.catalog", span -> guideCatalog.browse(versions.get(0), language,
+                    categories, origin, page * PAGE_SIZE, PAGE_SIZE));
+            if (result != null) {
+                event.end(result);
+                searchAnalytics.record(SearchEvent.PHASE_CATALOG, version, language, categories, q, origin, page,
+                        result.total().lowerBound(), startNanos);
+                return result;
+            }
+        }
+        if (localIndex.isPrimary()) {
+            var event = SearchEvent.begin(SearchEvent.PHASE_LOCAL_INDEX, version, language, categories, q, page);
+            var result = Tracing.trace("search.local-index", span -> localIndex.search(versions, categories, q, origin,
+                    language, highlightCssClass, page * PAGE_SIZE, PAGE_SIZE, contentSnippets, contentSnippetsLength,
+                    verdict));
+            event.end(result);
+            searchAnalytics.record(SearchEvent.PHASE_LOCAL_INDEX, version, language, categories, q, origin, page,
+                    result.total().lowerBound(), startNanos);
+            return result;
+        }
+        var request = new GuideSearchRequest(version, versions, categories, q, origin, language,
+                fallbackLanguage(fallbackToEnglish, language, q), highlightCssClass, page, contentSnippets,
+                contentSnippetsLength, verdict);
+        var backendSearch = searchBackend(request);
+        searchAnalytics.record(backendSearch.source(), version, language, categories, q, origin, page,
+                backendSearch.result().total().lowerBound(), startNanos);
+        return backendSearch.result();
+    }
+
+    // Not intercepted, unlike search(): also used to revalidate last known good results, see searchFallback.
+    private BackendSearch searchBackend(GuideSearchRequest request) {
+        String requestKey = request.key();
+        List<String> versions = request.versions();
+        Language language = request.language();
+        SlowQueryLog.Trace trace = slowQueryLog.start();
+        acquireBackendConcurrency();
+        try {
+            var event = SearchEvent.begin(SearchEvent.PHASE_SEARCH_BACKEND, request.version(), language,
+                    request.categories(), request.q(), request.page());
+            var responses = Tracing.trace("search.backend", span -> performHedgedSearch(request, trace));
+            var result = toSearchResult(responses.main(), versions, language, null, null);
+            event.end(result);
+            if (result.total().lowerBound() > 0) {
+                return new BackendSearch(SearchEvent.PHASE_SEARCH_BACKEND,
+                        lastKnownGoodResults.remember(requestKey, result));
+            }
+            // Hits in the requested language, even for a corrected query, are preferred over fallback hits.
+            SearchResult.Suggestion suggestion = extractSuggestion(responses.main());
+            if (suggestion != null) {
+                var retryEvent = SearchEvent.begin(SearchEvent.PHASE_SUGGESTION_RETRY, request.version(), language,
+                        request.categories(), suggestion.query(), request.page());
+                trace.suggestionRetry();
+                var retryResponses = Tracing.trace("search.suggestion-retry",
+                        span -> performHedgedSearch(request.withQuery(suggestion.query()), trace));
+                var retryResult = toSearchResult(retryResponses.main(), versions, language, suggestion, null);
+                retryEvent.end(retryResult);
+                if (retryResult.total().lowerBound() > 0) {
+                    return new BackendSearch(SearchEvent.PHASE_SUGGESTION_RETRY,
+                            lastKnownGoodResults.remember(requestKey, retryResult));
+                }
+            }
+            if (responses.fallback() != null) {
+                var fallback = toSearchResult(responses.fallback(), versions, request.fallbackLanguage(), null,
+                        request.fallbackLanguage());
+                if (fallback.total().lowerBound() > 0) {
+                    // Still reported as a zero-hit query: that's what matters to translators.
+                    return new BackendSearch(SearchAnalytics.SOURCE_LANGUAGE_FALLBACK,
+                            lastKnownGoodResults.remember(requestKey, fallback));
                 }
-                return new SearchResult<>(result, result.total().hitCountLowerBound() > 0 ? suggestion : null);
             }
+            return new BackendSearch(suggestion == null ? SearchEvent.PHASE_SEARCH_BACKEND
+                    : SearchEvent.PHASE_SUGGESTION_RETRY, lastKnownGoodResults.remember(requestKey, result));
+        } finally {
+            backendConcurrency.release();
+            slowQueryLog.record(trace, requestKey, request.routingKeys());
+        }
+    }
+
+    /**
+     * @param source What served the search, see {@link SearchAnalytics#record}.
+     */
+    private record BackendSearch(String source, SearchResult<GuideSearchHit> result) {
+    }
+
+    // Caps the number of search backend connections used by searches, see max-connections in application.properties.
+    // A fault tolerance @Bulkhead would reject searches immediately, since it only queues asynchronous invocations.
+    private void acquireBackendConcurrency() {
+        boolean acquired;
+        try {
+            acquired = backendConcurrency.tryAcquire(searchingConfig.concurrency().maxWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadException("Interrupted while waiting for concurrent searches to complete", e);
+        }
+        if (!acquired) {
+            backendConcurrencyRejected.increment();
+            // Served by the fallback, see @Fallback above.
+            throw new BulkheadException("Too many concurrent searches");
+        }
+    }
+
+    // Used while the search backend is unhealthy or searches are saturated, see @Fallback above.
+    SearchResult<GuideSearchHit> searchFallback(String version, List<String> categories, String q, String origin,
+            Language language, String highlightCssClass, int page, int contentSnippets, int contentSnippetsLength,
+            boolean fallbackToEnglish) {
+        long startNanos = System.nanoTime();
+        if (localIndex.isFallback()) {
+            try {
+                var result = localIndex.search(versions(version), categories, q, origin, language, highlightCssClass,
+                        page * PAGE_SIZE, PAGE_SIZE, contentSnippets, contentSnippetsLength, queryGuard.check(q));
+                searchAnalytics.record(SearchEvent.PHASE_LOCAL_INDEX, version, language, categories, q, origin, page,
+                        result.total().lowerBound(), startNanos);
+                return result;
+            } catch (RuntimeException e) {
+                Log.warnf(e, "Failed to search the local index, falling back to last known good results: %s",
+                        e.getMessage());
+            }
+        }
+        var request = new GuideSearchRequest(version, versions(version), categories, q, origin, language,
+                fallbackLanguage(fallbackToEnglish, language, q), highlightCssClass, page, contentSnippets,
+                contentSnippetsLength, queryGuard.check(q));
+        // Revalidation runs outside of any request, and calls the search backend directly:
+        // the CDI proxy, and thus fault tolerance, are not involved.
+        // It's not a search from a user either, so it's neither recorded in analytics nor in latency metrics.
+        SearchResult<GuideSearchHit> lastKnownGood = lastKnownGoodResults.lookup(request.key(),
+                () -> searchBackend(request).result());
+        if (lastKnownGood == null) {
+            searchAnalytics.record(SearchAnalytics.SOURCE_FAILED, version, language, categories, q, origin, page, 0L,
+                    startNanos);
+            throw new ServiceUnavailableException("The search backend is currently unavailable. Please try again later.");
+        }
+        searchAnalytics.record(SearchAnalytics.SOURCE_LAST_KNOWN_GOOD, version, language, categories, q, origin, page,
+                lastKnownGood.total().lowerBound(), startNanos);
+        return lastKnownGood.asStale();
+    }
+
+    /**
+     * Runs a search against the search backend with profiling enabled,
+     * to find out where time goes when executing it.
+     *
+     * @return A condensed timing breakdown, see {@link SearchProfile}.
+     * @see io.quarkus.search.app.indexing.IndexingService#registerManagementRoutes
+     */
+    public JsonObject profile(String version, List<String> categories, String q, String origin, Language language)
+            throws IOException {
+        var request = new GuideSearchRequest(version, versions(version), categories, q, origin, language, null,
+                "highlighted", 0, 1, 100, queryGuard.check(q));
+        try (var session = searchMapping.createSession()) {
+            var responses = performSearch(request, session, slowQueryLog.start(), true, false);
+            return SearchProfile.condense(responses.main(),
+                    request.verdict().highlighting() ? profileSuggestion(request.routingKeys(), q, language) : null);
+        }
+    }
+
+    // The profile API doesn't cover suggesters: run them on their own instead.
+    private Long profileSuggestion(List<String> routingKeys, String q, Language language) throws IOException {
+        JsonObject body = new JsonObject();
+        requestSuggestion(body, q, language, "highlighted");
+        if (!body.has("suggest")) {
+            return null;
+        }
+        body.addProperty("size", 0);
+        var request = new Request("POST", "/" + readName() + "/_search");
+        request.addParameter("routing", String.join(",", routingKeys));
+        request.setJsonEntity(body.toString());
+        return send(request).get("took").getAsLong();
+    }
+
+    private String readName() {
+        return searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+    }
+
+    private JsonObject send(Request request) throws IOException {
+        var response = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
+                .performRequest(request);
+        try (var input = response.getEntity().getContent()) {
+            return JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8)).getAsJsonObject();
+        }
+    }
+
+    private List<String> versions(String version) {
+        if (ALL_VERSIONS.equals(version)) {
+            return referenceService.versions();
+        }
+        List<String> versions = Arrays.stream(version.split(","))
+                .map(String::strip)
+                .filter(v -> !v.isEmpty())
+                .distinct()
+                .toList();
+        if (versions.isEmpty()) {
+            throw new BadRequestException("Invalid version: '%s'".formatted(version));
+        }
+        return versions;
+    }
+
+    private static Language fallbackLanguage(boolean fallbackToEnglish, Language language, String q) {
+        if (!fallbackToEnglish || language == Language.ENGLISH || q == null || q.isBlank()) {
+            return null;
+        }
+        return Language.ENGLISH;
+    }
+
+    // Each execution gets its own session, since hedged executions run concurrently, see SearchHedging.
+    private BackendResponses performHedgedSearch(GuideSearchRequest request, SlowQueryLog.Trace trace) {
+        return searchHedging.execute(hedge -> {
+            try (var session = searchMapping.createSession()) {
+                return performSearch(request, session, trace, false, hedge);
+            }
+        });
+    }
+
+    private BackendResponses performSearch(GuideSearchRequest request, SearchSession session,
+            SlowQueryLog.Trace trace, boolean profile, boolean hedge) {
+        if (request.fallbackLanguage() != null) {
+            return performMultiSearch(request, session, trace, hedge);
+        }
+        var result = createQuery(session, request, context -> {
+            customize(context.body(), context.parametersMap(), request, true, hedge);
+            if (profile) {
+                context.body().addProperty("profile", true);
+            }
+            trace.request(context.body());
+        })
+                .fetch(request.page() * PAGE_SIZE, PAGE_SIZE);
+        trace.response(result.responseBody());
+        return new BackendResponses(result.responseBody(), null);
+    }
+
+    // Searches in both the requested and the fallback language in a single round-trip.
+    // Hibernate Search doesn't expose multi-search: it renders the queries, and we send them through _msearch.
+    private BackendResponses performMultiSearch(GuideSearchRequest request, SearchSession session,
+            SlowQueryLog.Trace trace, boolean hedge) {
+        String readName = readName();
+        StringBuilder searches = new StringBuilder();
+        for (GuideSearchRequest search : List.of(request, request.inFallbackLanguage())) {
+            JsonObject body = JsonParser.parseString(createQuery(session, search, context -> {
+            }).queryString()).getAsJsonObject();
+            // Normally passed by Hibernate Search when executing the query, see performSearch.
+            body.addProperty("from", search.page() * PAGE_SIZE);
+            body.addProperty("size", PAGE_SIZE);
+            body.addProperty("track_total_hits", totalHitCountThreshold(search));
+            Map<String, String> parameters = new LinkedHashMap<>();
+            parameters.put("routing", String.join(",", search.routingKeys()));
+            customize(body, parameters, search, search == request, hedge);
+            trace.request(body);
+            JsonObject header = new JsonObject();
+            header.addProperty("index", readName);
+            parameters.forEach(header::addProperty);
+            searches.append(header).append('\n').append(body).append('\n');
+        }
+        var multiSearch = new Request("POST", "/_msearch");
+        multiSearch.setJsonEntity(searches.toString());
+        JsonObject responseBody;
+        try {
+            responseBody = send(multiSearch);
+        } catch (IOException e) {
+            throw new SearchException("Failed to search with fallback to %s: %s"
+                    .formatted(request.fallbackLanguage(), e.getMessage()), e);
+        }
+        trace.response(responseBody);
+        JsonArray responses = responseBody.getAsJsonArray("responses");
+        for (JsonElement response : responses) {
+            if (response.getAsJsonObject().has("error")) {
+                // Same as a failure of the main search, so that fault tolerance (fallback, circuit breaker) kicks in.
+                throw new SearchException("Failed to search with fallback to %s: %s"
+                        .formatted(request.fallbackLanguage(), response.getAsJsonObject().get("error")));
+            }
+        }
+        return new BackendResponses(responses.get(0).getAsJsonObject(), responses.get(1).getAsJsonObject());
+    }
+
+    /**
+     * @param main The response to the search in the requested language.
+     * @param fallback The response to the search in the fallback language, or {@code null} if there wasn't one.
+     */
+    private record BackendResponses(JsonObject main, JsonObject fallback) {
+    }
+
+    // Applies to both searches of a multi-search, see performMultiSearch.
+    private void customize(JsonObject body, Map<String, String> parameters, GuideSearchRequest request, boolean main,
+            boolean hedge) {
+        if (main && request.verdict().highlighting()) {
+            // Suggestions are only used to retry in the requested language.
+            requestSuggestion(body, request.q(), request.language(), request.highlightCssClass());
+        }
+        if (request.versions().size() > 1) {
+            requestCollapse(body, request.versions().size());
+        }
+        // Fallback hits get section snippets too: createQuery doesn't highlight their full content either.
+        if (sectionHighlighting(request)) {
+            requestSectionHighlighting(body, request);
         }
+        requestBackendCaching(parameters, request, hedge);
     }
 
-    private ElasticsearchSearchResult<GuideSearchHit> performSearch(String version, List<String> categories, String q,
-            String origin, Language language, String highlightCssClass, int page, int contentSnippets,
-            int contentSnippetsLength, SearchSession session) {
+    private ElasticsearchSearchQuery<JsonObject> createQuery(SearchSession session, GuideSearchRequest request,
+            ElasticsearchSearchRequestTransformer requestTransformer) {
+        Language language = request.language();
+        String q = request.q();
+        QueryGuard.Verdict verdict = request.verdict();
+        List<String> categories = request.categories();
+        String origin = request.origin();
+        String highlightCssClass = request.highlightCssClass();
         return session.search(Guide.class)
                 .extension(ElasticsearchExtension.get())
+                // Hits are converted from their JSON representation, see toHit;
+                // the other projections only make sure the search backend returns what we need.
                 .select(f -> f.composite().from(
-                        f.id(),
+                        f.jsonHit(),
                         f.field("type"),
                         f.field("status"),
                         f.field("origin"),
-                        f.highlight(language.addSuffix("title")).highlighter("highlighter_title_or_summary").optional(),
-                        f.highlight(language.addSuffix("summary")).highlighter("highlighter_title_or_summary").optional(),
-                        f.highlight(language.addSuffix("fullContent")).highlighter("highlighter_content"))
-                        .asList(GuideSearchHit::new))
+                        f.highlight(language.addSuffix("title")).highlighter("highlighter_title").optional(),
+                        f.highlight(language.addSuffix("summary")).highlighter("highlighter_summary").optional(),
+                        verdict.highlighting() && !searchingConfig.sections().enabled()
+                                ? f.highlight(language.addSuffix("fullContent")).highlighter("highlighter_content")
+                                : f.constant(List.<String> of()))
+                        .asList(values -> (JsonObject) values.get(0)))
                 .where((f, root) -> {
                     // Match all documents by default
                     root.add(f.matchAll());
@@ -118,7 +540,7 @@ public class SearchService {
                                 // do something like bool().must(textMatch()).should(origin(quarkusio).boost(2f))),
                                 // but then the boost would be additive, so we would ignore relative relevance
                                 // of quarkus.io/quarkiverse.io results.
-                                f.bool().must(textMatch(f, q, language))
+                                f.bool().must(textMatch(f, q, language, verdict))
                                         .filter(originMatch(f, QuarkusIO.QUARKUS_ORIGIN))
                                         // Always score lower for compatibility (legacy) guides.
                                         // TODO: Maybe we should use a duplicate query with multiplicative boost for this too?
@@ -126,51 +548,106 @@ public class SearchService {
                                                 .matching("compatibility", ValueModel.INDEX))
                                                 .boost(50.0f))
                                         .boost(2.0f),
-                                f.bool().must(textMatch(f, q, language))
+                                f.bool().must(textMatch(f, q, language, verdict))
                                         .filter(originMatch(f, QuarkiverseIO.QUARKIVERSE_ORIGIN))));
                     }
                 })
-                .highlighter(f -> f.fastVector()
-                        // Highlighters are going to use spans-with-classes so that we will have more control over styling the visual on the search results screen.
-                        .tag("<span class=\"" + highlightCssClass + "\">", "</span>"))
-                .highlighter(
-                        "highlighter_title_or_summary", f -> f.fastVector()
-                                // We want the whole text of the field, regardless of whether it has a match or not.
-                                .noMatchSize(TITLE_OR_SUMMARY_MAX_SIZE)
-                                .fragmentSize(TITLE_OR_SUMMARY_MAX_SIZE)
-                                // We want the whole text as a single fragment
-                                .numberOfFragments(1))
-                .highlighter(
-                        "highlighter_content", f -> f.fastVector()
-                                // If there's no match in the full content we don't want to return anything.
-                                .noMatchSize(0)
-                                // Content is really huge, so we want to only get small parts of the sentences.
-                                // We give control to the caller on the content snippet length and the number of these fragments
-                                .numberOfFragments(contentSnippets)
-                                .fragmentSize(contentSnippetsLength)
-                                // The rest of fragment configuration is static
-                                .orderByScore(true)
-                                // We don't use sentence boundaries because those can result in huge fragments
-                                .boundaryScanner().chars().boundaryMaxScan(10).end())
+                // No default highlighter: each field may be indexed for a different highlighter type,
+                // see SearchingConfig.Highlighting.
+                .highlighter("highlighter_title",
+                        f -> titleOrSummaryHighlighter(f, searchingConfig.highlighting().title(), highlightCssClass))
+                .highlighter("highlighter_summary",
+                        f -> titleOrSummaryHighlighter(f, searchingConfig.highlighting().summary(), highlightCssClass))
+                .highlighter("highlighter_content",
+                        f -> contentHighlighter(f, searchingConfig.highlighting().fullContent(), highlightCssClass,
+                                request.contentSnippets(), request.contentSnippetsLength()))
                 .sort(f -> f.score().then().field(language.addSuffix("title_sort")))
-                .routing(QuarkusVersionAndLanguageRoutingBinder.searchKeys(version, language))
-                .totalHitCountThreshold(TOTAL_HIT_COUNT_THRESHOLD + (page + 1) * PAGE_SIZE)
-                .requestTransformer(context -> requestSuggestion(context.body(), q, language, highlightCssClass))
-                .fetch(page * PAGE_SIZE, PAGE_SIZE);
+                .routing(request.routingKeys())
+                .totalHitCountThreshold(totalHitCountThreshold(request))
+                .requestTransformer(requestTransformer)
+                .toQuery();
+    }
+
+    private static long totalHitCountThreshold(GuideSearchRequest request) {
+        return TOTAL_HIT_COUNT_THRESHOLD + (request.page() + 1) * PAGE_SIZE;
+    }
+
+    private static HighlighterOptionsStep<?> highlighter(SearchHighlighterFactory f,
+            SearchingConfig.Highlighting.Strategy strategy, String highlightCssClass) {
+        HighlighterOptionsStep<?> step = switch (strategy) {
+            case FAST_VECTOR -> f.fastVector()
+                    // We don't use sentence boundaries because those can result in huge fragments
+                    .boundaryScanner().chars().boundaryMaxScan(10).end();
+            // Sentence boundaries are the default, but fragments are split further if they exceed the fragment size.
+            case UNIFIED -> f.unified();
+            case PLAIN -> f.plain();
+        };
+        // Highlighters are going to use spans-with-classes so that we will have more control over styling the visual on the search results screen.
+        return step.tag("<span class=\"" + highlightCssClass + "\">", "</span>");
+    }
+
+    private static HighlighterFinalStep titleOrSummaryHighlighter(SearchHighlighterFactory f,
+            SearchingConfig.Highlighting.Strategy strategy, String highlightCssClass) {
+        return highlighter(f, strategy, highlightCssClass)
+                // We want the whole text of the field, regardless of whether it has a match or not.
+                .noMatchSize(TITLE_OR_SUMMARY_MAX_SIZE)
+                .fragmentSize(TITLE_OR_SUMMARY_MAX_SIZE)
+                // We want the whole text as a single fragment
+                .numberOfFragments(1);
     }
 
-    private PredicateFinalStep textMatch(SearchPredicateFactory f, String q, Language language) {
-        return f.simpleQueryString()
+    private static HighlighterFinalStep contentHighlighter(SearchHighlighterFactory f,
+            SearchingConfig.Highlighting.Strategy strategy, String highlightCssClass,
+            int contentSnippets, int contentSnippetsLength) {
+        return highlighter(f, strategy, highlightCssClass)
+                // If there's no match in the full content we don't want to return anything.
+                .noMatchSize(0)
+                // Content is really huge, so we want to only get small parts of the sentences.
+                // We give control to the caller on the content snippet length and the number of these fragments
+                .numberOfFragments(contentSnippets)
+                .fragmentSize(contentSnippetsLength)
+                // The rest of fragment configuration is static
+                .orderByScore(true);
+    }
+
+    private PredicateFinalStep textMatch(SearchPredicateFactory f, String q, Language language,
+            QueryGuard.Verdict verdict) {
+        boolean edgeNgram = searchingConfig.autocomplete().mode() == SearchingConfig.Autocomplete.Mode.EDGE_NGRAM;
+        PredicateFinalStep match = simpleQueryString(f, q, language, verdict.autocomplete() && edgeNgram);
+        PartialWord partialWord = verdict.autocomplete() && !edgeNgram ? PartialWord.of(q) : null;
+        if (partialWord == null) {
+            return match;
+        }
+        // The user may not have finished typing the last word: also match it as a prefix.
+        // Same fields and boosts as the autocomplete fields, but without the cost of indexing n-grams.
+        // This turns into prefix queries, which rely on index_prefixes (see GuideMappingConfigurer#customizeMapping)
+        // instead of expanding the prefix to every matching term.
+        PredicateFinalStep prefixMatch = f.simpleQueryString()
+                .field(language.addSuffix("keywords")).boost(1.0f)
+                .field(language.addSuffix("title")).boost(1.0f)
+                .field(language.addSuffix("summary")).boost(0.5f)
+                .field(language.addSuffix("fullContent")).boost(0.1f)
+                .matching(partialWord.prefix() + "*")
+                .flags(SimpleQueryFlag.PREFIX);
+        return f.or(match, partialWord.before() == null ? prefixMatch
+                : f.and(simpleQueryString(f, partialWord.before(), language, false), prefixMatch));
+    }
+
+    private static PredicateFinalStep simpleQueryString(SearchPredicateFactory f, String q, Language language,
+            boolean autocompleteFields) {
+        SimpleQueryStringPredicateFieldMoreStep<?, ?> step = f.simpleQueryString()
                 .field(language.addSuffix("title")).boost(10.0f)
                 .field(language.addSuffix("topics")).boost(10.0f)
                 .field(language.addSuffix("keywords")).boost(10.0f)
                 .field(language.addSuffix("summary")).boost(5.0f)
-                .field(language.addSuffix("fullContent"))
-                .field(language.addSuffix("keywords_autocomplete")).boost(1.0f)
-                .field(language.addSuffix("title_autocomplete")).boost(1.0f)
-                .field(language.addSuffix("summary_autocomplete")).boost(0.5f)
-                .field(language.addSuffix("fullContent_autocomplete")).boost(0.1f)
-                .matching(q)
+                .field(language.addSuffix("fullContent"));
+        if (autocompleteFields) {
+            step = step.field(language.addSuffix("keywords_autocomplete")).boost(1.0f)
+                    .field(language.addSuffix("title_autocomplete")).boost(1.0f)
+                    .field(language.addSuffix("summary_autocomplete")).boost(0.5f)
+                    .field(language.addSuffix("fullContent_autocomplete")).boost(0.1f);
+        }
+        return step.matching(q)
                 // See: https://github.com/elastic/elasticsearch/issues/39905#issuecomment-471578025
                 // while the issue is about stopwords the same problem is observed for synonyms on search-analyzer side.
                 // we also add phrase flag so that entire phrases could be searched as well, e.g.: "hibernate search"
@@ -202,9 +679,197 @@ public class SearchService {
         highlight.addProperty("post_tag", "</span>");
     }
 
-    private static SearchResult.Suggestion extractSuggestion(ElasticsearchSearchResult<?> result) {
+    // When enabled, content is highlighted per section through inner hits instead, see requestSectionHighlighting.
+    private boolean sectionHighlighting(GuideSearchRequest request) {
+        return searchingConfig.sections().enabled() && request.verdict().highlighting()
+                && request.contentSnippets() > 0 && request.hasQuery();
+    }
+
+    private void requestSectionHighlighting(JsonObject payload, GuideSearchRequest request) {
+        Language language = request.language();
+        String titleField = GuideSectionsBinder.path(language.addSuffix(GuideSectionsBinder.TITLE));
+        String contentField = GuideSectionsBinder.path(language.addSuffix(GuideSectionsBinder.CONTENT));
+        // Same syntax as the main text match, see textMatch.
+        JsonObject simpleQueryString = new JsonObject();
+        simpleQueryString.addProperty("query", request.q());
+        JsonArray fields = new JsonArray();
+        fields.add(titleField);
+        fields.add(contentField);
+        simpleQueryString.add("fields", fields);
+        simpleQueryString.addProperty("flags", "AND|OR|PHRASE");
+        simpleQueryString.addProperty("default_operator", "and");
+
+        JsonObject highlight = new JsonObject();
+        JsonArray preTags = new JsonArray();
+        preTags.add("<span class=\"" + request.highlightCssClass() + "\">");
+        highlight.add("pre_tags", preTags);
+        JsonArray postTags = new JsonArray();
+        postTags.add("</span>");
+        highlight.add("post_tags", postTags);
+        highlight.addProperty("type", "unified");
+        JsonObject highlightFields = new JsonObject();
+        highlight.add("fields", highlightFields);
+        JsonObject titleHighlight = new JsonObject();
+        // We want the whole title, regardless of whether it has a match or not.
+        titleHighlight.addProperty("number_of_fragments", 0);
+        titleHighlight.addProperty("no_match_size", TITLE_OR_SUMMARY_MAX_SIZE);
+        highlightFields.add(titleField, titleHighlight);
+        JsonObject contentHighlight = new JsonObject();
+        // One snippet per section; the caller controls the number of sections instead.
+        contentHighlight.addProperty("number_of_fragments", 1);
+        contentHighlight.addProperty("fragment_size", request.contentSnippetsLength());
+        contentHighlight.addProperty("no_match_size", 0);
+        highlightFields.add(contentField, contentHighlight);
+
+        JsonObject innerHits = new JsonObject();
+        innerHits.addProperty("name", SECTIONS_INNER_HITS);
+        innerHits.addProperty("size", request.contentSnippets());
+        innerHits.addProperty("_source", false);
+        JsonArray docValueFields = new JsonArray();
+        docValueFields.add(GuideSectionsBinder.path(GuideSectionsBinder.ANCHOR));
+        innerHits.add("docvalue_fields", docValueFields);
+        innerHits.add("highlight", highlight);
+
+        JsonObject nested = new JsonObject();
+        nested.addProperty("path", GuideSectionsBinder.SECTIONS);
+        nested.add("query", singleton("simple_query_string", simpleQueryString));
+        // Only used to retrieve the best matching sections of each hit:
+        // matching and scoring are left to the main query.
+        nested.addProperty("score_mode", "none");
+        nested.add("inner_hits", innerHits);
+
+        JsonObject bool = new JsonObject();
+        JsonArray must = new JsonArray();
+        must.add(payload.get("query"));
+        bool.add("must", must);
+        JsonArray should = new JsonArray();
+        should.add(singleton("nested", nested));
+        bool.add("should", should);
+        payload.add("query", singleton("bool", bool));
+    }
+
+    private void requestCollapse(JsonObject payload, int versionCount) {
+        // Return a single hit per guide (the best-scoring version),
+        // and list the versions of that guide matching the query as inner hits.
+        // Pagination then applies to guides rather than documents,
+        // though the total hit count still includes every matching document.
+        JsonObject collapse = new JsonObject();
+        payload.add("collapse", collapse);
+        collapse.addProperty("field", "path");
+        JsonObject innerHits = new JsonObject();
+        collapse.add("inner_hits", innerHits);
+        innerHits.addProperty("name", VERSIONS_INNER_HITS);
+        // Each guide has at most one document per version.
+        innerHits.addProperty("size", versionCount);
+        JsonArray source = new JsonArray();
+        source.add("quarkusVersion");
+        innerHits.add("_source", source);
+    }
+
+    private static JsonObject singleton(String key, JsonElement value) {
+        JsonObject object = new JsonObject();
+        object.add(key, value);
+        return object;
+    }
+
+    private void requestBackendCaching(Map<String, String> parameters, GuideSearchRequest request, boolean hedge) {
+        var config = searchingConfig.backendCache();
+        // Hedges are sent because the usual shard copy is slow:
+        // leave it to the search backend to pick a copy, which is likely to be another one.
+        if (config.preference() && !hedge) {
+            // All nodes hold a copy of every shard (see auto_expand_replicas in settings-template.json),
+            // and by default the search backend picks a copy at random for each request.
+            // By sending a preference derived from the request, identical requests always hit the same copy,
+            // whose request cache and page cache are then more likely to be warm.
+            parameters.put("preference", request.preference());
+        }
+        if (config.requestCache()) {
+            // By default, the shard request cache ignores requests that return hits (size > 0).
+            // Our requests don't involve anything time-dependent ("now", scripts, ...), so they are safe to cache;
+            // the cache is invalidated automatically on refresh, and indexes are rolled over on reindexing anyway.
+            parameters.put("request_cache", "true");
+        }
+    }
+
+    private static SearchResult<GuideSearchHit> toSearchResult(JsonObject responseBody, List<String> versions,
+            Language language, SearchResult.Suggestion suggestion, Language fallbackLanguage) {
+        JsonObject rawHits = responseBody.getAsJsonObject("hits");
+        JsonObject rawTotal = rawHits.getAsJsonObject("total");
+        long total = rawTotal.get("value").getAsLong();
+        boolean exact = "eq".equals(rawTotal.get("relation").getAsString());
+        List<GuideSearchHit> hits = new ArrayList<>();
+        for (JsonElement element : rawHits.getAsJsonArray("hits")) {
+            JsonObject rawHit = element.getAsJsonObject();
+            GuideSearchHit hit = withSections(toHit(rawHit, language), rawHit, language);
+            if (versions.size() > 1) {
+                hit = withVersions(hit, rawHit);
+            }
+            hits.add(hit);
+        }
+        return new SearchResult<>(new SearchResult.Total(exact ? total : null, total), hits, suggestion, false,
+                fallbackLanguage);
+    }
+
+    // Same fields as the projections in createQuery.
+    private static GuideSearchHit toHit(JsonObject rawHit, Language language) {
+        JsonObject source = rawHit.has("_source") ? rawHit.getAsJsonObject("_source") : new JsonObject();
+        JsonObject highlight = rawHit.has("highlight") ? rawHit.getAsJsonObject("highlight") : new JsonObject();
+        return new GuideSearchHit(URI.create(rawHit.get("_id").getAsString()),
+                stringOrNull(source, "type"), stringOrNull(source, "status"), stringOrNull(source, "origin"),
+                highlights(highlight, language.addSuffix("title")).stream().findFirst(),
+                highlights(highlight, language.addSuffix("summary")).stream().findFirst(),
+                highlights(highlight, language.addSuffix("fullContent")));
+    }
+
+    private static GuideSearchHit withSections(GuideSearchHit hit, JsonObject rawHit, Language language) {
+        JsonObject innerHits = rawHit.getAsJsonObject("inner_hits");
+        if (innerHits == null || !innerHits.has(SECTIONS_INNER_HITS)) {
+            return hit;
+        }
+        String titleField = GuideSectionsBinder.path(language.addSuffix(GuideSectionsBinder.TITLE));
+        String contentField = GuideSectionsBinder.path(language.addSuffix(GuideSectionsBinder.CONTENT));
+        String anchorField = GuideSectionsBinder.path(GuideSectionsBinder.ANCHOR);
+        List<GuideSearchHit.Section> sections = new ArrayList<>();
+        for (JsonElement element : innerHits.getAsJsonObject(SECTIONS_INNER_HITS)
+                .getAsJsonObject("hits").getAsJsonArray("hits")) {
+            JsonObject sectionHit = element.getAsJsonObject();
+            JsonObject highlight = sectionHit.has("highlight") ? sectionHit.getAsJsonObject("highlight")
+                    : new JsonObject();
+            JsonObject fields = sectionHit.getAsJsonObject("fields");
+            JsonArray anchor = fields == null ? null : fields.getAsJsonArray(anchorField);
+            URI url = anchor == null || anchor.isEmpty() ? hit.url()
+                    : hit.url().resolve("#" + anchor.get(0).getAsString());
+            sections.add(new GuideSearchHit.Section(url, highlights(highlight, titleField).stream().findFirst(),
+                    highlights(highlight, contentField).stream().findFirst()));
+        }
+        return hit.withSections(sections);
+    }
+
+    private static GuideSearchHit withVersions(GuideSearchHit hit, JsonObject rawHit) {
+        String id = rawHit.get("_id").getAsString();
+        String version = null;
+        List<String> otherVersions = new ArrayList<>();
+        JsonArray innerHits = rawHit.getAsJsonObject("inner_hits").getAsJsonObject(VERSIONS_INNER_HITS)
+                .getAsJsonObject("hits").getAsJsonArray("hits");
+        for (JsonElement element : innerHits) {
+            JsonObject innerHit = element.getAsJsonObject();
+            JsonElement innerVersion = innerHit.getAsJsonObject("_source").get("quarkusVersion");
+            if (innerVersion == null || innerVersion.isJsonNull()) {
+                // Quarkiverse guides are not versioned.
+                continue;
+            }
+            if (id.equals(innerHit.get("_id").getAsString())) {
+                version = innerVersion.getAsString();
+            } else {
+                otherVersions.add(innerVersion.getAsString());
+            }
+        }
+        return version == null ? hit : hit.withVersions(version, otherVersions);
+    }
+
+    private static SearchResult.Suggestion extractSuggestion(JsonObject responseBody) {
         try {
-            JsonObject suggest = result.responseBody().getAsJsonObject("suggest");
+            JsonObject suggest = responseBody.getAsJsonObject("suggest");
             if (suggest != null) {
                 JsonArray options = suggest
                         .getAsJsonArray("didYouMean")
@@ -223,4 +888,21 @@ public class SearchService {
         return null;
     }
 
+    private static List<String> highlights(JsonObject highlight, String field) {
+        JsonArray fragments = highlight.getAsJsonArray(field);
+        if (fragments == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(fragments.size());
+        for (JsonElement fragment : fragments) {
+            result.add(fragment.getAsString());
+        }
+        return result;
+    }
+
+    private static String stringOrNull(JsonObject object, String property) {
+        JsonElement element = object.get(property);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
 }
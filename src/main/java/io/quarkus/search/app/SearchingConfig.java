@@ -0,0 +1,360 @@
+package io.quarkus.search.app;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "searching")
+public interface SearchingConfig {
+
+    BackendCache backendCache();
+
+    LastKnownGood lastKnownGood();
+
+    QueryGuard queryGuard();
+
+    Export export();
+
+    Catalog catalog();
+
+    Typeahead typeahead();
+
+    Grpc grpc();
+
+    SlowQueryLog slowQueryLog();
+
+    Analytics analytics();
+
+    Concurrency concurrency();
+
+    Hedging hedging();
+
+    Sections sections();
+
+    Autocomplete autocomplete();
+
+    Highlighting highlighting();
+
+    interface BackendCache {
+        /**
+         * @return Whether to send a {@code preference} derived from the (normalized) request to the search backend,
+         *         so that identical requests always hit the same shard copy and its warm caches.
+         */
+        @WithDefault("true")
+        boolean preference();
+
+        /**
+         * @return Whether to explicitly enable the shard request cache for search requests.
+         *         By default, the search backend only caches requests that don't return any hit.
+         */
+        @WithDefault("true")
+        boolean requestCache();
+    }
+
+    interface LastKnownGood {
+        /**
+         * @return How often to try refreshing stale results that were served while the search backend was unhealthy.
+         */
+        Duration revalidateInterval();
+    }
+
+    interface QueryGuard {
+        /**
+         * @return Whether to downgrade or reject searches whose query string is too complex.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The maximum number of terms in a query string; queries with more terms are rejected.
+         */
+        @WithDefault("32")
+        int maxTerms();
+
+        /**
+         * @return The maximum number of terms in a single phrase; queries with longer phrases are rejected.
+         */
+        @WithDefault("12")
+        int maxPhraseTerms();
+
+        /**
+         * @return The estimated cost above which autocomplete fields are no longer searched.
+         * @see io.quarkus.search.app.query.QueryComplexity#cost()
+         */
+        @WithDefault("16")
+        int withoutAutocompleteCost();
+
+        /**
+         * @return The estimated cost above which content highlighting and suggestions are disabled.
+         * @see io.quarkus.search.app.query.QueryComplexity#cost()
+         */
+        @WithDefault("32")
+        int withoutHighlightingCost();
+
+        /**
+         * @return The estimated cost above which searches are rejected.
+         * @see io.quarkus.search.app.query.QueryComplexity#cost()
+         */
+        @WithDefault("64")
+        int rejectCost();
+    }
+
+    interface Export {
+        /**
+         * @return The number of guides to fetch from the search backend in each request when exporting.
+         */
+        @WithDefault("500")
+        int pageSize();
+
+        /**
+         * @return How long the search backend should keep the point in time of an export alive between two requests.
+         */
+        @WithDefault("1m")
+        Duration keepAlive();
+    }
+
+    interface Catalog {
+        /**
+         * @return Whether to serve searches without a query string from an in-memory catalog
+         *         built on indexing, instead of the search backend.
+         * @see io.quarkus.search.app.catalog.GuideCatalog
+         */
+        @WithDefault("true")
+        boolean enabled();
+    }
+
+    interface Typeahead {
+        /**
+         * @return Whether to build in-memory prefix completion data on indexing.
+         * @see io.quarkus.search.app.catalog.GuideTypeahead
+         */
+        @WithDefault("true")
+        boolean enabled();
+    }
+
+    interface Grpc {
+        /**
+         * @return The maximum number of pages of hits returned by a single streaming search over gRPC.
+         */
+        @WithDefault("20")
+        int maxStreamedPages();
+    }
+
+    interface SlowQueryLog {
+        /**
+         * @return Whether to log searches that took longer than {@link #threshold()}.
+         * @see io.quarkus.search.app.query.SlowQueryLog
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The duration above which a search is considered slow.
+         */
+        @WithDefault("500ms")
+        Duration threshold();
+
+        /**
+         * @return The ratio of slow searches to log, between 0 (none) and 1 (all).
+         */
+        @WithDefault("1.0")
+        double samplingRate();
+
+        /**
+         * @return The maximum number of slow searches waiting to be logged; additional ones are dropped.
+         */
+        @WithDefault("100")
+        int queueSize();
+    }
+
+    interface Analytics {
+        /**
+         * @return Whether to capture an event for each search, to report on top queries and queries without hits.
+         * @see io.quarkus.search.app.analytics.SearchAnalytics
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The maximum number of events waiting to be processed; additional ones are dropped.
+         *         Rounded up to a power of two.
+         */
+        @WithDefault("4096")
+        int bufferSize();
+
+        /**
+         * @return The maximum number of events to process at once.
+         */
+        @WithDefault("256")
+        int batchSize();
+
+        /**
+         * @return How long to wait for more events when there are none to process.
+         */
+        @WithDefault("1s")
+        Duration flushInterval();
+
+        /**
+         * @return The directory to write events to, as newline-delimited JSON; events are not written anywhere if empty.
+         */
+        Optional<Path> directory();
+
+        /**
+         * @return The size, in bytes, above which the file events are written to gets rolled over.
+         */
+        @WithDefault("10485760")
+        long maxFileSize();
+
+        /**
+         * @return The maximum number of files to keep, including the one events are currently written to.
+         */
+        @WithDefault("10")
+        int maxFiles();
+
+        /**
+         * @return The maximum number of distinct queries to aggregate statistics for;
+         *         the least frequent queries are forgotten when reaching this limit.
+         */
+        @WithDefault("10000")
+        int maxTrackedQueries();
+    }
+
+    interface Concurrency {
+        /**
+         * @return The maximum number of searches sent to the search backend concurrently;
+         *         each of them uses one search backend connection.
+         */
+        int max();
+
+        /**
+         * @return How long a search may wait for another to complete when {@link #max()} searches are in flight,
+         *         before being served by the fallback instead.
+         */
+        @WithDefault("200ms")
+        Duration maxWait();
+    }
+
+    interface Hedging {
+        /**
+         * @return Whether to send a duplicate of searches that take longer than usual,
+         *         and use whichever response comes first.
+         * @see io.quarkus.search.app.query.SearchHedging
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * @return The minimum time to wait for a search to complete before hedging it;
+         *         the actual delay is the recent 95th percentile of search latency, if higher.
+         */
+        @WithDefault("20ms")
+        Duration minDelay();
+
+        /**
+         * @return The fraction of a hedge earned by each search, i.e. the maximum ratio of hedged searches over time.
+         */
+        @WithDefault("0.05")
+        double budgetRatio();
+
+        /**
+         * @return The maximum number of hedges that can be sent in a burst, after a period without hedging.
+         */
+        @WithDefault("10")
+        double budgetBurst();
+
+        /**
+         * @return The maximum number of hedges in flight, including hedges (or hedged searches) that lost the race
+         *         but whose request didn't complete yet; each of them uses one search backend connection.
+         */
+        @WithDefault("4")
+        int maxConcurrency();
+
+        /**
+         * @return How often to check whether indexes have replicas; hedging is suspended while they don't.
+         */
+        Duration replicasCheckInterval();
+    }
+
+    interface Sections {
+        /**
+         * @return Whether to highlight content snippets per section of guides (see the nested "sections" field),
+         *         linking to the matching sections, instead of highlighting the full content of guides.
+         *         Sections are only indexed when enabled, in which case the full content is no longer highlightable:
+         *         toggling this requires reindexing.
+         * @see io.quarkus.search.app.hibernate.GuideSectionsBinder
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
+
+    interface Autocomplete {
+        /**
+         * @return How to match the last word of a query string, which the user may not have finished typing.
+         *         Changing this changes the index mapping, so it only takes effect on the next reindexing.
+         */
+        @WithDefault("edge-ngram")
+        Mode mode();
+
+        enum Mode {
+            /**
+             * Index edge n-grams of titles, summaries, keywords and content in separate "_autocomplete" fields,
+             * and match all words of query strings against them.
+             */
+            EDGE_NGRAM,
+            /**
+             * Do not index any n-gram; instead, match the last word of query strings as a prefix on the main fields.
+             * This makes the index much smaller and indexing faster, at the cost of more expensive queries.
+             *
+             * @see io.quarkus.search.app.query.PartialWord
+             */
+            PREFIX
+        }
+    }
+
+    interface Highlighting {
+        /**
+         * @return The highlighter strategy for titles.
+         */
+        @WithDefault("fast-vector")
+        Strategy title();
+
+        /**
+         * @return The highlighter strategy for summaries.
+         */
+        @WithDefault("fast-vector")
+        Strategy summary();
+
+        /**
+         * @return The highlighter strategy for the full content of guides,
+         *         which matters most for index size and highlighting latency.
+         */
+        @WithDefault("fast-vector")
+        Strategy fullContent();
+
+        /**
+         * How to highlight a field, which determines how it is indexed.
+         * Changing a strategy changes the index mapping, so it only takes effect on the next reindexing.
+         */
+        enum Strategy {
+            /**
+             * Index term vectors with positions and offsets, and use the fast vector highlighter:
+             * highlighting is fast even on large fields, but term vectors roughly double their size on disk.
+             */
+            FAST_VECTOR,
+            /**
+             * Index offsets in the postings (index_options: offsets), and use the unified highlighter:
+             * highlighting doesn't re-analyze the text, for a much smaller size overhead than term vectors.
+             */
+            UNIFIED,
+            /**
+             * Use the plain highlighter, without term vectors:
+             * the text is re-analyzed on each highlighting into an in-memory index, which is the slowest option.
+             */
+            PLAIN
+        }
+    }
+
+}
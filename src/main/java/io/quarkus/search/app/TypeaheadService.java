@@ -0,0 +1,41 @@
+package io.quarkus.search.app;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import io.quarkus.search.app.catalog.GuideTypeahead;
+import io.quarkus.search.app.entity.Language;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestQuery;
+
+@ApplicationScoped
+@Path("/")
+@org.jboss.resteasy.reactive.Cache(maxAge = 120)
+public class TypeaheadService {
+
+    @Inject
+    GuideTypeahead guideTypeahead;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Complete guide titles, categories, topics or extensions starting with a given prefix")
+    @Path("/guides/typeahead")
+    public List<String> complete(@RestQuery String prefix,
+            @RestQuery @DefaultValue("title") GuideTypeahead.Field field,
+            @RestQuery @DefaultValue(QuarkusVersions.LATEST) String version,
+            @RestQuery @DefaultValue("en") Language language,
+            @RestQuery @DefaultValue("10") @Min(1) @Max(50) int limit) {
+        // Served from memory only: this must stay fast enough to be called on every keystroke.
+        return guideTypeahead.complete(version, language, field, prefix, limit);
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.search.app.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free buffer for many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number telling whether it's ready to be written to (by producers)
+ * or read from (by the consumer), so that producers only ever contend on a single compare-and-set,
+ * and never wait for each other or for the consumer: when the buffer is full, {@link #offer(Object)} just fails.
+ *
+ * @param <T> The type of elements.
+ */
+public final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only accessed by the consumer.
+    private long head;
+
+    /**
+     * @param capacity The minimum capacity of the buffer; will be rounded up to a power of two.
+     */
+    public RingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element to the buffer; never blocks. Can be called concurrently from any number of threads.
+     *
+     * @param element The element to add.
+     * @return {@code true} if the element was added, {@code false} if the buffer was full.
+     */
+    public boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    // Publishes the element to the consumer.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer hasn't consumed this slot yet: the buffer is full.
+                return false;
+            } else {
+                // Another producer took this slot in the meantime.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes elements from the buffer and passes them to the given consumer, in order.
+     * Must only be called from a single thread at a time.
+     *
+     * @param consumer The consumer of elements.
+     * @param maxElements The maximum number of elements to remove.
+     * @return The number of elements passed to {@code consumer}.
+     */
+    public int drain(Consumer<? super T> consumer, int maxElements) {
+        int count = 0;
+        while (count < maxElements) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                // Empty, or a producer claimed this slot but didn't publish the element yet.
+                break;
+            }
+            T element = slots.get(index);
+            slots.set(index, null);
+            // Frees the slot for producers, on the next lap.
+            sequences.set(index, head + mask + 1);
+            head++;
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+}
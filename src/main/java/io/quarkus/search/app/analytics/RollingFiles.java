@@ -0,0 +1,88 @@
+package io.quarkus.search.app.analytics;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends lines to a file, rolling it over to numbered files ({@code name.1.ndjson}, {@code name.2.ndjson}, ...)
+ * when it gets too large, and deleting the oldest ones.
+ * <p>
+ * Not thread-safe.
+ */
+final class RollingFiles implements Closeable {
+
+    private static final String EXTENSION = ".ndjson";
+
+    private final Path directory;
+    private final String name;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    private OutputStream output;
+    private long size;
+
+    RollingFiles(Path directory, String name, long maxFileSize, int maxFiles) {
+        this.directory = directory;
+        this.name = name;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+    }
+
+    void write(List<String> lines) throws IOException {
+        if (output == null) {
+            open();
+        }
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            output.write(bytes);
+            output.write('\n');
+            size += bytes.length + 1;
+        }
+        output.flush();
+        if (size >= maxFileSize) {
+            rollOver();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path current = file(0);
+        output = new BufferedOutputStream(Files.newOutputStream(current,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        size = Files.size(current);
+    }
+
+    private void rollOver() throws IOException {
+        close();
+        Files.deleteIfExists(file(maxFiles - 1));
+        for (int i = maxFiles - 2; i >= 0; i--) {
+            Path file = file(i);
+            if (Files.exists(file)) {
+                Files.move(file, file(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private Path file(int index) {
+        return directory.resolve(index == 0 ? name + EXTENSION : name + "." + index + EXTENSION);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (output != null) {
+            try {
+                output.close();
+            } finally {
+                output = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package io.quarkus.search.app.analytics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.dto.AnalyticsReport;
+import io.quarkus.search.app.dto.QueryStats;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.health.WarmUpRequest;
+import io.quarkus.search.app.jfr.SearchEvent;
+import io.quarkus.search.app.util.BackgroundWriter;
+
+import io.quarkus.logging.Log;
+import io.quarkus.vertx.http.ManagementInterface;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Captures one event per search, to find out what users search for, and what they don't find.
+ * <p>
+ * Events are added to a lock-free {@link RingBuffer} and drained in batches by the {@link BackgroundWriter},
+ * which appends them to rolling files (if a directory is configured) and aggregates them per query;
+ * capturing an event never blocks the request thread: events are dropped when the buffer is full.
+ */
+@ApplicationScoped
+public class SearchAnalytics {
+
+    /**
+     * The source of searches served from {@link io.quarkus.search.app.cache.LastKnownGoodResults}.
+     */
+    public static final String SOURCE_LAST_KNOWN_GOOD = "last-known-good";
+    /**
+     * The source of searches that didn't match anything in the requested language,
+     * and were served with hits in the fallback language instead.
+     */
+    public static final String SOURCE_LANGUAGE_FALLBACK = "language-fallback";
+    /**
+     * The source of searches that failed.
+     */
+    public static final String SOURCE_FAILED = "failed";
+
+    private static final String DROPPED_METRIC_NAME = "search.analytics.dropped";
+    private static final String TOP_QUERIES_ENDPOINT_PATH = "/analytics/top-queries";
+    private static final String ZERO_HIT_QUERIES_ENDPOINT_PATH = "/analytics/zero-hit-queries";
+    private static final String FILE_NAME = "search-analytics";
+    private static final int DEFAULT_REPORT_LIMIT = 20;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    BackgroundWriter backgroundWriter;
+
+    private RingBuffer<SearchAnalyticsEvent> buffer;
+    private Counter dropped;
+
+    // Only updated by the background writer thread.
+    private final Map<String, Stats> queries = new ConcurrentHashMap<>();
+    private volatile long searchCount;
+    private volatile long zeroHitCount;
+
+    @PostConstruct
+    void init() {
+        var config = searchingConfig.analytics();
+        if (!config.enabled()) {
+            return;
+        }
+        buffer = new RingBuffer<>(config.bufferSize());
+        dropped = meterRegistry.counter(DROPPED_METRIC_NAME);
+        backgroundWriter.register(new Writer(), config.flushInterval());
+    }
+
+    void registerManagementRoutes(@Observes ManagementInterface mi) {
+        mi.router().get(TOP_QUERIES_ENDPOINT_PATH)
+                .blockingHandler(rc -> respond(rc, this::topQueries));
+        mi.router().get(ZERO_HIT_QUERIES_ENDPOINT_PATH)
+                .blockingHandler(rc -> respond(rc, this::zeroHitQueries));
+    }
+
+    /**
+     * Captures a search; never blocks.
+     *
+     * @param source What served the search, see the {@code PHASE_*} constants in {@link SearchEvent}
+     *        and the {@code SOURCE_*} constants in this class;
+     *        {@link SearchEvent#PHASE_SUGGESTION_RETRY} and {@link #SOURCE_LANGUAGE_FALLBACK}
+     *        mean {@code q} itself didn't match anything in the requested language.
+     * @param totalHits The total hit count of the returned results, which may be those of a suggested query.
+     * @param startNanos The value of {@link System#nanoTime()} when the search started.
+     */
+    public void record(String source, String version, Language language, List<String> categories, String q,
+            String origin, int page, long totalHits, long startNanos) {
+        if (buffer == null || WarmUpRequest.isCurrent()) {
+            return;
+        }
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        var event = new SearchAnalyticsEvent(Instant.now(), source, version, language.code, q,
+                categories == null ? List.of() : List.copyOf(categories), origin, page, totalHits, latencyMillis);
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @param limit The maximum number of queries to return.
+     * @return The most frequent (normalized) queries, from most to least frequent.
+     */
+    public AnalyticsReport topQueries(int limit) {
+        return report(limit, stats -> true, QueryStats::count);
+    }
+
+    /**
+     * @param limit The maximum number of queries to return.
+     * @return The (normalized) queries that most frequently returned no hit, from most to least frequent.
+     */
+    public AnalyticsReport zeroHitQueries(int limit) {
+        return report(limit, stats -> stats.zeroHitCount() > 0, QueryStats::zeroHitCount);
+    }
+
+    private AnalyticsReport report(int limit, Predicate<QueryStats> filter, ToLongFunction<QueryStats> sortKey) {
+        List<QueryStats> result = queries.entrySet().stream()
+                .map(e -> e.getValue().toQueryStats(e.getKey()))
+                .filter(filter)
+                .sorted(Comparator.comparingLong(sortKey).reversed().thenComparing(QueryStats::query))
+                .limit(limit)
+                .toList();
+        return new AnalyticsReport(searchCount, zeroHitCount, dropped == null ? 0L : (long) dropped.count(), result);
+    }
+
+    private void respond(RoutingContext rc, IntFunction<AnalyticsReport> reportFunction) {
+        int limit;
+        try {
+            String limitParam = rc.queryParams().get("limit");
+            limit = limitParam == null ? DEFAULT_REPORT_LIMIT : Integer.parseInt(limitParam);
+        } catch (NumberFormatException e) {
+            rc.response().setStatusCode(400).end("Invalid limit: " + e.getMessage());
+            return;
+        }
+        try {
+            rc.response().putHeader("Content-Type", "application/json")
+                    .end(objectMapper.writeValueAsString(reportFunction.apply(limit)));
+        } catch (JsonProcessingException e) {
+            rc.fail(e);
+        }
+    }
+
+    private void process(List<SearchAnalyticsEvent> batch, RollingFiles files) {
+        for (SearchAnalyticsEvent event : batch) {
+            aggregate(event);
+        }
+        if (files == null) {
+            return;
+        }
+        try {
+            List<String> lines = new ArrayList<>(batch.size());
+            for (SearchAnalyticsEvent event : batch) {
+                lines.add(objectMapper.writeValueAsString(event));
+            }
+            files.write(lines);
+        } catch (IOException e) {
+            // Not critical: aggregates are still up-to-date.
+            Log.warnf(e, "Failed to write %s search analytics events: %s", batch.size(), e.getMessage());
+        }
+    }
+
+    private void aggregate(SearchAnalyticsEvent event) {
+        searchCount++;
+        boolean zeroHit = isZeroHit(event);
+        if (zeroHit) {
+            zeroHitCount++;
+        }
+        String query = normalize(event.query());
+        if (query.isEmpty()) {
+            // Browsing: not interesting for query reports.
+            return;
+        }
+        Stats stats = queries.get(query);
+        if (stats == null) {
+            if (queries.size() >= searchingConfig.analytics().maxTrackedQueries()) {
+                pruneLeastFrequentQueries();
+            }
+            stats = new Stats();
+            queries.put(query, stats);
+        }
+        stats.count++;
+        if (zeroHit) {
+            stats.zeroHitCount++;
+        }
+        stats.totalLatencyMillis += event.latencyMillis();
+    }
+
+    // Whether users didn't find what they searched for, as typed.
+    private static boolean isZeroHit(SearchAnalyticsEvent event) {
+        return switch (event.source()) {
+            case SearchEvent.PHASE_SUGGESTION_RETRY, SOURCE_LANGUAGE_FALLBACK -> true;
+            // We don't know: the search backend didn't get a chance to answer.
+            case SOURCE_FAILED -> false;
+            default -> event.totalHits() == 0;
+        };
+    }
+
+    // Keeps memory usage bounded, at the cost of losing the long tail of infrequent queries.
+    private void pruneLeastFrequentQueries() {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(queries.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().count));
+        for (Map.Entry<String, Stats> entry : entries.subList(0, entries.size() / 2 + 1)) {
+            queries.remove(entry.getKey());
+        }
+    }
+
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(query.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private final class Writer implements BackgroundWriter.Task {
+        private final List<SearchAnalyticsEvent> batch;
+        private final RollingFiles files;
+
+        private Writer() {
+            var config = searchingConfig.analytics();
+            batch = new ArrayList<>(config.batchSize());
+            files = config.directory()
+                    .map(directory -> new RollingFiles(directory, FILE_NAME, config.maxFileSize(), config.maxFiles()))
+                    .orElse(null);
+        }
+
+        @Override
+        public boolean drain() {
+            int batchSize = searchingConfig.analytics().batchSize();
+            batch.clear();
+            buffer.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) {
+                process(batch, files);
+            }
+            return batch.size() == batchSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (files != null) {
+                files.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "search analytics";
+        }
+    }
+
+    // Fields are only written to by the background writer thread, and are volatile so that reports see recent values.
+    private static final class Stats {
+        private volatile long count;
+        private volatile long zeroHitCount;
+        private volatile long totalLatencyMillis;
+
+        QueryStats toQueryStats(String query) {
+            long count = this.count;
+            return new QueryStats(query, count, zeroHitCount, count == 0 ? 0L : totalLatencyMillis / count);
+        }
+    }
+}
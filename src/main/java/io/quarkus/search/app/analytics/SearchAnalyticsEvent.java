@@ -0,0 +1,23 @@
+package io.quarkus.search.app.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A single search, as captured by {@link SearchAnalytics}.
+ *
+ * @param timestamp When the search was executed.
+ * @param source What served the search, see {@link SearchAnalytics#record}.
+ * @param version The requested Quarkus version(s).
+ * @param language The code of the requested language.
+ * @param query The query string, as sent by the client; {@code null} when browsing.
+ * @param categories The requested categories, if any.
+ * @param origin The requested origin, if any.
+ * @param page The requested page.
+ * @param totalHits The (lower bound of the) total hit count of the returned results,
+ *        which may be those of a suggested query.
+ * @param latencyMillis How long the search took, in milliseconds.
+ */
+public record SearchAnalyticsEvent(Instant timestamp, String source, String version, String language, String query,
+        List<String> categories, String origin, int page, long totalHits, long latencyMillis) {
+}
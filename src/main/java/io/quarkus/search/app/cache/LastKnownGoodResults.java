@@ -0,0 +1,90 @@
+package io.quarkus.search.app.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.health.WarmUpRequest;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Remembers the last successful results of calls to the search backend,
+ * so that they can be served (marked as stale) while the search backend is unhealthy.
+ * <p>
+ * Whenever a stale result is served, the corresponding call is scheduled for revalidation in the background,
+ * so that the remembered result gets refreshed as soon as the search backend recovers.
+ */
+@ApplicationScoped
+public class LastKnownGoodResults {
+
+    public static final String CACHE_NAME = "last-known-good";
+
+    @CacheName(CACHE_NAME)
+    Cache cache;
+
+    @Inject
+    StaleResponseMarker staleResponseMarker;
+
+    private final Map<Object, Supplier<?>> pendingRevalidations = new ConcurrentHashMap<>();
+
+    /**
+     * @param key The key identifying the call, including all its parameters.
+     * @param result The (fresh) result of the call.
+     * @return The given result.
+     */
+    public <T> T remember(Object key, T result) {
+        if (WarmUpRequest.isCurrent()) {
+            // Would crowd out results of actual requests.
+            return result;
+        }
+        cache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(result));
+        pendingRevalidations.remove(key);
+        return result;
+    }
+
+    /**
+     * @param key The key identifying the call, including all its parameters.
+     * @param revalidation The call to execute in the background to revalidate the result.
+     * @return The last known good result, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T lookup(Object key, Supplier<T> revalidation) {
+        CompletableFuture<Object> future = cache.as(CaffeineCache.class).getIfPresent(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        pendingRevalidations.putIfAbsent(key, revalidation);
+        if (Arc.container().requestContext().isActive()) {
+            staleResponseMarker.markStale();
+        }
+        return (T) future.join();
+    }
+
+    @Scheduled(every = "{searching.last-known-good.revalidate-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @ActivateRequestContext
+    void revalidate() {
+        if (pendingRevalidations.isEmpty()) {
+            return;
+        }
+        Log.infof("Revalidating %s stale results", pendingRevalidations.size());
+        for (var entry : pendingRevalidations.entrySet()) {
+            try {
+                // On success, this will call remember() and thus remove the pending revalidation.
+                entry.getValue().get();
+            } catch (RuntimeException e) {
+                Log.debugf(e, "Failed to revalidate stale result for %s", entry.getKey());
+            }
+        }
+    }
+}
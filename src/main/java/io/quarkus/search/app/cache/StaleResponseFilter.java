@@ -0,0 +1,24 @@
+package io.quarkus.search.app.cache;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerResponseContext;
+
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+public class StaleResponseFilter {
+
+    // See https://www.rfc-editor.org/rfc/rfc7234#section-5.5.1
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Inject
+    StaleResponseMarker staleResponseMarker;
+
+    @ServerResponseFilter
+    public void addStaleWarning(ContainerResponseContext responseContext) {
+        if (staleResponseMarker.isStale()) {
+            responseContext.getHeaders().putSingle("Warning", STALE_WARNING);
+            // Don't let HTTP caches keep a stale response around.
+            responseContext.getHeaders().putSingle("Cache-Control", "no-store");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.quarkus.search.app.cache;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Remembers whether (part of) the content of the HTTP response
+ * was served from {@link LastKnownGoodResults}.
+ *
+ * @see StaleResponseFilter
+ */
+@RequestScoped
+public class StaleResponseMarker {
+
+    private boolean stale;
+
+    public void markStale() {
+        this.stale = true;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+}
@@ -0,0 +1,214 @@
+package io.quarkus.search.app.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
+
+import io.quarkus.logging.Log;
+
+/**
+ * An immutable, in-memory listing of guides per version and language,
+ * built during indexing and swapped in when indexing is committed.
+ * <p>
+ * Serves searches without a query string ("browsing"),
+ * which only filter on categories/origin and sort by title,
+ * without calling the search backend at all.
+ * <p>
+ * Until indexing has run at least once in this instance (e.g. right after startup,
+ * if indexes were already populated), the catalog is empty and such searches go to the search backend.
+ */
+@ApplicationScoped
+public class GuideCatalog {
+
+    private static final Comparator<Entry> TITLE_ORDER = Comparator
+            // Same as the "sort" normalizer applied to title_sort, see AnalysisConfigurer.
+            .comparing(Entry::titleSort, Comparator.nullsLast(Comparator.naturalOrder()))
+            // Make the order deterministic for guides with the same title.
+            .thenComparing(entry -> entry.hit().url());
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    private volatile Map<Key, Listing> listings = Map.of();
+
+    /**
+     * @return A builder for the next generation of the catalog.
+     *         Nothing changes until {@link Builder#commit()} is called.
+     */
+    public Builder startBuilding() {
+        return new Builder(searchingConfig.catalog().enabled());
+    }
+
+    /**
+     * @return The guides of the given version and language matching the given filters, sorted by title,
+     *         or {@code null} if the catalog doesn't know this version/language (yet).
+     */
+    public SearchResult<GuideSearchHit> browse(String version, Language language, List<String> categories,
+            String origin, int offset, int limit) {
+        Listing listing = listings.get(new Key(version, language));
+        if (listing == null) {
+            return null;
+        }
+        return listing.browse(categories, origin, offset, limit);
+    }
+
+    private record Key(String version, Language language) {
+    }
+
+    private record Entry(GuideSearchHit hit, String titleSort, Set<String> categories) {
+        static Entry of(Guide guide, Language language) {
+            String title = guide.title.get(language);
+            String summary = guide.summary.get(language);
+            var hit = new GuideSearchHit(guide.url, guide.type, guide.status, guide.origin,
+                    title == null ? "" : title, summary == null ? "" : summary, Set.of(), null, List.of(),
+                    List.of());
+            return new Entry(hit, title == null ? null : title.toLowerCase(Locale.ROOT), guide.categories);
+        }
+    }
+
+    /**
+     * Guides of a single version and language, presorted by title,
+     * with one bitset per category and origin identifying the (positions of) guides they contain.
+     */
+    static final class Listing {
+        private final GuideSearchHit[] hits;
+        private final BitSet all;
+        private final Map<String, BitSet> byCategory;
+        private final Map<String, BitSet> byOrigin;
+
+        private Listing(List<Entry> entries) {
+            entries.sort(TITLE_ORDER);
+            hits = new GuideSearchHit[entries.size()];
+            all = new BitSet(hits.length);
+            all.set(0, hits.length);
+            Map<String, BitSet> byCategory = new HashMap<>();
+            Map<String, BitSet> byOrigin = new HashMap<>();
+            for (int i = 0; i < hits.length; i++) {
+                Entry entry = entries.get(i);
+                hits[i] = entry.hit();
+                for (String category : entry.categories()) {
+                    byCategory.computeIfAbsent(category, ignored -> new BitSet(hits.length)).set(i);
+                }
+                if (entry.hit().origin() != null) {
+                    byOrigin.computeIfAbsent(entry.hit().origin(), ignored -> new BitSet(hits.length)).set(i);
+                }
+            }
+            this.byCategory = Map.copyOf(byCategory);
+            this.byOrigin = Map.copyOf(byOrigin);
+        }
+
+        SearchResult<GuideSearchHit> browse(List<String> categories, String origin, int offset, int limit) {
+            BitSet matching = all;
+            if (categories != null && !categories.isEmpty()) {
+                // Any of the categories, like the "terms" predicate used for searches.
+                matching = new BitSet(hits.length);
+                for (String category : categories) {
+                    BitSet guides = byCategory.get(category);
+                    if (guides != null) {
+                        matching.or(guides);
+                    }
+                }
+            }
+            if (origin != null && !origin.isEmpty()) {
+                BitSet guides = byOrigin.get(origin);
+                if (guides == null) {
+                    matching = new BitSet();
+                } else {
+                    // Never mutate shared bitsets.
+                    matching = matching == all ? (BitSet) guides.clone() : matching;
+                    matching.and(guides);
+                }
+            }
+            List<GuideSearchHit> page = new ArrayList<>(Math.min(limit, hits.length));
+            int skipped = 0;
+            for (int i = matching.nextSetBit(0); i >= 0 && page.size() < limit; i = matching.nextSetBit(i + 1)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page.add(hits[i]);
+                }
+            }
+            long total = matching.cardinality();
+            return new SearchResult<>(new SearchResult.Total(total, total), page, null, false, null);
+        }
+    }
+
+    public final class Builder {
+        private final boolean enabled;
+        private final Map<Key, Queue<Entry>> entries = new ConcurrentHashMap<>();
+        private final Queue<Guide> unversioned = new ConcurrentLinkedQueue<>();
+
+        private Builder(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Adds guides to the catalog; may be called concurrently.
+         *
+         * @param guides The guides to add.
+         */
+        public void add(List<Guide> guides) {
+            if (!enabled) {
+                return;
+            }
+            for (Guide guide : guides) {
+                if (QuarkiverseIO.QUARKIVERSE_ORIGIN.equals(guide.origin)) {
+                    // Listed in every version and language, which we don't know yet.
+                    unversioned.add(guide);
+                } else if (guide.quarkusVersion == null) {
+                    // Not routed to any version, thus never returned by searches.
+                    continue;
+                } else if (guide.language == null) {
+                    for (Language language : Language.values()) {
+                        add(guide, language);
+                    }
+                } else {
+                    add(guide, guide.language);
+                }
+            }
+        }
+
+        private void add(Guide guide, Language language) {
+            entries.computeIfAbsent(new Key(guide.quarkusVersion, language), ignored -> new ConcurrentLinkedQueue<>())
+                    .add(Entry.of(guide, language));
+        }
+
+        /**
+         * Replaces the current catalog with the one built from guides added so far.
+         */
+        public void commit() {
+            if (!enabled) {
+                return;
+            }
+            Map<Key, Listing> newListings = new HashMap<>();
+            for (var entry : entries.entrySet()) {
+                Key key = entry.getKey();
+                List<Entry> listingEntries = new ArrayList<>(entry.getValue());
+                for (Guide guide : unversioned) {
+                    listingEntries.add(Entry.of(guide, key.language()));
+                }
+                newListings.put(key, new Listing(listingEntries));
+            }
+            listings = Map.copyOf(newListings);
+            Log.infof("Committed guide catalog with %s listings", newListings.size());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.quarkus.search.app.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.I18nData;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
+
+import io.quarkus.logging.Log;
+
+import org.apache.lucene.search.suggest.fst.FSTCompletion;
+import org.apache.lucene.search.suggest.fst.FSTCompletionBuilder;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Prefix completion over guide titles, categories, topics and extensions,
+ * per version and language, built during indexing and swapped in when indexing is committed.
+ * <p>
+ * Each version/language/field holds a finite-state transducer (a compact byte array),
+ * so lookups are fast and never involve the search backend.
+ * Values used by more guides are suggested first.
+ */
+@ApplicationScoped
+public class GuideTypeahead {
+
+    // Separates the normalized form of a value, used for matching, from its original form, used for display.
+    private static final char SEPARATOR = '\u001F';
+
+    public enum Field {
+        TITLE,
+        CATEGORY,
+        TOPIC,
+        EXTENSION;
+
+        // Used by Quarkus REST to convert query parameters.
+        @SuppressWarnings("unused")
+        public static Field fromString(String value) {
+            for (Field field : values()) {
+                if (field.name().equalsIgnoreCase(value)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException(value + " is not a supported typeahead field.");
+        }
+    }
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    private volatile Map<Key, FSTCompletion> completions = Map.of();
+
+    /**
+     * @return A builder for the next generation of typeahead data.
+     *         Nothing changes until {@link Builder#commit()} is called.
+     */
+    public Builder startBuilding() {
+        return new Builder(searchingConfig.typeahead().enabled());
+    }
+
+    /**
+     * @return Values of the given field starting with the given prefix (ignoring case),
+     *         most frequent first, or an empty list if typeahead doesn't know this version/language (yet).
+     */
+    public List<String> complete(String version, Language language, Field field, String prefix, int limit) {
+        FSTCompletion completion = completions.get(new Key(version, language, field));
+        if (completion == null) {
+            return List.of();
+        }
+        String normalizedPrefix = normalize(prefix == null ? "" : prefix);
+        if (normalizedPrefix.indexOf(SEPARATOR) >= 0) {
+            return List.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        // Several values may share the same normalized form: fetch a few more than necessary.
+        for (FSTCompletion.Completion match : completion.lookup(normalizedPrefix, limit * 2)) {
+            String value = match.utf8.utf8ToString();
+            result.add(value.substring(value.indexOf(SEPARATOR) + 1));
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String version, Language language, Field field) {
+    }
+
+    public final class Builder {
+        private final boolean enabled;
+        private final Map<Key, Map<String, Integer>> guideCounts = new ConcurrentHashMap<>();
+        private final Queue<Guide> unversioned = new ConcurrentLinkedQueue<>();
+
+        private Builder(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Adds values from the given guides; may be called concurrently.
+         *
+         * @param guides The guides to add.
+         */
+        public void add(List<Guide> guides) {
+            if (!enabled) {
+                return;
+            }
+            for (Guide guide : guides) {
+                if (QuarkiverseIO.QUARKIVERSE_ORIGIN.equals(guide.origin)) {
+                    // Applies to every version, which we don't know yet.
+                    unversioned.add(guide);
+                } else if (guide.quarkusVersion == null) {
+                    // Not routed to any version, thus never returned by searches.
+                    continue;
+                } else if (guide.language == null) {
+                    for (Language language : Language.values()) {
+                        add(guide.quarkusVersion, language, guide);
+                    }
+                } else {
+                    add(guide.quarkusVersion, guide.language, guide);
+                }
+            }
+        }
+
+        private void add(String version, Language language, Guide guide) {
+            add(new Key(version, language, Field.TITLE), guide.title.get(language));
+            for (String category : guide.categories) {
+                add(new Key(version, language, Field.CATEGORY), category);
+            }
+            for (I18nData<String> topic : guide.topics) {
+                add(new Key(version, language, Field.TOPIC), topic.get(language));
+            }
+            for (String extension : guide.extensions) {
+                add(new Key(version, language, Field.EXTENSION), extension);
+            }
+        }
+
+        private void add(Key key, String value) {
+            if (value == null || value.isBlank() || value.indexOf(SEPARATOR) >= 0) {
+                return;
+            }
+            guideCounts.computeIfAbsent(key, ignored -> new ConcurrentHashMap<>())
+                    .merge(value.strip(), 1, Integer::sum);
+        }
+
+        /**
+         * Replaces the current typeahead data with the one built from guides added so far.
+         */
+        public void commit() {
+            if (!enabled) {
+                return;
+            }
+            // Quarkiverse guides are listed in every version.
+            for (Key key : new ArrayList<>(guideCounts.keySet())) {
+                if (key.field() != Field.TITLE) {
+                    continue;
+                }
+                for (Guide guide : unversioned) {
+                    add(key.version(), key.language(), guide);
+                }
+            }
+            Map<Key, FSTCompletion> newCompletions = new HashMap<>();
+            try {
+                for (var entry : guideCounts.entrySet()) {
+                    newCompletions.put(entry.getKey(), build(entry.getValue()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to build typeahead data: " + e.getMessage(), e);
+            }
+            completions = Map.copyOf(newCompletions);
+            Log.infof("Committed typeahead data for %s fields", newCompletions.size());
+        }
+
+        private FSTCompletion build(Map<String, Integer> guideCounts) throws IOException {
+            FSTCompletionBuilder builder = new FSTCompletionBuilder();
+            int maxBucket = FSTCompletionBuilder.DEFAULT_BUCKETS - 1;
+            for (var entry : guideCounts.entrySet()) {
+                String value = entry.getKey();
+                int bucket = Math.min(entry.getValue() - 1, maxBucket);
+                builder.add(new BytesRef(normalize(value) + SEPARATOR + value), bucket);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package io.quarkus.search.app.dto;
+
+import java.util.List;
+
+public record AnalyticsReport(long searchCount, long zeroHitCount, long droppedCount, List<QueryStats> queries) {
+}
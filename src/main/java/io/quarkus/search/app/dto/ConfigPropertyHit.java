@@ -0,0 +1,7 @@
+package io.quarkus.search.app.dto;
+
+import java.net.URI;
+import java.util.List;
+
+public record ConfigPropertyHit(String key, List<URI> guides) {
+}
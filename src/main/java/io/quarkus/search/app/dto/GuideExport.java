@@ -0,0 +1,17 @@
+package io.quarkus.search.app.dto;
+
+import java.net.URI;
+import java.util.List;
+
+public record GuideExport(URI url, String quarkusVersion, String type, String origin, String status, String title,
+        String summary, List<String> categories) {
+
+    @SuppressWarnings("unchecked")
+    public GuideExport(List<?> values) {
+        this(
+                (URI) values.get(0), (String) values.get(1), (String) values.get(2), (String) values.get(3),
+                (String) values.get(4), (String) values.get(5), (String) values.get(6),
+                (List<String>) values.get(7));
+    }
+
+}
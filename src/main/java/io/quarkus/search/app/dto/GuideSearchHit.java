@@ -6,8 +6,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record GuideSearchHit(URI url, String type, String status, String origin, String title, String summary,
-        Set<String> content) {
+        Set<String> content,
+        // Only set for searches across multiple versions, where hits are collapsed per guide.
+        @JsonInclude(JsonInclude.Include.NON_NULL) String version,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<String> otherVersions,
+        // Only set when content is highlighted per section, see SearchingConfig.Sections.
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<Section> sections) {
 
     public GuideSearchHit(URI url,
             String type,
@@ -16,15 +23,38 @@ public record GuideSearchHit(URI url, String type, String status, String origin,
             Optional<String> title,
             Optional<String> summary,
             List<String> content) {
-        this(url, type, status, origin, title.orElse(""), summary.orElse(""), wrap(content));
+        this(url, type, status, origin, title.orElse(""), summary.orElse(""), wrap(content), null, List.of(),
+                List.of());
+    }
+
+    public GuideSearchHit withVersions(String version, List<String> otherVersions) {
+        return new GuideSearchHit(url, type, status, origin, title, summary, content, version, otherVersions,
+                sections);
     }
 
-    @SuppressWarnings("unchecked")
-    public GuideSearchHit(List<?> values) {
-        this(
-                (URI) values.get(0), (String) values.get(1), (String) values.get(2), (String) values.get(3),
-                (Optional<String>) values.get(4), (Optional<String>) values.get(5),
-                (List<String>) values.get(6));
+    /**
+     * @param sections The sections matching the query; their snippets replace the content of this hit.
+     */
+    public GuideSearchHit withSections(List<Section> sections) {
+        Set<String> sectionsContent = new LinkedHashSet<>();
+        for (Section section : sections) {
+            if (section.content() != null) {
+                sectionsContent.add(section.content());
+            }
+        }
+        return new GuideSearchHit(url, type, status, origin, title, summary, sectionsContent, version, otherVersions,
+                sections);
+    }
+
+    /**
+     * @param url The URL of the section, i.e. the URL of the guide with the section anchor, if any.
+     * @param title The (highlighted) title of the section, or {@code null} for content before the first heading.
+     * @param content A (highlighted) snippet of the section content, or {@code null} if only the title matched.
+     */
+    public record Section(URI url, String title, String content) {
+        public Section(URI url, Optional<String> title, Optional<String> content) {
+            this(url, title.orElse(null), content.map("…%s…"::formatted).orElse(null));
+        }
     }
 
     private static Set<String> wrap(List<String> strings) {
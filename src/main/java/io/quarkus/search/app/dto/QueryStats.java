@@ -0,0 +1,4 @@
+package io.quarkus.search.app.dto;
+
+public record QueryStats(String query, long count, long zeroHitCount, long averageLatencyMillis) {
+}
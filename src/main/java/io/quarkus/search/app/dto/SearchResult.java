@@ -2,20 +2,30 @@ package io.quarkus.search.app.dto;
 
 import java.util.List;
 
+import io.quarkus.search.app.entity.Language;
+
 import org.hibernate.search.backend.elasticsearch.search.query.ElasticsearchSearchResult;
 
-public record SearchResult<T>(Total total, List<T> hits, Suggestion suggestion) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record SearchResult<T>(Total total, List<T> hits, Suggestion suggestion,
+        // Only set when the search backend is unhealthy and we're serving the last known good result.
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean stale,
+        // Only set when there were no hits in the requested language and we're serving hits in this language instead.
+        @JsonInclude(JsonInclude.Include.NON_NULL) Language fallbackLanguage) {
 
     public SearchResult(ElasticsearchSearchResult<T> result) {
-        this(new Total(result.total().isHitCountExact() ? result.total().hitCount() : null,
-                result.total().hitCountLowerBound()),
-                result.hits(), null);
+        this(result, null);
     }
 
     public SearchResult(ElasticsearchSearchResult<T> result, Suggestion suggestion) {
         this(new Total(result.total().isHitCountExact() ? result.total().hitCount() : null,
                 result.total().hitCountLowerBound()),
-                result.hits(), suggestion);
+                result.hits(), suggestion, false, null);
+    }
+
+    public SearchResult<T> asStale() {
+        return new SearchResult<>(total, hits, suggestion, true, fallbackLanguage);
     }
 
     public record Total(Long exact, Long lowerBound) {
@@ -0,0 +1,56 @@
+package io.quarkus.search.app.entity;
+
+import java.net.URI;
+import java.util.List;
+
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.DocumentId;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.SearchEntity;
+
+/**
+ * A configuration property documented in guides of a given Quarkus version,
+ * extracted from configuration reference tables during indexing.
+ * <p>
+ * Stored in a separate index, with the key as a keyword,
+ * so that properties can be looked up by exact key or prefix without going through full-text search.
+ *
+ * @see io.quarkus.search.app.indexing.ConfigPropertyIndexing
+ */
+@SearchEntity
+@Indexed
+public class ConfigProperty {
+    @DocumentId
+    public String id;
+
+    @KeywordField(sortable = Sortable.YES, projectable = Projectable.YES)
+    public String key;
+
+    // null for Quarkiverse guides, which are not versioned.
+    @KeywordField
+    public String quarkusVersion;
+
+    // Links to the property in each guide documenting it.
+    @KeywordField(searchable = Searchable.NO, projectable = Projectable.YES)
+    public List<URI> guides = List.of();
+
+    public ConfigProperty() {
+    }
+
+    public ConfigProperty(String quarkusVersion, String key, List<URI> guides) {
+        this.id = (quarkusVersion == null ? "" : quarkusVersion) + "/" + key;
+        this.key = key;
+        this.quarkusVersion = quarkusVersion;
+        this.guides = guides;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "id=" + id +
+                '}';
+    }
+}
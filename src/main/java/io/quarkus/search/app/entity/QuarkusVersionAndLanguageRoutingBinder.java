@@ -1,6 +1,9 @@
 package io.quarkus.search.app.entity;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
 import io.quarkus.search.app.quarkusio.QuarkusIO;
@@ -32,6 +35,22 @@ public class QuarkusVersionAndLanguageRoutingBinder implements RoutingBinder {
         return List.of(key(version, language), key(version, null), key(null, null, QuarkiverseIO.QUARKIVERSE_ORIGIN));
     }
 
+    public static List<String> searchKeys(Collection<String> versions, Language language) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String version : versions) {
+            keys.addAll(searchKeys(version, language));
+        }
+        return List.copyOf(keys);
+    }
+
+    public static String routingKey(Guide guide) {
+        if (QuarkiverseIO.QUARKIVERSE_ORIGIN.equals(guide.origin)) {
+            return key(null, null, QuarkiverseIO.QUARKIVERSE_ORIGIN);
+        } else {
+            return key(guide.quarkusVersion, guide.language);
+        }
+    }
+
     @Override
     public void bind(RoutingBindingContext context) {
         context.dependencies()
@@ -46,11 +65,7 @@ public class QuarkusVersionAndLanguageRoutingBinder implements RoutingBinder {
         @Override
         public void route(DocumentRoutes routes, Object entityIdentifier, Guide entity,
                 RoutingBridgeRouteContext context) {
-            if (QuarkiverseIO.QUARKIVERSE_ORIGIN.equals(entity.origin)) {
-                routes.addRoute().routingKey(key(null, null, QuarkiverseIO.QUARKIVERSE_ORIGIN));
-            } else {
-                routes.addRoute().routingKey(key(entity.quarkusVersion, entity.language));
-            }
+            routes.addRoute().routingKey(routingKey(entity));
         }
 
         @Override
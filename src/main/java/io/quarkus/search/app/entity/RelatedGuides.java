@@ -0,0 +1,50 @@
+package io.quarkus.search.app.entity;
+
+import java.net.URI;
+import java.util.List;
+
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.DocumentId;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.SearchEntity;
+
+/**
+ * Guides related to a given guide, precomputed during indexing.
+ * <p>
+ * Stored in a separate index so that related guides can be computed after guides are indexed,
+ * without having to reindex guides.
+ *
+ * @see io.quarkus.search.app.indexing.RelatedGuidesComputation
+ */
+@SearchEntity
+@Indexed
+public class RelatedGuides {
+    @DocumentId
+    public URI url;
+
+    // The language of the guide, which is also the language of related guides.
+    @KeywordField(searchable = Searchable.NO, projectable = Projectable.YES)
+    public Language language;
+
+    // Ordered from most to least related.
+    @KeywordField(searchable = Searchable.NO, projectable = Projectable.YES)
+    public List<URI> related = List.of();
+
+    public RelatedGuides() {
+    }
+
+    public RelatedGuides(URI url, Language language, List<URI> related) {
+        this.url = url;
+        this.language = language;
+        this.related = related;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "url=<" + url + '>' +
+                '}';
+    }
+}
@@ -19,8 +19,10 @@ import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import io.quarkus.search.app.SearchingConfig;
 import io.quarkus.search.app.entity.Language;
 import io.quarkus.search.app.indexing.reporting.FailureCollector;
+import io.quarkus.search.app.jfr.SiteFetchEvent;
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIOConfig;
 import io.quarkus.search.app.quarkusio.QuarkusIO;
@@ -28,6 +30,7 @@ import io.quarkus.search.app.quarkusio.QuarkusIOConfig;
 import io.quarkus.search.app.util.CloseableDirectory;
 import io.quarkus.search.app.util.GitCloneDirectory;
 import io.quarkus.search.app.util.SimpleExecutor;
+import io.quarkus.search.app.util.Tracing;
 
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.LaunchMode;
@@ -35,12 +38,14 @@ import io.quarkus.runtime.LaunchMode;
 import org.hibernate.search.util.common.impl.Closer;
 import org.hibernate.search.util.common.impl.SuppressingCloser;
 
+import org.apache.commons.io.file.PathUtils;
 import org.kohsuke.github.GHArtifact;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHWorkflowRun;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
 
+import io.opentelemetry.context.Context;
 import io.vertx.core.impl.ConcurrentHashSet;
 
 @ApplicationScoped
@@ -55,10 +60,17 @@ public class FetchingService {
     @Inject
     QuarkiverseIOConfig quarkiverseIOConfig;
 
+    @Inject
+    SearchingConfig searchingConfig;
+
     private final Map<URI, GitCloneDirectory.Details> detailsCache = new ConcurrentHashMap<>();
     private final Set<CloseableDirectory> tempDirectories = new ConcurrentHashSet<>();
 
     public QuarkiverseIO fetchQuarkiverseIo(FailureCollector failureCollector) throws IOException {
+        return Tracing.trace("fetch.quarkiverse.io", span -> doFetchQuarkiverseIo(failureCollector));
+    }
+
+    private QuarkiverseIO doFetchQuarkiverseIo(FailureCollector failureCollector) throws IOException {
         CloseableDirectory tempDir = CloseableDirectory.temp("quarkiverse-io");
         Path artifact = null;
         switch (quarkiverseIOConfig.source()) {
@@ -82,7 +94,8 @@ public class FetchingService {
             untar(tempDir.path().resolve("artifact.tar"), pages);
         }
 
-        return new QuarkiverseIO(Optional.ofNullable(pages), quarkiverseIOConfig.baseUri(), failureCollector, tempDir);
+        return new QuarkiverseIO(Optional.ofNullable(pages), quarkiverseIOConfig.baseUri(), failureCollector, tempDir,
+                searchingConfig.sections().enabled());
     }
 
     private static Path fetchQuarkusIoGitHubArtifact(QuarkiverseIOConfig.GithubArtifact ghConfig, CloseableDirectory tempDir)
@@ -117,24 +130,34 @@ public class FetchingService {
     }
 
     public QuarkusIO fetchQuarkusIo(FailureCollector failureCollector) {
+        return Tracing.trace("fetch.quarkus.io", span -> doFetchQuarkusIo(failureCollector));
+    }
+
+    private QuarkusIO doFetchQuarkusIo(FailureCollector failureCollector) {
         CompletableFuture<GitCloneDirectory> main = null;
         Map<Language, CompletableFuture<GitCloneDirectory>> localized = new LinkedHashMap<>();
+        // Sites are fetched in other threads: we need to propagate the tracing context explicitly.
+        Context tracingContext = Context.current();
         try (SimpleExecutor executor = new SimpleExecutor(fetchingConfig.parallelism())) {
-            main = executor.submit(() -> fetchQuarkusIoSite("quarkus.io", quarkusIOConfig.gitUri(), QuarkusIO.MAIN_BRANCHES));
+            main = executor.submit(() -> fetchQuarkusIoSite(tracingContext, "quarkus.io", quarkusIOConfig.gitUri(),
+                    QuarkusIO.MAIN_BRANCHES));
             for (Map.Entry<Language, QuarkusIOConfig.SiteConfig> entry : sortMap(quarkusIOConfig.localized()).entrySet()) {
                 var language = entry.getKey();
                 var config = entry.getValue();
                 localized.put(language,
-                        executor.submit(() -> fetchQuarkusIoSite(language.code + ".quarkus.io", config.gitUri(),
-                                QuarkusIO.LOCALIZED_BRANCHES)));
+                        executor.submit(() -> fetchQuarkusIoSite(tracingContext, language.code + ".quarkus.io",
+                                config.gitUri(), QuarkusIO.LOCALIZED_BRANCHES)));
             }
             executor.waitForSuccessOrThrow(fetchingConfig.timeout());
             // If we get here, all tasks succeeded.
             GitCloneDirectory mainRepository = main.join();
             return new QuarkusIO(quarkusIOConfig, mainRepository,
                     localized.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().join().root(mainRepository))),
-                    failureCollector);
+                            .collect(Collectors.toMap(Map.Entry::getKey, e -> Tracing.trace("fetch.site.root", span -> {
+                                span.setAttribute("fetch.site.language", e.getKey().code);
+                                return e.getValue().join().root(mainRepository);
+                            }))),
+                    failureCollector, searchingConfig.sections().enabled());
         } catch (RuntimeException | IOException e) {
             new SuppressingCloser(e)
                     .push(main, CompletableFuture::join)
@@ -143,14 +166,25 @@ public class FetchingService {
         }
     }
 
+    private GitCloneDirectory fetchQuarkusIoSite(Context tracingContext, String siteName, URI gitUri,
+            GitCloneDirectory.Branches branches) {
+        return Tracing.trace("fetch.site", tracingContext, span -> {
+            span.setAttribute("fetch.site.name", siteName);
+            return fetchQuarkusIoSite(siteName, gitUri, branches);
+        });
+    }
+
     private GitCloneDirectory fetchQuarkusIoSite(String siteName, URI gitUri, GitCloneDirectory.Branches branches) {
         CloseableDirectory tempDir = null;
         GitCloneDirectory cloneDir = null;
+        SiteFetchEvent event = new SiteFetchEvent();
+        event.begin();
         try {
             GitCloneDirectory.Details details = detailsCache.get(gitUri);
             if (details != null) {
-                return details.openAndUpdate();
+                return commit(event, siteName, gitUri, SiteFetchEvent.OPERATION_UPDATE, details.openAndUpdate());
             }
+            String operation = null;
 
             if (LaunchMode.DEVELOPMENT.equals(LaunchMode.current())) {
                 if (isZip(gitUri)) {
@@ -161,11 +195,13 @@ public class FetchingService {
                     tempDirectories.add(tempDir);
                     unzip(Path.of(gitUri), tempDir.path());
                     cloneDir = GitCloneDirectory.openAndUpdate(tempDir.path(), branches);
+                    operation = SiteFetchEvent.OPERATION_UNZIP;
                 } else if (isFile(gitUri)) {
                     Log.infof("Using the git repository '%s' as-is without cloning to speed up indexing of %s.",
                             gitUri, siteName);
                     // In dev mode, we want to skip cloning when possible, to make things quicker.
                     cloneDir = GitCloneDirectory.openAndUpdate(Path.of(gitUri), branches);
+                    operation = SiteFetchEvent.OPERATION_OPEN;
                 }
             }
 
@@ -177,17 +213,36 @@ public class FetchingService {
                 tempDir = CloseableDirectory.temp(siteName);
                 tempDirectories.add(tempDir);
                 cloneDir = GitCloneDirectory.clone(gitUri, tempDir.path(), branches);
+                operation = SiteFetchEvent.OPERATION_CLONE;
             }
 
             detailsCache.put(gitUri, cloneDir.details());
 
-            return cloneDir;
+            return commit(event, siteName, gitUri, operation, cloneDir);
         } catch (RuntimeException | IOException e) {
             new SuppressingCloser(e).push(tempDir).push(cloneDir);
             throw new IllegalStateException("Failed to fetch '%s': %s".formatted(siteName, e.getMessage()), e);
         }
     }
 
+    private static GitCloneDirectory commit(SiteFetchEvent event, String siteName, URI gitUri, String operation,
+            GitCloneDirectory cloneDir) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.site = siteName;
+            event.gitUri = gitUri.toString();
+            event.operation = operation;
+            try {
+                // Only computed when recording, because it involves walking the whole directory.
+                event.sizeOnDisk = PathUtils.sizeOfDirectory(cloneDir.details().directory());
+            } catch (IOException | RuntimeException e) {
+                Log.debugf(e, "Failed to compute the size of %s", cloneDir);
+            }
+            event.commit();
+        }
+        return cloneDir;
+    }
+
     private Map<Language, QuarkusIOConfig.SiteConfig> sortMap(Map<String, QuarkusIOConfig.SiteConfig> localized) {
         Map<Language, QuarkusIOConfig.SiteConfig> map = new LinkedHashMap<>();
         for (String lang : localized.keySet().stream().sorted().toList()) {
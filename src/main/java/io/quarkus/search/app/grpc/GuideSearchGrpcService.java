@@ -0,0 +1,174 @@
+package io.quarkus.search.app.grpc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import io.quarkus.search.app.QuarkusVersions;
+import io.quarkus.search.app.ReferenceService;
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Language;
+
+import io.quarkus.grpc.GrpcService;
+
+import io.grpc.Status;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Exposes {@link SearchService} and {@link ReferenceService} over gRPC, see {@code src/main/proto/search.proto}.
+ * <p>
+ * Delegates to the same beans as the REST API, so queries, caching, fault tolerance and fallbacks are identical;
+ * only the encoding and transport differ.
+ */
+@GrpcService
+public class GuideSearchGrpcService implements GuideSearch {
+
+    @Inject
+    SearchService searchService;
+
+    @Inject
+    ReferenceService referenceService;
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Override
+    @Blocking
+    public Uni<SearchResponse> search(SearchRequest request) {
+        return Uni.createFrom().item(() -> toResponse(search(request, request.getPage())))
+                .onFailure().transform(GuideSearchGrpcService::toStatusException);
+    }
+
+    @Override
+    public Multi<GuideSearchHit> searchStream(SearchRequest request) {
+        int maxPages = searchingConfig.grpc().maxStreamedPages();
+        return Multi.createBy().repeating()
+                // Pages are only fetched when the client requests more hits (gRPC flow control).
+                .uni(() -> new AtomicInteger(request.getPage()),
+                        page -> Uni.createFrom().item(() -> search(request, page.getAndIncrement()).hits())
+                                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()))
+                // Stop after the last (partial) page.
+                .whilst(hits -> hits.size() == SearchService.PAGE_SIZE)
+                .select().first(maxPages)
+                .onItem().<io.quarkus.search.app.dto.GuideSearchHit> disjoint()
+                .map(GuideSearchGrpcService::toHit)
+                .onFailure().transform(GuideSearchGrpcService::toStatusException);
+    }
+
+    @Override
+    @Blocking
+    public Uni<ListVersionsResponse> listVersions(ListVersionsRequest request) {
+        return Uni.createFrom().item(() -> ListVersionsResponse.newBuilder()
+                .addAllVersions(referenceService.versions())
+                .build())
+                .onFailure().transform(GuideSearchGrpcService::toStatusException);
+    }
+
+    @Override
+    @Blocking
+    public Uni<ListLanguagesResponse> listLanguages(ListLanguagesRequest request) {
+        return Uni.createFrom().item(() -> ListLanguagesResponse.newBuilder()
+                .addAllLanguages(Arrays.stream(referenceService.languages()).map(Language::code).toList())
+                .build());
+    }
+
+    @Override
+    @Blocking
+    public Uni<ListCategoriesResponse> listCategories(ListCategoriesRequest request) {
+        return Uni.createFrom().item(() -> ListCategoriesResponse.newBuilder()
+                .addAllCategories(referenceService.categories())
+                .build())
+                .onFailure().transform(GuideSearchGrpcService::toStatusException);
+    }
+
+    private SearchResult<io.quarkus.search.app.dto.GuideSearchHit> search(SearchRequest request, int page) {
+        Language language;
+        try {
+            language = request.getLanguage().isEmpty() ? Language.ENGLISH : Language.fromString(request.getLanguage());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
+        // Same defaults as the REST API.
+        return searchService.search(
+                request.getVersion().isEmpty() ? QuarkusVersions.LATEST : request.getVersion(),
+                request.getCategoriesList(),
+                request.getQ(),
+                request.getOrigin(),
+                language,
+                request.getHighlightCssClass().isEmpty() ? "highlighted" : request.getHighlightCssClass(),
+                page,
+                request.hasContentSnippets() ? request.getContentSnippets() : 1,
+                request.hasContentSnippetsLength() ? request.getContentSnippetsLength() : 100,
+                request.getFallbackToEnglish());
+    }
+
+    private static SearchResponse toResponse(SearchResult<io.quarkus.search.app.dto.GuideSearchHit> result) {
+        var total = SearchResponse.Total.newBuilder()
+                .setLowerBound(result.total().lowerBound());
+        if (result.total().exact() != null) {
+            total.setExact(result.total().exact());
+        }
+        var response = SearchResponse.newBuilder()
+                .setTotal(total)
+                .addAllHits(result.hits().stream().map(GuideSearchGrpcService::toHit).toList())
+                .setStale(result.stale());
+        if (result.fallbackLanguage() != null) {
+            response.setFallbackLanguage(result.fallbackLanguage().code());
+        }
+        if (result.suggestion() != null) {
+            response.setSuggestion(SearchResponse.Suggestion.newBuilder()
+                    .setQuery(result.suggestion().query())
+                    .setHighlighted(result.suggestion().highlighted()));
+        }
+        return response.build();
+    }
+
+    private static GuideSearchHit toHit(io.quarkus.search.app.dto.GuideSearchHit hit) {
+        // Protobuf doesn't accept nulls: unset fields are empty.
+        return GuideSearchHit.newBuilder()
+                .setUrl(hit.url().toString())
+                .setType(nullToEmpty(hit.type()))
+                .setStatus(nullToEmpty(hit.status()))
+                .setOrigin(nullToEmpty(hit.origin()))
+                .setTitle(nullToEmpty(hit.title()))
+                .setSummary(nullToEmpty(hit.summary()))
+                .addAllContent(hit.content())
+                .setVersion(nullToEmpty(hit.version()))
+                .addAllOtherVersions(hit.otherVersions() == null ? List.of() : hit.otherVersions())
+                .addAllSections(hit.sections() == null ? List.of()
+                        : hit.sections().stream().map(GuideSearchGrpcService::toSection).toList())
+                .build();
+    }
+
+    private static GuideSearchHit.Section toSection(io.quarkus.search.app.dto.GuideSearchHit.Section section) {
+        return GuideSearchHit.Section.newBuilder()
+                .setUrl(section.url().toString())
+                .setTitle(nullToEmpty(section.title()))
+                .setContent(nullToEmpty(section.content()))
+                .build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Throwable toStatusException(Throwable failure) {
+        if (failure instanceof BadRequestException || failure instanceof ConstraintViolationException) {
+            return Status.INVALID_ARGUMENT.withDescription(failure.getMessage()).withCause(failure).asRuntimeException();
+        } else if (failure instanceof ServiceUnavailableException) {
+            return Status.UNAVAILABLE.withDescription(failure.getMessage()).withCause(failure).asRuntimeException();
+        } else {
+            return failure;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import io.quarkus.search.app.local.LocalIndex;
+
 import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
 
 import org.eclipse.microprofile.health.HealthCheck;
@@ -23,14 +25,15 @@ public class IndexContentHealthCheck implements HealthCheck {
     @Inject
     SearchMapping searchMapping;
 
+    @Inject
+    LocalIndex localIndex;
+
     @Override
     @Transactional
     public HealthCheckResponse call() {
         long totalHitCount;
-        try (var session = searchMapping.createSession()) {
-            totalHitCount = session.search(Object.class)
-                    .where(f -> f.matchAll())
-                    .fetchTotalHitCount();
+        try {
+            totalHitCount = localIndex.isExclusive() ? localIndex.documentCount() : countSearchBackendDocuments();
             // Indexing uses rollover and alias switching so that indexing appears (is?) atomic.
             // If we find one document, we know they are all there.
             // See IndexingService#indexAll
@@ -53,4 +56,12 @@ public class IndexContentHealthCheck implements HealthCheck {
                 .withData("details", "Indexes contain " + totalHitCount + " elements")
                 .build();
     }
+
+    private long countSearchBackendDocuments() {
+        try (var session = searchMapping.createSession()) {
+            return session.search(Object.class)
+                    .where(f -> f.matchAll())
+                    .fetchTotalHitCount();
+        }
+    }
 }
@@ -0,0 +1,191 @@
+package io.quarkus.search.app.health;
+
+import static io.quarkus.search.app.util.MutinyUtils.runOn;
+import static io.quarkus.search.app.util.MutinyUtils.waitForeverFor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import io.quarkus.logging.Log;
+import io.quarkus.vertx.http.HttpServerStart;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+
+/**
+ * Sends synthetic requests to the application once indexes contain data,
+ * so that the JIT compiler has optimized the hottest code paths
+ * (REST endpoints, query building, serialization, ...) before actual users get to it.
+ * <p>
+ * Warm-up requests are tagged with a header (see {@link WarmUpRequest}) so that they don't show up as actual usage,
+ * and circuit breakers are reset once warm-up is over, so that they only reflect actual usage.
+ *
+ * @see WarmUpHealthCheck
+ */
+@ApplicationScoped
+public class WarmUp {
+
+    public static final String REQUEST_HEADER = "X-Warm-Up";
+
+    public enum Status {
+        DISABLED,
+        PENDING,
+        RUNNING,
+        DONE,
+        TIMED_OUT,
+        FAILED;
+
+        public boolean isOver() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    @Inject
+    WarmUpConfig config;
+
+    @Inject
+    IndexContentHealthCheck indexContentHealthCheck;
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    // So that the header cannot be used to hide actual requests.
+    private final String token = UUID.randomUUID().toString();
+    // Warm-up gets its own thread, so that it never takes worker threads away from searches.
+    private ExecutorService executor;
+    private volatile Status status = Status.PENDING;
+    private volatile int sentRequests;
+    private volatile int failedRequests;
+
+    void onHttpServerStart(@Observes HttpServerStart event) {
+        if (!config.enabled()) {
+            status = Status.DISABLED;
+            return;
+        }
+        int port = event.options().getPort();
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        waitForeverFor(this::isIndexContentAvailable, config.waitInterval(),
+                () -> Log.debugf("Warm-up: indexes are empty or unreachable, waiting..."))
+                .chain(() -> runOn(executor, () -> {
+                    run(port);
+                    return null;
+                }))
+                .subscribe().with(
+                        ignored -> executor.shutdown(),
+                        t -> {
+                            finish(Status.FAILED);
+                            Log.errorf(t, "Warm-up failed: %s", t.getMessage());
+                            executor.shutdown();
+                        });
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param headerValue The value of the {@link #REQUEST_HEADER} header of a request, if any.
+     * @return Whether that request was sent by warm-up.
+     */
+    public boolean isWarmUpToken(String headerValue) {
+        return token.equals(headerValue);
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public int sentRequests() {
+        return sentRequests;
+    }
+
+    public int failedRequests() {
+        return failedRequests;
+    }
+
+    private boolean isIndexContentAvailable() {
+        return HealthCheckResponse.Status.UP.equals(indexContentHealthCheck.call().getStatus());
+    }
+
+    void run(int port) {
+        Instant start = Instant.now();
+        Instant deadline = start.plus(config.budget());
+        List<URI> uris = config.requests().stream()
+                .map(path -> URI.create("http://localhost:" + port + path))
+                .toList();
+        Log.infof("Warm-up: sending %s requests %s times...", uris.size(), config.iterations());
+        status = Status.RUNNING;
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            for (int i = 0; i < config.iterations(); i++) {
+                for (URI uri : uris) {
+                    Duration remaining = Duration.between(Instant.now(), deadline);
+                    if (remaining.isNegative() || remaining.isZero()) {
+                        finish(Status.TIMED_OUT);
+                        Log.warnf("Warm-up: time budget of %s exhausted after %s requests (%s failed);"
+                                + " reporting as ready anyway.", config.budget(), sentRequests, failedRequests);
+                        return;
+                    }
+                    send(client, uri, remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(Status.FAILED);
+            return;
+        }
+        finish(Status.DONE);
+        Log.infof("Warm-up: done in %s, %s requests (%s failed).", Duration.between(start, Instant.now()),
+                sentRequests, failedRequests);
+    }
+
+    // Must happen before reporting as ready, so that circuit breakers don't get reset while serving actual requests.
+    private void finish(Status finalStatus) {
+        try {
+            circuitBreakerMaintenance.resetAll();
+        } catch (RuntimeException e) {
+            Log.warnf(e, "Warm-up: failed to reset circuit breakers: %s", e.getMessage());
+        }
+        status = finalStatus;
+    }
+
+    private void send(HttpClient client, URI uri, Duration timeout) throws InterruptedException {
+        sentRequests++;
+        try {
+            var response = client.send(HttpRequest.newBuilder(uri).timeout(timeout).header(REQUEST_HEADER, token)
+                    .GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                failedRequests++;
+                Log.debugf("Warm-up: request to %s returned status %s", uri, response.statusCode());
+            }
+        } catch (IOException e) {
+            failedRequests++;
+            Log.debugf(e, "Warm-up: request to %s failed: %s", uri, e.getMessage());
+        }
+    }
+}
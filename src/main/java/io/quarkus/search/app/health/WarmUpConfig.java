@@ -0,0 +1,52 @@
+package io.quarkus.search.app.health;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "warm-up")
+public interface WarmUpConfig {
+
+    /**
+     * @return Whether to send synthetic requests to the application on startup,
+     *         before reporting it as ready, so that it doesn't serve its first requests on cold code paths.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * @return The requests to send on each warm-up iteration, as paths (and query strings) relative to the HTTP root.
+     *         These requests are handled like any other, except they don't show up as actual usage (analytics, ...).
+     */
+    @WithDefault("/api/guides/search,"
+            + "/api/guides/search?q=hibernate,"
+            + "/api/guides/search?q=rest%20client&contentSnippets=2,"
+            + "/api/guides/search?q=kafka&categories=messaging,"
+            + "/api/guides/search?q=securty%20oidc,"
+            + "/api/guides/search?q=hibernate&language=ja,"
+            + "/api/guides/typeahead?prefix=hib,"
+            + "/api/versions,"
+            + "/api/languages,"
+            + "/api/categories")
+    List<String> requests();
+
+    /**
+     * @return The number of times to send all {@link #requests()}.
+     */
+    @WithDefault("200")
+    int iterations();
+
+    /**
+     * @return The maximum duration of warm-up, after which the application reports as ready regardless.
+     */
+    @WithDefault("2m")
+    Duration budget();
+
+    /**
+     * @return How often to check whether indexes contain data, which is necessary before warm-up can start.
+     */
+    @WithDefault("5s")
+    Duration waitInterval();
+}
@@ -0,0 +1,33 @@
+package io.quarkus.search.app.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Checks that warm-up is over, either because it completed or because it ran out of time.
+ *
+ * @see WarmUp
+ */
+@Readiness
+@ApplicationScoped
+public class WarmUpHealthCheck implements HealthCheck {
+    private static final String NAME = "Warm-up";
+
+    @Inject
+    WarmUp warmUp;
+
+    @Override
+    public HealthCheckResponse call() {
+        WarmUp.Status status = warmUp.status();
+        return HealthCheckResponse.builder()
+                .name(NAME).status(status.isOver())
+                .withData("status", status.name())
+                .withData("requests", warmUp.sentRequests())
+                .withData("failedRequests", warmUp.failedRequests())
+                .build();
+    }
+}
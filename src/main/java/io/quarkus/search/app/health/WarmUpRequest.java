@@ -0,0 +1,39 @@
+package io.quarkus.search.app.health;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+
+/**
+ * Remembers whether the current HTTP request was sent by {@link WarmUp}.
+ * <p>
+ * Warm-up requests must not affect anything that reflects actual usage:
+ * search analytics, the slow query log, last known good results, latency metrics, ...
+ *
+ * @see WarmUpRequestFilter
+ */
+@RequestScoped
+public class WarmUpRequest {
+
+    private boolean warmUp;
+
+    void markWarmUp() {
+        this.warmUp = true;
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * @return Whether the current request (if any) was sent by {@link WarmUp}.
+     */
+    public static boolean isCurrent() {
+        ArcContainer container = Arc.container();
+        if (container == null || !container.requestContext().isActive()) {
+            return false;
+        }
+        return container.select(WarmUpRequest.class).get().isWarmUp();
+    }
+}
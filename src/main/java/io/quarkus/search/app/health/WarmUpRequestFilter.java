@@ -0,0 +1,22 @@
+package io.quarkus.search.app.health;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+
+public class WarmUpRequestFilter {
+
+    @Inject
+    WarmUp warmUp;
+
+    @Inject
+    WarmUpRequest warmUpRequest;
+
+    @ServerRequestFilter
+    public void markWarmUpRequests(ContainerRequestContext requestContext) {
+        if (warmUp.isWarmUpToken(requestContext.getHeaderString(WarmUp.REQUEST_HEADER))) {
+            warmUpRequest.markWarmUp();
+        }
+    }
+}
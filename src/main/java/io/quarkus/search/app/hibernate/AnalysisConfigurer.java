@@ -13,7 +13,7 @@ import org.hibernate.search.backend.elasticsearch.analysis.ElasticsearchAnalysis
 @SearchExtension
 public class AnalysisConfigurer implements ElasticsearchAnalysisConfigurer {
 
-    private static final String[] SYNONYMS = new String[] {
+    public static final String[] SYNONYMS = new String[] {
             "development, dev",
             "dev service, devservice, development service",
             "resteasy, rest, rest api, rest easy",
@@ -30,7 +30,7 @@ public class AnalysisConfigurer implements ElasticsearchAnalysisConfigurer {
     public static final String SORT = "sort";
     // This is simplified by assuming no default package, lowercase package names and capitalized class name,
     // so we get fewer false positives
-    private static final Pattern SIMPLIFIED_JAVA_CLASS_NAME_CAPTURE_PATTERN = Pattern
+    public static final Pattern SIMPLIFIED_JAVA_CLASS_NAME_CAPTURE_PATTERN = Pattern
             .compile("(?:[a-z_$][a-z0-9_$]*\\.)+([A-Z][A-Za-z0-9_$]*)$");
 
     public static String defaultAnalyzer(Language language) {
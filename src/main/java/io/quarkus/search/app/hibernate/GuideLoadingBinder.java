@@ -3,6 +3,8 @@ package io.quarkus.search.app.hibernate;
 import java.util.List;
 
 import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.jfr.IndexingBatchEvent;
+import io.quarkus.search.app.util.Tracing;
 
 import org.hibernate.search.mapper.pojo.standalone.loading.LoadingTypeGroup;
 import org.hibernate.search.mapper.pojo.standalone.loading.MassEntityLoader;
@@ -30,7 +32,13 @@ public class GuideLoadingBinder implements EntityLoadingBinder {
 
                     @Override
                     public void loadNext() throws InterruptedException {
-                        List<Guide> batch = context.nextBatch(options.batchSize());
+                        IndexingBatchEvent event = IndexingBatchEvent.begin(IndexingBatchEvent.PHASE_LOAD);
+                        List<Guide> batch = Tracing.trace("indexing.batch.load", context.tracingContext(), span -> {
+                            List<Guide> loaded = context.nextBatch(options.batchSize());
+                            span.setAttribute("indexing.batch.size", loaded.size());
+                            return loaded;
+                        });
+                        event.end(batch.size());
                         if (batch.isEmpty()) {
                             sink.complete();
                         } else {
@@ -43,6 +51,7 @@ public class GuideLoadingBinder implements EntityLoadingBinder {
             @Override
             public MassEntityLoader<Guide> createEntityLoader(LoadingTypeGroup<Guide> includedTypes, MassEntitySink<Guide> sink,
                     MassLoadingOptions options) {
+                QuarkusIOLoadingContext context = options.context(QuarkusIOLoadingContext.class);
                 return new MassEntityLoader<Guide>() {
                     @Override
                     public void close() {
@@ -50,7 +59,24 @@ public class GuideLoadingBinder implements EntityLoadingBinder {
 
                     @Override
                     public void load(List<Guide> guides) throws InterruptedException {
-                        sink.accept(guides);
+                        // May wait for a while if indexing is being throttled, see IndexingThrottle.
+                        context.limiter().acquire();
+                        try {
+                            IndexingBatchEvent event = IndexingBatchEvent.begin(IndexingBatchEvent.PHASE_INDEX);
+                            // Local index, catalog, related guides, ...: separate from the bulk span below,
+                            // so that each can be told apart in traces.
+                            Tracing.run("indexing.batch.listeners", context.tracingContext(),
+                                    span -> context.loaded(guides));
+                            // Hibernate Search builds documents, sends them in bulk requests from its own threads,
+                            // and waits for the responses: there's no hook to trace the requests themselves.
+                            Tracing.run("indexing.batch.bulk", context.tracingContext(), span -> {
+                                span.setAttribute("indexing.batch.size", guides.size());
+                                sink.accept(guides);
+                            });
+                            event.end(guides.size());
+                        } finally {
+                            context.limiter().release();
+                        }
                     }
                 };
             }
@@ -0,0 +1,154 @@
+package io.quarkus.search.app.hibernate;
+
+import java.util.List;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.query.PartialWord;
+
+import io.quarkus.hibernate.search.standalone.elasticsearch.SearchExtension;
+
+import org.hibernate.search.engine.backend.types.Highlightable;
+import org.hibernate.search.engine.backend.types.TermVector;
+import org.hibernate.search.engine.environment.bean.BeanReference;
+import org.hibernate.search.engine.environment.bean.BeanRetrieval;
+import org.hibernate.search.mapper.pojo.bridge.ValueBridge;
+import org.hibernate.search.mapper.pojo.mapping.definition.programmatic.TypeMappingStep;
+import org.hibernate.search.mapper.pojo.standalone.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.pojo.standalone.mapping.StandalonePojoMappingConfigurationContext;
+import org.hibernate.search.mapper.pojo.standalone.mapping.StandalonePojoMappingConfigurer;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Maps the fields of {@link Guide} whose mapping depends on configuration:
+ * highlighted text fields, sections, and edge n-gram fields used for autocompletion.
+ *
+ * @see SearchingConfig.Highlighting
+ * @see SearchingConfig.Sections
+ * @see SearchingConfig.Autocomplete#mode()
+ */
+@SearchExtension
+public class GuideMappingConfigurer implements StandalonePojoMappingConfigurer {
+
+    private static final String AUTOCOMPLETE_SUFFIX = "_autocomplete";
+    // Same fields as the prefix match in SearchService.
+    private static final List<String> PREFIX_FIELDS = List.of("keywords", "title", "summary", "fullContent");
+    // Longer prefixes match few enough terms that the term dictionary can be scanned directly.
+    private static final int INDEX_PREFIXES_MAX_CHARS = 5;
+
+    private static final BeanReference<ValueBridge<String, String>> IDENTITY = BeanReference
+            .ofInstance((value, context) -> value);
+    private static final BeanReference<InputProviderHtmlBodyTextBridge> HTML_BODY_TEXT = BeanReference
+            .of(InputProviderHtmlBodyTextBridge.class, BeanRetrieval.CONSTRUCTOR);
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Override
+    public void configure(StandalonePojoMappingConfigurationContext context) {
+        TypeMappingStep guide = context.programmaticMapping().type(Guide.class);
+
+        var highlighting = searchingConfig.highlighting();
+        mapHighlighted(guide, "title", "title", IDENTITY, highlighting.title());
+        mapHighlighted(guide, "summary", "summary", IDENTITY, highlighting.summary());
+        if (searchingConfig.sections().enabled()) {
+            // Content is highlighted per section instead: the full content is only searched.
+            I18nFullTextField.Processor.map(guide.property("htmlFullContentProvider"), "fullContent", HTML_BODY_TEXT,
+                    AnalysisConfigurer.DEFAULT, AnalysisConfigurer.DEFAULT_SEARCH, Set.of(Highlightable.NO),
+                    TermVector.NO);
+            guide.property("htmlFullContentProvider").binder(new GuideSectionsBinder());
+        } else {
+            mapHighlighted(guide, "htmlFullContentProvider", "fullContent", HTML_BODY_TEXT,
+                    highlighting.fullContent());
+        }
+
+        if (searchingConfig.autocomplete().mode() == SearchingConfig.Autocomplete.Mode.EDGE_NGRAM) {
+            mapAutocomplete(guide, "title", "title", IDENTITY);
+            mapAutocomplete(guide, "summary", "summary", IDENTITY);
+            mapAutocomplete(guide, "keywords", "keywords", IDENTITY);
+            mapAutocomplete(guide, "htmlFullContentProvider", "fullContent", HTML_BODY_TEXT);
+        }
+    }
+
+    /**
+     * Adds attributes that depend on configuration, but that Hibernate Search doesn't expose,
+     * to the mapping exported by Hibernate Search when indexes are created, see
+     * {@link io.quarkus.search.app.indexing.Rollover}.
+     * <p>
+     * These are postings offsets for the unified highlighter, and index prefixes for prefix autocompletion.
+     * <p>
+     * The mapping file (see schema-management.mapping-file in application.properties) can't hold these:
+     * it's a single static file, applied regardless of configuration,
+     * while these attributes only make sense (and only incur their indexing cost) in some modes.
+     * Indexes created by Hibernate Search itself, before the first reindexing, don't have these attributes:
+     * searches still work, only slower.
+     *
+     * @param entity The indexed entity.
+     * @param mapping The mapping exported by Hibernate Search for that entity, to alter.
+     */
+    public static void customizeMapping(SearchingConfig searchingConfig, SearchIndexedEntity<?> entity,
+            JsonObject mapping) {
+        if (!Guide.class.equals(entity.javaClass())) {
+            return;
+        }
+        JsonObject properties = mapping.getAsJsonObject("properties");
+        var highlighting = searchingConfig.highlighting();
+        addPostingsOffsets(properties, "title", highlighting.title());
+        addPostingsOffsets(properties, "summary", highlighting.summary());
+        if (!searchingConfig.sections().enabled()) {
+            addPostingsOffsets(properties, "fullContent", highlighting.fullContent());
+        }
+        if (searchingConfig.autocomplete().mode() == SearchingConfig.Autocomplete.Mode.PREFIX) {
+            // Index prefixes of terms separately, so that prefix queries don't need to expand to all matching terms.
+            for (String field : PREFIX_FIELDS) {
+                for (Language language : Language.values()) {
+                    JsonObject indexPrefixes = new JsonObject();
+                    indexPrefixes.addProperty("min_chars", PartialWord.MIN_LENGTH);
+                    indexPrefixes.addProperty("max_chars", INDEX_PREFIXES_MAX_CHARS);
+                    properties.getAsJsonObject(language.addSuffix(field)).add("index_prefixes", indexPrefixes);
+                }
+            }
+        }
+    }
+
+    private static void addPostingsOffsets(JsonObject properties, String fieldNamePrefix,
+            SearchingConfig.Highlighting.Strategy strategy) {
+        if (strategy != SearchingConfig.Highlighting.Strategy.UNIFIED) {
+            return;
+        }
+        // Lets the unified highlighter find matches from the postings, instead of re-analyzing the text.
+        for (Language language : Language.values()) {
+            properties.getAsJsonObject(language.addSuffix(fieldNamePrefix)).addProperty("index_options", "offsets");
+        }
+    }
+
+    private static void mapHighlighted(TypeMappingStep type, String property, String fieldNamePrefix,
+            BeanReference<? extends ValueBridge<?, String>> valueBridgeRef,
+            SearchingConfig.Highlighting.Strategy strategy) {
+        Highlightable highlightable = switch (strategy) {
+            case FAST_VECTOR -> Highlightable.FAST_VECTOR;
+            case UNIFIED -> Highlightable.UNIFIED;
+            case PLAIN -> Highlightable.PLAIN;
+        };
+        // Only the fast vector highlighter needs term vectors.
+        // The unified highlighter relies on offsets in the postings instead, see customizeMapping;
+        // the plain highlighter re-analyzes the text.
+        TermVector termVector = strategy == SearchingConfig.Highlighting.Strategy.FAST_VECTOR
+                ? TermVector.WITH_POSITIONS_OFFSETS
+                : TermVector.NO;
+        I18nFullTextField.Processor.map(type.property(property), fieldNamePrefix, valueBridgeRef,
+                AnalysisConfigurer.DEFAULT, AnalysisConfigurer.DEFAULT_SEARCH, Set.of(highlightable), termVector);
+    }
+
+    private static void mapAutocomplete(TypeMappingStep type, String property, String fieldNamePrefix,
+            BeanReference<? extends ValueBridge<?, String>> valueBridgeRef) {
+        I18nFullTextField.Processor.map(type.property(property), fieldNamePrefix + AUTOCOMPLETE_SUFFIX, valueBridgeRef,
+                AnalysisConfigurer.AUTOCOMPLETE, AnalysisConfigurer.DEFAULT_SEARCH,
+                Set.of(Highlightable.DEFAULT), TermVector.DEFAULT);
+    }
+}
@@ -0,0 +1,136 @@
+package io.quarkus.search.app.hibernate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.quarkus.search.app.entity.I18nData;
+import io.quarkus.search.app.entity.Language;
+
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldReference;
+import org.hibernate.search.engine.backend.document.IndexObjectFieldReference;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaObjectField;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Highlightable;
+import org.hibernate.search.engine.backend.types.ObjectStructure;
+import org.hibernate.search.engine.backend.types.Searchable;
+import org.hibernate.search.mapper.pojo.bridge.PropertyBridge;
+import org.hibernate.search.mapper.pojo.bridge.binding.PropertyBindingContext;
+import org.hibernate.search.mapper.pojo.bridge.mapping.programmatic.PropertyBinder;
+import org.hibernate.search.mapper.pojo.bridge.runtime.PropertyBridgeWriteContext;
+
+/**
+ * Indexes the sections of a guide (see {@link InputProvider#sections()}) as nested documents,
+ * so that searches can highlight content per section, which is much cheaper than highlighting the full content,
+ * and link to the relevant section.
+ *
+ * @see io.quarkus.search.app.SearchService
+ */
+public class GuideSectionsBinder implements PropertyBinder {
+
+    public static final String SECTIONS = "sections";
+    public static final String ANCHOR = "anchor";
+    public static final String TITLE = "title";
+    public static final String CONTENT = "content";
+
+    public static String path(String field) {
+        return SECTIONS + "." + field;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // Unfortunately this API can't handle generics at the moment
+    @Override
+    public void bind(PropertyBindingContext context) {
+        context.dependencies().useRootOnly();
+        IndexSchemaObjectField sections = context.indexSchemaElement()
+                .objectField(SECTIONS, ObjectStructure.NESTED).multiValued();
+        // Aggregable, so that the anchor can be retrieved from doc values in inner hits.
+        IndexFieldReference<String> anchor = sections.field(ANCHOR, f -> f.asString()
+                .searchable(Searchable.NO).aggregable(Aggregable.YES))
+                .toReference();
+        Map<Language, IndexFieldReference<String>> titles = new EnumMap<>(Language.class);
+        Map<Language, IndexFieldReference<String>> contents = new EnumMap<>(Language.class);
+        for (Language language : Language.values()) {
+            // Sections are small enough that the unified highlighter can re-analyze them on the fly:
+            // no need for term vectors.
+            titles.put(language, sections.field(language.addSuffix(TITLE), f -> f.asString()
+                    .analyzer(AnalysisConfigurer.defaultAnalyzer(language))
+                    .searchAnalyzer(AnalysisConfigurer.defaultSearchAnalyzer(language))
+                    .highlightable(Set.of(Highlightable.UNIFIED)))
+                    .toReference());
+            contents.put(language, sections.field(language.addSuffix(CONTENT), f -> f.asString()
+                    .analyzer(AnalysisConfigurer.defaultAnalyzer(language))
+                    .searchAnalyzer(AnalysisConfigurer.defaultSearchAnalyzer(language))
+                    .highlightable(Set.of(Highlightable.UNIFIED)))
+                    .toReference());
+        }
+        context.bridge(I18nData.class, (PropertyBridge) new Bridge(sections.toReference(), anchor, titles, contents));
+    }
+
+    private static class Bridge implements PropertyBridge<I18nData<InputProvider>> {
+        private final IndexObjectFieldReference sections;
+        private final IndexFieldReference<String> anchor;
+        private final Map<Language, IndexFieldReference<String>> titles;
+        private final Map<Language, IndexFieldReference<String>> contents;
+
+        private Bridge(IndexObjectFieldReference sections, IndexFieldReference<String> anchor,
+                Map<Language, IndexFieldReference<String>> titles,
+                Map<Language, IndexFieldReference<String>> contents) {
+            this.sections = sections;
+            this.anchor = anchor;
+            this.titles = titles;
+            this.contents = contents;
+        }
+
+        @Override
+        public void write(DocumentElement target, I18nData<InputProvider> providers,
+                PropertyBridgeWriteContext context) {
+            if (providers == null) {
+                return;
+            }
+            // Guides from quarkus.io have content in a single language,
+            // but guides from quarkiverse.io use the same content for all languages:
+            // in that case we want a single nested document per section, with fields for all languages.
+            Map<InputProvider, List<Language>> languagesByProvider = new LinkedHashMap<>();
+            for (Language language : Language.values()) {
+                InputProvider provider = providers.get(language);
+                if (provider != null) {
+                    languagesByProvider.computeIfAbsent(provider, ignored -> new ArrayList<>()).add(language);
+                }
+            }
+            for (var entry : languagesByProvider.entrySet()) {
+                write(target, entry.getKey(), entry.getValue());
+            }
+        }
+
+        private void write(DocumentElement target, InputProvider provider, List<Language> languages) {
+            if (provider.sections().isEmpty()) {
+                return;
+            }
+            String sectionsContent;
+            try {
+                sectionsContent = provider.readSectionsContent();
+            } catch (RuntimeException | IOException e) {
+                throw new IllegalStateException("Failed to read sections of '" + provider + "' for indexing: "
+                        + e.getMessage(), e);
+            }
+            for (InputProvider.Section section : provider.sections()) {
+                DocumentElement element = target.addObject(sections);
+                if (section.anchor() != null) {
+                    element.addValue(anchor, section.anchor());
+                }
+                String text = sectionsContent.substring(section.start(), section.end());
+                for (Language language : languages) {
+                    if (section.title() != null) {
+                        element.addValue(titles.get(language), section.title());
+                    }
+                    element.addValue(contents.get(language), text);
+                }
+            }
+        }
+    }
+}
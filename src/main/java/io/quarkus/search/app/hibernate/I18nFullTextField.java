@@ -62,14 +62,26 @@ public @interface I18nFullTextField {
 
             String fieldNamePrefix = annotation.name().isEmpty() ? context.annotatedElement().name() : annotation.name();
 
+            map(mapping, fieldNamePrefix, valueBridgeRef, annotation.analyzerPrefix(), annotation.searchAnalyzerPrefix(),
+                    Set.of(annotation.highlightable()), annotation.termVector());
+        }
+
+        /**
+         * Same as the annotation, for use in programmatic mapping.
+         *
+         * @see GuideMappingConfigurer
+         */
+        static void map(PropertyMappingStep mapping, String fieldNamePrefix,
+                BeanReference<? extends ValueBridge<?, String>> valueBridgeRef, String analyzerPrefix,
+                String searchAnalyzerPrefix, Set<Highlightable> highlightable, TermVector termVector) {
             // Create one field per language, populated from the relevant data in I18nData
             for (Language language : Language.values()) {
                 mapping.fullTextField(language.addSuffix(fieldNamePrefix))
                         .valueBinder(new I18nDataBinder(language, valueBridgeRef))
-                        .termVector(annotation.termVector())
-                        .highlightable(Set.of(annotation.highlightable()))
-                        .analyzer(language.addSuffix(annotation.analyzerPrefix()))
-                        .searchAnalyzer(language.addSuffix(annotation.searchAnalyzerPrefix()));
+                        .termVector(termVector)
+                        .highlightable(highlightable)
+                        .analyzer(language.addSuffix(analyzerPrefix))
+                        .searchAnalyzer(language.addSuffix(searchAnalyzerPrefix));
             }
         }
 
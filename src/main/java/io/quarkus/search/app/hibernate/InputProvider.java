@@ -6,6 +6,11 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.quarkus.search.app.util.CloseableDirectory;
 
@@ -13,53 +18,192 @@ import io.quarkus.logging.Log;
 
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
 
-public record InputProvider(Path content) {
+/**
+ * @param content The path to the (encoded) text content of the guide.
+ * @param configProperties Configuration properties documented in the guide.
+ * @param sectionsContent The path to the (encoded) text content of the guide's sections, concatenated;
+ *        see {@link #sections()} for offsets. {@code null} if sections were not extracted.
+ * @param sections Sections of the guide, in order; empty if sections were not extracted.
+ */
+public record InputProvider(Path content, List<ConfigPropertyLink> configProperties,
+        Path sectionsContent, List<Section> sections) {
+
+    private static final Set<String> SECTION_HEADINGS = Set.of("h2", "h3", "h4");
 
     public InputStream open() throws IOException {
         return new FileInputStream(content.toFile());
     }
 
-    public static InputProvider from(Document document, CloseableDirectory temp, Object context) {
+    public String readSectionsContent() throws IOException {
+        return sectionsContent == null ? "" : Files.readString(sectionsContent, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param withSections Whether to extract sections, see {@link GuideSectionsBinder};
+     *        only useful when they're indexed (searching.sections.enabled).
+     */
+    public static InputProvider from(Document document, CloseableDirectory temp, Object context, boolean withSections) {
         Element body = document.body();
         // Content div has two grid columns: actual content and TOC. There's not much use of the TOC, we want the content only:
         Element content = body.selectFirst(".guide");
         String writableContent = null;
+        List<ConfigPropertyLink> configProperties = List.of();
+        List<Section> sections = new ArrayList<>();
+        String writableSectionsContent = null;
         if (content != null) {
             // Remove meaningless/duplicate content
             content.select(".toc, .tocwrapper, .relations")
                     .remove();
             writableContent = encode(content);
+            if (withSections) {
+                writableSectionsContent = encodeSections(content, sections);
+            }
+            configProperties = configProperties(content);
         } else {
             // we might be looking at a quarkiverse guide; in such case:
             content = body.selectFirst("article.doc");
             if (content != null) {
                 // Means we've found a guide content column. hence let's use that to have only real content:
                 writableContent = encode(content);
+                if (withSections) {
+                    writableSectionsContent = encodeSections(content, sections);
+                }
+                configProperties = configProperties(content);
             } else {
                 Log.warnf(
                         "Was unable to find the content section of a guide. Using whole document as text. %s Document starts with: %.10000s",
                         context, body.toString());
                 writableContent = encode(body);
+                if (withSections) {
+                    writableSectionsContent = encodeSections(body, sections);
+                }
             }
         }
 
         try {
             Path path = Files.writeString(Files.createTempFile(temp.path(), "preprocessed_", ""), writableContent,
                     StandardCharsets.UTF_8);
-            return new InputProvider(path);
+            Path sectionsPath = writableSectionsContent == null ? null
+                    : Files.writeString(Files.createTempFile(temp.path(), "sections_", ""), writableSectionsContent,
+                            StandardCharsets.UTF_8);
+            return new InputProvider(path, configProperties, sectionsPath, List.copyOf(sections));
         } catch (IOException e) {
             throw new IllegalStateException("Failed to store a preprocessed content for '" + content + "': " + e.getMessage(),
                     e);
         }
     }
 
+    /**
+     * Extracts configuration properties from configuration reference tables,
+     * so that they can be looked up by key without going through full-text search.
+     */
+    private static List<ConfigPropertyLink> configProperties(Element content) {
+        Map<String, ConfigPropertyLink> properties = new LinkedHashMap<>();
+        for (Element propertyPath : content.select("table.configuration-reference .property-path")) {
+            Element key = propertyPath.selectFirst("code");
+            if (key == null || key.text().isBlank()) {
+                continue;
+            }
+            String href = propertyPath.select("a[href]").attr("href");
+            String anchor = href.startsWith("#") ? href.substring(1) : null;
+            properties.putIfAbsent(key.text().strip(), new ConfigPropertyLink(key.text().strip(), anchor));
+        }
+        return List.copyOf(properties.values());
+    }
+
+    /**
+     * Splits content into sections, each starting at a heading with an anchor,
+     * so that sections can be searched and highlighted on their own (see {@link GuideSectionsBinder}).
+     * <p>
+     * Content before the first such heading (e.g. the preamble) is a section without an anchor.
+     *
+     * @param sections A list to add sections to.
+     * @return The encoded text of all sections, concatenated.
+     */
+    private static String encodeSections(Element content, List<Section> sections) {
+        StringBuilder result = new StringBuilder();
+        SectionBuilder[] current = { new SectionBuilder(null, null) };
+        content.filter(new NodeFilter() {
+            @Override
+            public FilterResult head(Node node, int depth) {
+                if (node instanceof Element element) {
+                    if (SECTION_HEADINGS.contains(element.normalName()) && !element.id().isEmpty()) {
+                        current[0].build(result, sections);
+                        current[0] = new SectionBuilder(element.id(), element.text());
+                        // The heading is the title of the section: don't repeat it in the section's text.
+                        return FilterResult.SKIP_CHILDREN;
+                    }
+                    if (element.isBlock() || "br".equals(element.normalName())) {
+                        current[0].text.append(' ');
+                    }
+                } else if (node instanceof TextNode textNode) {
+                    current[0].text.append(textNode.text());
+                }
+                return FilterResult.CONTINUE;
+            }
+
+            @Override
+            public FilterResult tail(Node node, int depth) {
+                return FilterResult.CONTINUE;
+            }
+        });
+        current[0].build(result, sections);
+        return result.toString();
+    }
+
+    private static final class SectionBuilder {
+        private final String anchor;
+        private final String title;
+        private final StringBuilder text = new StringBuilder();
+
+        private SectionBuilder(String anchor, String title) {
+            this.anchor = anchor;
+            this.title = title;
+        }
+
+        void build(StringBuilder result, List<Section> sections) {
+            String normalized = text.toString().replaceAll(" {2,}", " ").strip();
+            if (normalized.isEmpty()) {
+                return;
+            }
+            if (!result.isEmpty()) {
+                result.append(' ');
+            }
+            int start = result.length();
+            result.append(encode(normalized));
+            sections.add(new Section(anchor, title == null ? null : encode(title), start, result.length()));
+        }
+    }
+
+    /**
+     * @param anchor The anchor of the section in the guide, or {@code null} for content before the first heading.
+     * @param title The (encoded) title of the section, or {@code null} for content before the first heading.
+     * @param start The offset of the section's text in {@link #sectionsContent()}, inclusive.
+     * @param end The offset of the section's text in {@link #sectionsContent()}, exclusive.
+     */
+    public record Section(String anchor, String title, int start, int end) {
+    }
+
+    /**
+     * @param key The key of a configuration property, e.g. {@code quarkus.datasource.jdbc.url}.
+     * @param anchor The anchor of the configuration property in the guide, or {@code null}.
+     */
+    public record ConfigPropertyLink(String key, String anchor) {
+    }
+
     /**
      * We want to encode the guide content before indexing to make it safe to return on search results
      * and do not worry about encoding it on each search response.
      */
     private static String encode(Element element) {
-        String input = element.text();
+        return encode(element.text());
+    }
+
+    private static String encode(String input) {
         StringBuilder result = new StringBuilder(input.length());
 
         for (int i = 0; i < input.length(); i++) {
@@ -4,24 +4,47 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import io.quarkus.search.app.entity.Guide;
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
 import io.quarkus.search.app.quarkusio.QuarkusIO;
+import io.quarkus.search.app.util.AdaptiveLimiter;
+
+import io.opentelemetry.context.Context;
 
 public class QuarkusIOLoadingContext {
 
     private final Iterator<Guide> guides;
     private final Stream<Guide> guideStream;
+    private final Consumer<List<Guide>> loadedListener;
+    private final AdaptiveLimiter limiter;
+    private final Context tracingContext;
 
     public static QuarkusIOLoadingContext of(QuarkusIO quarkusIO, QuarkiverseIO quarkiverseIO) throws IOException {
-        return new QuarkusIOLoadingContext(Stream.concat(quarkusIO.guides(), quarkiverseIO.guides()));
+        return of(quarkusIO, quarkiverseIO, ignored -> {
+        }, new AdaptiveLimiter(Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param loadedListener A listener to notify of each batch of guides right before it gets indexed;
+     *        may be called concurrently from multiple threads.
+     * @param limiter A limiter for the number of batches being indexed concurrently.
+     */
+    public static QuarkusIOLoadingContext of(QuarkusIO quarkusIO, QuarkiverseIO quarkiverseIO,
+            Consumer<List<Guide>> loadedListener, AdaptiveLimiter limiter) throws IOException {
+        return new QuarkusIOLoadingContext(Stream.concat(quarkusIO.guides(), quarkiverseIO.guides()), loadedListener,
+                limiter);
     }
 
-    QuarkusIOLoadingContext(Stream<Guide> guides) {
+    QuarkusIOLoadingContext(Stream<Guide> guides, Consumer<List<Guide>> loadedListener, AdaptiveLimiter limiter) {
         this.guideStream = guides;
         this.guides = guides.iterator();
+        this.loadedListener = loadedListener;
+        this.limiter = limiter;
+        // Mass indexing happens in other threads: we need to propagate the tracing context explicitly.
+        this.tracingContext = Context.current();
     }
 
     public List<Guide> nextBatch(int batchSize) {
@@ -38,4 +61,16 @@ public class QuarkusIOLoadingContext {
         }
         return list;
     }
+
+    void loaded(List<Guide> batch) {
+        loadedListener.accept(batch);
+    }
+
+    Context tracingContext() {
+        return tracingContext;
+    }
+
+    AdaptiveLimiter limiter() {
+        return limiter;
+    }
 }
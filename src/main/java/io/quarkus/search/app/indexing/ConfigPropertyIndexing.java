@@ -0,0 +1,102 @@
+package io.quarkus.search.app.indexing;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.quarkus.search.app.entity.ConfigProperty;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.hibernate.InputProvider;
+import io.quarkus.search.app.indexing.reporting.FailureCollector;
+
+import io.quarkus.logging.Log;
+
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+/**
+ * Indexing of configuration properties extracted from guides (see {@link InputProvider#configProperties()}),
+ * i.e. a batch step that runs after mass indexing, aggregates properties per version and key,
+ * and indexes them in a separate index (see {@link ConfigProperty}).
+ * <p>
+ * Must run before the rollover is committed, so that guides and properties become visible to searches together.
+ */
+public class ConfigPropertyIndexing {
+
+    private final IndexingConfig.ConfigProperties config;
+    private final Map<Key, Set<URI>> guidesByProperty = new ConcurrentHashMap<>();
+
+    public ConfigPropertyIndexing(IndexingConfig.ConfigProperties config) {
+        this.config = config;
+    }
+
+    /**
+     * @param batch A batch of guides being indexed; may be called concurrently from multiple threads.
+     */
+    public void add(List<Guide> batch) {
+        if (!config.enabled()) {
+            return;
+        }
+        for (Guide guide : batch) {
+            if (guide.language != null && guide.language != Language.ENGLISH) {
+                // Translations document the same properties.
+                continue;
+            }
+            InputProvider provider = guide.htmlFullContentProvider.get(Language.ENGLISH);
+            if (provider == null) {
+                continue;
+            }
+            for (InputProvider.ConfigPropertyLink property : provider.configProperties()) {
+                URI link = property.anchor() == null ? guide.url : guide.url.resolve("#" + property.anchor());
+                guidesByProperty.computeIfAbsent(new Key(guide.quarkusVersion, property.key()),
+                        ignored -> ConcurrentHashMap.newKeySet())
+                        .add(link);
+            }
+        }
+    }
+
+    public void store(SearchMapping searchMapping, FailureCollector failureCollector) {
+        if (!config.enabled()) {
+            return;
+        }
+        Log.infof("Indexing %s configuration properties...", guidesByProperty.size());
+        try {
+            List<ConfigProperty> batch = new ArrayList<>(config.batchSize());
+            for (var entry : guidesByProperty.entrySet()) {
+                Key key = entry.getKey();
+                List<URI> guides = entry.getValue().stream().sorted(Comparator.comparing(URI::toString)).toList();
+                batch.add(new ConfigProperty(key.quarkusVersion(), key.key(), guides));
+                if (batch.size() >= config.batchSize()) {
+                    store(searchMapping, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                store(searchMapping, batch);
+            }
+            Log.info("Indexed configuration properties");
+        } catch (RuntimeException e) {
+            // Guides are still useful without configuration properties: don't fail indexing.
+            failureCollector.warning(FailureCollector.Stage.INDEXING,
+                    "Failed to index configuration properties: " + e.getMessage(), e);
+        } finally {
+            guidesByProperty.clear();
+        }
+    }
+
+    private static void store(SearchMapping searchMapping, List<ConfigProperty> batch) {
+        // Hibernate Search writes to write aliases, i.e. to the new indexes created by the rollover.
+        try (var session = searchMapping.createSession()) {
+            for (ConfigProperty property : batch) {
+                session.indexingPlan().add(property);
+            }
+        }
+    }
+
+    private record Key(String quarkusVersion, String key) {
+    }
+}
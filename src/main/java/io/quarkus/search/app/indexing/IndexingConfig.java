@@ -26,6 +26,12 @@ public interface IndexingConfig {
 
     RetryConfig retry();
 
+    RelatedGuides relatedGuides();
+
+    ConfigProperties configProperties();
+
+    Throttle throttle();
+
     interface OnStartup {
         @WithDefault("always")
         When when();
@@ -44,4 +50,78 @@ public interface IndexingConfig {
         String cron();
     }
 
+    interface RelatedGuides {
+        /**
+         * @return Whether to precompute related guides after mass indexing.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The maximum number of related guides to store for each guide.
+         */
+        @WithDefault("5")
+        int count();
+
+        /**
+         * @return The number of more-like-this queries to send to the search backend in a single request.
+         */
+        @WithDefault("50")
+        int batchSize();
+
+        /**
+         * @return The maximum number of terms selected from each guide to find related guides.
+         */
+        @WithDefault("25")
+        int maxQueryTerms();
+    }
+
+    interface ConfigProperties {
+        /**
+         * @return Whether to index configuration properties extracted from guides, for lookup by key.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The number of configuration properties to index in a single batch.
+         */
+        @WithDefault("1000")
+        int batchSize();
+    }
+
+    interface Throttle {
+        /**
+         * @return Whether to slow down mass indexing while search latency exceeds the objectives below.
+         * @see IndexingThrottle
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return The 95th percentile of search latency above which mass indexing gets slowed down.
+         */
+        @WithDefault("300ms")
+        Duration p95();
+
+        /**
+         * @return The 99th percentile of search latency above which mass indexing gets slowed down.
+         */
+        @WithDefault("1s")
+        Duration p99();
+
+        /**
+         * @return How often to check search latency and adjust the number of batches indexed concurrently.
+         */
+        @WithDefault("5s")
+        Duration checkInterval();
+
+        /**
+         * @return The minimum number of batches indexed concurrently, even when search latency is too high;
+         *         {@code 0} means mass indexing can be paused entirely.
+         */
+        @WithDefault("1")
+        int minConcurrency();
+    }
+
 }
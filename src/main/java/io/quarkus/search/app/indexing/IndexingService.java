@@ -1,16 +1,25 @@
 package io.quarkus.search.app.indexing;
 
-import static io.quarkus.search.app.util.MutinyUtils.runOnWorkerPool;
+import static io.quarkus.search.app.util.MutinyUtils.runOn;
 import static io.quarkus.search.app.util.MutinyUtils.schedule;
 import static io.quarkus.search.app.util.MutinyUtils.waitForeverFor;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -18,17 +27,28 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 
+import io.quarkus.search.app.QuarkusVersions;
 import io.quarkus.search.app.ReferenceService;
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.catalog.GuideCatalog;
+import io.quarkus.search.app.catalog.GuideTypeahead;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
 import io.quarkus.search.app.fetching.FetchingService;
+import io.quarkus.search.app.hibernate.GuideMappingConfigurer;
 import io.quarkus.search.app.hibernate.QuarkusIOLoadingContext;
 import io.quarkus.search.app.indexing.reporting.FailureCollector;
 import io.quarkus.search.app.indexing.reporting.StatusReporter;
 import io.quarkus.search.app.indexing.state.IndexingAlreadyInProgressException;
 import io.quarkus.search.app.indexing.state.IndexingState;
+import io.quarkus.search.app.local.LocalIndex;
 import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
 import io.quarkus.search.app.quarkusio.QuarkusIO;
 import io.quarkus.search.app.util.ExceptionUtils;
+import io.quarkus.search.app.util.Tracing;
 
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
@@ -39,14 +59,21 @@ import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
 import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
 import org.hibernate.search.util.common.impl.Throwables;
 
+import com.google.gson.JsonObject;
+
 import co.elastic.clients.transport.rest5_client.low_level.Request;
 import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.opentelemetry.api.trace.Span;
+import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.subscription.Cancellable;
 
 @ApplicationScoped
 public class IndexingService {
 
     private static final String REINDEX_ENDPOINT_PATH = "/reindex";
+    private static final String PROFILE_SEARCH_ENDPOINT_PATH = "/profile-search";
 
     @Inject
     SearchMapping searchMapping;
@@ -57,22 +84,73 @@ public class IndexingService {
     @Inject
     IndexingConfig indexingConfig;
 
+    @Inject
+    SearchingConfig searchingConfig;
+
     @Inject
     ReferenceService referenceService;
 
+    @Inject
+    SearchService searchService;
+
+    @Inject
+    LocalIndex localIndex;
+
+    @Inject
+    GuideCatalog guideCatalog;
+
+    @Inject
+    GuideTypeahead guideTypeahead;
+
+    @Inject
+    IndexingThrottle indexingThrottle;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     private IndexingState state;
+    // Indexing gets its own thread, so that it never takes worker threads away from searches.
+    // There is no queue: indexing requested while the thread is busy fails right away, see runIndexing.
+    private ExecutorService executor;
 
     @PostConstruct
     void init() {
         state = new IndexingState(StatusReporter.create(indexingConfig.reporting(), Clock.systemUTC()),
                 indexingConfig.retry(), this::scheduleIndexing);
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "indexing");
+                    thread.setDaemon(true);
+                    return thread;
+                }), "indexing");
     }
 
     void registerManagementRoutes(@Observes ManagementInterface mi) {
         mi.router().get(REINDEX_ENDPOINT_PATH)
-                .blockingHandler(rc -> {
+                .handler(rc -> runIndexing(() -> {
                     reindex(false);
-                    rc.end("Success");
+                    return null;
+                })
+                        .subscribe().with(ignored -> rc.end("Success"), rc::fail));
+        // Same parameters as /api/guides/search; only useful when searching with the search backend.
+        mi.router().get(PROFILE_SEARCH_ENDPOINT_PATH)
+                .blockingHandler(rc -> {
+                    var params = rc.queryParams();
+                    JsonObject profile;
+                    try {
+                        profile = searchService.profile(
+                                Objects.requireNonNullElse(params.get("version"), QuarkusVersions.LATEST),
+                                params.getAll("categories"),
+                                params.get("q"),
+                                params.get("origin"),
+                                Language.fromString(Objects.requireNonNullElse(params.get("language"), "en")));
+                    } catch (BadRequestException | IllegalArgumentException e) {
+                        rc.response().setStatusCode(400).end(e.getMessage());
+                        return;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rc.response().putHeader("Content-Type", "application/json").end(profile.toString());
                 });
     }
 
@@ -92,12 +170,13 @@ public class IndexingService {
                 () -> Log.infof("Reindexing on startup: search backend is not reachable yet, waiting..."))
                 .chain(() -> waitForeverFor(this::isSearchBackendReady, waitInterval,
                         () -> Log.infof("Reindexing on startup: search backend is not ready yet, waiting...")))
-                .chain(() -> runOnWorkerPool(() -> {
+                .chain(() -> runIndexing(() -> {
                     if (IndexingConfig.OnStartup.When.INDEXES_EMPTY.equals(indexingConfig.onStartup().when())) {
                         try (var session = searchMapping.createSession()) {
-                            long documentCount = session.search(Object.class)
-                                    .where(f -> f.matchAll())
-                                    .fetchTotalHitCount();
+                            long documentCount = localIndex.isExclusive() ? localIndex.documentCount()
+                                    : session.search(Guide.class)
+                                            .where(f -> f.matchAll())
+                                            .fetchTotalHitCount();
                             if (documentCount > 0L) {
                                 Log.infof("Not reindexing on startup:"
                                         + " index are present, reachable, and contain %s documents."
@@ -122,19 +201,45 @@ public class IndexingService {
     }
 
     @Scheduled(cron = "{indexing.scheduled.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
-    void indexOnTime() {
-        try {
-            Log.infof("Scheduled reindexing starting...");
-            reindex(true);
-            Log.infof("Scheduled reindexing finished.");
-        } catch (IndexingAlreadyInProgressException e) {
-            Log.infof("Indexing was already started by some other process.");
-        } catch (RuntimeException e) {
-            Log.errorf(e, "Failed to start scheduled reindexing: %s", e.getMessage());
-        }
+    Uni<Void> indexOnTime() {
+        // Don't block the scheduler's (worker) thread: we don't want to take it away from searches.
+        // Returning a Uni still lets the scheduler skip executions until this one completes.
+        return runIndexing(() -> {
+            try {
+                Log.infof("Scheduled reindexing starting...");
+                reindex(true);
+                Log.infof("Scheduled reindexing finished.");
+            } catch (IndexingAlreadyInProgressException e) {
+                Log.infof("Indexing was already started by some other process.");
+            } catch (RuntimeException e) {
+                Log.errorf(e, "Failed to start scheduled reindexing: %s", e.getMessage());
+            }
+            return null;
+        })
+                .onFailure(IndexingAlreadyInProgressException.class).recoverWithItem(() -> {
+                    Log.infof("Indexing was already started by some other process.");
+                    return null;
+                })
+                .replaceWithVoid();
+    }
+
+    // Queueing behind a running indexing would keep callers (e.g. HTTP requests) waiting until it's done,
+    // only to start another full indexing right after.
+    private <T> Uni<T> runIndexing(Supplier<T> action) {
+        return runOn(executor, action)
+                .onFailure(RejectedExecutionException.class)
+                .transform(ignored -> new IndexingAlreadyInProgressException());
+    }
+
+    boolean isIndexingInProgress() {
+        return state.isInProgress();
     }
 
     private boolean isSearchBackendReachable() {
+        if (localIndex.isExclusive()) {
+            // We don't use the search backend at all.
+            return true;
+        }
         try {
             searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
                     .performRequest(new Request("GET", "/"));
@@ -146,6 +251,9 @@ public class IndexingService {
     }
 
     private boolean isSearchBackendReady() {
+        if (localIndex.isExclusive()) {
+            return true;
+        }
         try {
             searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
                     .performRequest(new Request("GET", "/_cluster/health?wait_for_status=green&timeout=0s"));
@@ -159,6 +267,7 @@ public class IndexingService {
     @SuppressWarnings("BusyWait")
     @PreDestroy
     protected void waitForReindexingToFinish() throws InterruptedException {
+        executor.shutdown();
         if (!state.isInProgress()) {
             return;
         }
@@ -175,7 +284,7 @@ public class IndexingService {
     }
 
     private Cancellable scheduleIndexing(Duration delay) {
-        return schedule(delay, () -> runOnWorkerPool(() -> {
+        return schedule(delay, () -> runIndexing(() -> {
             reindex(true);
             return null;
         }))
@@ -189,14 +298,21 @@ public class IndexingService {
     @ActivateRequestContext
     protected void reindex(boolean allowRetry) {
         try (IndexingState.Attempt attempt = state.tryStart(allowRetry)) {
-            try {
-                createIndexesIfMissing();
-                indexAll(attempt);
-            } catch (RuntimeException e) {
-                attempt.critical(FailureCollector.Stage.INDEXING, "Indexing failed: " + e.getMessage(), e);
-                // Re-throw even though we've reported the failure, for the benefit of callers/logs
-                throw e;
-            }
+            Tracing.run("reindex", span -> {
+                span.setAttribute("reindex.allow_retry", allowRetry);
+                try {
+                    if (localIndex.isExclusive()) {
+                        indexAllLocally(attempt);
+                    } else {
+                        createIndexesIfMissing();
+                        indexAll(attempt);
+                    }
+                } catch (RuntimeException e) {
+                    attempt.critical(FailureCollector.Stage.INDEXING, "Indexing failed: " + e.getMessage(), e);
+                    // Re-throw even though we've reported the failure, for the benefit of callers/logs
+                    throw e;
+                }
+            });
         }
     }
 
@@ -231,33 +347,40 @@ public class IndexingService {
 
     private void indexAll(FailureCollector failureCollector) {
         Log.info("Indexing...");
-        try (Rollover rollover = Rollover.start(searchMapping)) {
+        try (Rollover rollover = Rollover.start(searchMapping,
+                (entity, mapping) -> GuideMappingConfigurer.customizeMapping(searchingConfig, entity, mapping));
+                LocalIndex.Writer localIndexWriter = localIndex.startWriting(failureCollector)) {
+            var relatedGuides = new RelatedGuidesComputation(indexingConfig.relatedGuides());
+            var configProperties = new ConfigPropertyIndexing(indexingConfig.configProperties());
+            var catalogBuilder = guideCatalog.startBuilding();
+            var typeaheadBuilder = guideTypeahead.startBuilding();
             try (QuarkusIO quarkusIO = fetchingService.fetchQuarkusIo(failureCollector);
                     QuarkiverseIO quarkiverseIO = fetchingService.fetchQuarkiverseIo(failureCollector)) {
                 Log.info("Indexing quarkus.io...");
-                var failFastFailureHandler = new FailFastMassIndexingFailureHandler();
-                var future = searchMapping.scope(Object.class).massIndexer()
-                        // no point in cleaning the data because of the rollover ^
-                        .purgeAllOnStart(false)
-                        // data is read-only after indexing -- we may as well have a single segment
-                        .mergeSegmentsOnFinish(true)
-                        .batchSizeToLoadObjects(indexingConfig.batchSize())
-                        .threadsToLoadObjects(indexingConfig.parallelism().orElse(6))
-                        .context(QuarkusIOLoadingContext.class, QuarkusIOLoadingContext.of(quarkusIO, quarkiverseIO))
-                        .failureHandler(failFastFailureHandler)
-                        .start()
-                        .toCompletableFuture();
-                failFastFailureHandler.init(future);
-                try {
-                    future.get(indexingConfig.timeout().toMillis(), TimeUnit.MILLISECONDS);
-                } catch (TimeoutException e) {
-                    future.cancel(true);
-                } catch (ExecutionException e) {
-                    throw Throwables.toRuntimeException(e.getCause());
-                }
+                int parallelism = indexingConfig.parallelism().orElse(6);
+                Tracing.run("indexing.mass-indexing", span -> {
+                    try (IndexingThrottle.Handle throttle = indexingThrottle.start(parallelism)) {
+                        massIndex(quarkusIO, quarkiverseIO, parallelism, throttle, batch -> {
+                            localIndexWriter.add(batch);
+                            relatedGuides.add(batch);
+                            configProperties.add(batch);
+                            catalogBuilder.add(batch);
+                            typeaheadBuilder.add(batch);
+                        });
+                    }
+                });
             }
 
+            // Before committing, so that related guides and configuration properties
+            // are visible as soon as guides are.
+            Tracing.run("indexing.related-guides", span -> relatedGuides.computeAndStore(searchMapping, failureCollector));
+            Tracing.run("indexing.config-properties", span -> configProperties.store(searchMapping, failureCollector));
+
             rollover.commit();
+            // Only after the search backend, so that both hold the same data if committing to the search backend fails.
+            localIndexWriter.commit();
+            catalogBuilder.commit();
+            typeaheadBuilder.commit();
             referenceService.invalidateCaches();
             Log.info("Indexing success");
         } catch (RuntimeException | IOException e) {
@@ -268,4 +391,63 @@ public class IndexingService {
         }
     }
 
+    private void massIndex(QuarkusIO quarkusIO, QuarkiverseIO quarkiverseIO, int parallelism,
+            IndexingThrottle.Handle throttle, Consumer<List<Guide>> loadedListener) throws InterruptedException {
+        QuarkusIOLoadingContext context;
+        try {
+            // The loading context captures the current span, so that batch spans are attached to it.
+            context = QuarkusIOLoadingContext.of(quarkusIO, quarkiverseIO, loadedListener, throttle.limiter());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var failFastFailureHandler = new FailFastMassIndexingFailureHandler();
+        var future = searchMapping.scope(Guide.class).massIndexer()
+                // no point in cleaning the data because of the rollover ^
+                .purgeAllOnStart(false)
+                // data is read-only after indexing -- we may as well have a single segment
+                .mergeSegmentsOnFinish(true)
+                .batchSizeToLoadObjects(indexingConfig.batchSize())
+                .threadsToLoadObjects(parallelism)
+                .context(QuarkusIOLoadingContext.class, context)
+                .failureHandler(failFastFailureHandler)
+                .start()
+                .toCompletableFuture();
+        failFastFailureHandler.init(future);
+        try {
+            future.get(indexingConfig.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Span.current().addEvent("timeout");
+            future.cancel(true);
+        } catch (ExecutionException e) {
+            throw Throwables.toRuntimeException(e.getCause());
+        }
+    }
+
+    // When the search backend is not used at all, see LocalIndexConfig.ReadMode#EXCLUSIVE.
+    private void indexAllLocally(FailureCollector failureCollector) {
+        Log.info("Indexing to the local index only...");
+        try (LocalIndex.Writer localIndexWriter = localIndex.startWriting(failureCollector);
+                QuarkusIO quarkusIO = fetchingService.fetchQuarkusIo(failureCollector);
+                QuarkiverseIO quarkiverseIO = fetchingService.fetchQuarkiverseIo(failureCollector)) {
+            var catalogBuilder = guideCatalog.startBuilding();
+            var typeaheadBuilder = guideTypeahead.startBuilding();
+            Tracing.run("indexing.local-indexing", span -> {
+                var context = QuarkusIOLoadingContext.of(quarkusIO, quarkiverseIO);
+                List<Guide> batch;
+                while (!(batch = context.nextBatch(indexingConfig.batchSize())).isEmpty()) {
+                    localIndexWriter.add(batch);
+                    catalogBuilder.add(batch);
+                    typeaheadBuilder.add(batch);
+                }
+            });
+            localIndexWriter.commit();
+            catalogBuilder.commit();
+            typeaheadBuilder.commit();
+            referenceService.invalidateCaches();
+            Log.info("Indexing success");
+        } catch (RuntimeException | IOException e) {
+            throw new IllegalStateException("Failed to index data: " + e.getMessage(), e);
+        }
+    }
+
 }
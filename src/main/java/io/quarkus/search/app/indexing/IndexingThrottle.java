@@ -0,0 +1,128 @@
+package io.quarkus.search.app.indexing;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.util.AdaptiveLimiter;
+
+import io.quarkus.logging.Log;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValuePercentile;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+/**
+ * Adjusts how many batches mass indexing processes concurrently based on recent search latency,
+ * so that indexing doesn't degrade searches by competing with them for search backend resources.
+ * <p>
+ * Follows an additive increase/multiplicative decrease scheme:
+ * concurrency is halved whenever search latency exceeds the objectives,
+ * and raised back progressively while it doesn't.
+ */
+@ApplicationScoped
+public class IndexingThrottle {
+
+    private static final String LIMIT_METRIC_NAME = "indexing.throttle.limit";
+
+    @Inject
+    IndexingConfig indexingConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private volatile AdaptiveLimiter current;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder(LIMIT_METRIC_NAME, this, throttle -> {
+            AdaptiveLimiter limiter = throttle.current;
+            return limiter == null ? Double.NaN : limiter.limit();
+        })
+                .description("The number of batches mass indexing is currently allowed to process concurrently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of batches to process concurrently.
+     * @return A handle to pass batches through, to close when mass indexing is over.
+     */
+    public Handle start(int maxConcurrency) {
+        var config = indexingConfig.throttle();
+        AdaptiveLimiter limiter = new AdaptiveLimiter(maxConcurrency);
+        if (!config.enabled()) {
+            return new Handle(limiter, null);
+        }
+        current = limiter;
+        Cancellable ticks = Multi.createFrom().ticks().every(config.checkInterval())
+                .subscribe().with(ignored -> adjust(limiter),
+                        t -> Log.errorf(t, "Indexing throttle stopped: %s", t.getMessage()));
+        return new Handle(limiter, ticks);
+    }
+
+    private void adjust(AdaptiveLimiter limiter) {
+        var config = indexingConfig.throttle();
+        Timer timer = meterRegistry.find(SearchService.LATENCY_METRIC_NAME).timer();
+        if (timer == null) {
+            // No search yet.
+            return;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double p95 = percentileMillis(snapshot, 0.95);
+        double p99 = percentileMillis(snapshot, 0.99);
+        int limit = limiter.limit();
+        int newLimit;
+        if (p95 > config.p95().toMillis() || p99 > config.p99().toMillis()) {
+            newLimit = Math.max(config.minConcurrency(), limit / 2);
+        } else {
+            newLimit = Math.min(limiter.maxLimit(), limit + Math.max(1, limiter.maxLimit() / 10));
+        }
+        if (newLimit != limit) {
+            Log.infof("Search latency is p95=%.0fms, p99=%.0fms: %s mass indexing to %s concurrent batches (was %s)",
+                    p95, p99, newLimit < limit ? "slowing down" : "speeding up", newLimit, limit);
+            limiter.limit(newLimit);
+        }
+    }
+
+    private static double percentileMillis(HistogramSnapshot snapshot, double percentile) {
+        for (ValuePercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0.0;
+    }
+
+    public final class Handle implements AutoCloseable {
+        private final AdaptiveLimiter limiter;
+        private final Cancellable ticks;
+
+        private Handle(AdaptiveLimiter limiter, Cancellable ticks) {
+            this.limiter = limiter;
+            this.ticks = ticks;
+        }
+
+        public AdaptiveLimiter limiter() {
+            return limiter;
+        }
+
+        @Override
+        public void close() {
+            if (ticks != null) {
+                ticks.cancel();
+            }
+            // Don't leave batches waiting, e.g. if mass indexing was cancelled.
+            limiter.limit(limiter.maxLimit());
+            if (current == limiter) {
+                current = null;
+            }
+        }
+    }
+}
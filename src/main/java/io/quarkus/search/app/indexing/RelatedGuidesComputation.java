@@ -0,0 +1,196 @@
+package io.quarkus.search.app.indexing;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.entity.QuarkusVersionAndLanguageRoutingBinder;
+import io.quarkus.search.app.entity.RelatedGuides;
+import io.quarkus.search.app.indexing.reporting.FailureCollector;
+
+import io.quarkus.logging.Log;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+import org.hibernate.search.mapper.pojo.work.IndexingPlanSynchronizationStrategy;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+
+/**
+ * Precomputation of related guides,
+ * i.e. a batch step that runs a more-like-this query for every guide after mass indexing,
+ * and stores the result in a separate index (see {@link RelatedGuides}),
+ * so that related guides can be served with a cheap lookup instead of a more-like-this query per page view.
+ * <p>
+ * Must run before the rollover is committed, against write aliases,
+ * so that guides and related guides become visible to searches together.
+ */
+public class RelatedGuidesComputation {
+
+    private final IndexingConfig.RelatedGuides config;
+    private final Queue<GuideKey> guides = new ConcurrentLinkedQueue<>();
+
+    public RelatedGuidesComputation(IndexingConfig.RelatedGuides config) {
+        this.config = config;
+    }
+
+    /**
+     * @param batch A batch of guides being indexed; may be called concurrently from multiple threads.
+     */
+    public void add(List<Guide> batch) {
+        if (!config.enabled()) {
+            return;
+        }
+        for (Guide guide : batch) {
+            if (guide.language == null) {
+                // Quarkiverse guides are not versioned nor translated: we only compute related guides for quarkus.io.
+                // They can still be related to quarkus.io guides, though.
+                continue;
+            }
+            guides.add(new GuideKey(guide.url, QuarkusVersionAndLanguageRoutingBinder.routingKey(guide),
+                    guide.quarkusVersion, guide.language));
+        }
+    }
+
+    public void computeAndStore(SearchMapping searchMapping, FailureCollector failureCollector) {
+        if (!config.enabled()) {
+            return;
+        }
+        Log.infof("Computing related guides for %s guides...", guides.size());
+        var client = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class);
+        var gson = new Gson();
+        String writeName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().writeName();
+        try {
+            // Make sure more-like-this queries see every guide.
+            refresh(client, writeName);
+            List<GuideKey> batch = new ArrayList<>(config.batchSize());
+            GuideKey guide;
+            while ((guide = guides.poll()) != null) {
+                batch.add(guide);
+                if (batch.size() >= config.batchSize()) {
+                    computeAndStore(searchMapping, client, gson, writeName, batch, failureCollector);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                computeAndStore(searchMapping, client, gson, writeName, batch, failureCollector);
+            }
+            Log.info("Computed related guides");
+        } catch (RuntimeException | IOException e) {
+            // Guides are still useful without related guides: don't fail indexing.
+            failureCollector.warning(FailureCollector.Stage.INDEXING,
+                    "Failed to compute related guides: " + e.getMessage(), e);
+        }
+    }
+
+    private void computeAndStore(SearchMapping searchMapping, Rest5Client client, Gson gson, String writeName,
+            List<GuideKey> batch, FailureCollector failureCollector) throws IOException {
+        StringBuilder searches = new StringBuilder();
+        for (GuideKey guide : batch) {
+            List<String> searchKeys = QuarkusVersionAndLanguageRoutingBinder.searchKeys(guide.version(), guide.language());
+            JsonObject header = new JsonObject();
+            header.addProperty("index", writeName);
+            header.addProperty("routing", String.join(",", searchKeys));
+            searches.append(gson.toJson(header)).append('\n')
+                    .append(gson.toJson(moreLikeThis(writeName, guide, searchKeys))).append('\n');
+        }
+        var request = new Request("POST", "/_msearch");
+        request.setJsonEntity(searches.toString());
+        JsonArray responses = send(client, gson, request).getAsJsonArray("responses");
+
+        // Hibernate Search writes to write aliases, i.e. to the new indexes created by the rollover.
+        try (var session = searchMapping.createSessionWithOptions()
+                .indexingPlanSynchronizationStrategy(IndexingPlanSynchronizationStrategy.sync())
+                .build()) {
+            for (int i = 0; i < batch.size(); i++) {
+                GuideKey guide = batch.get(i);
+                JsonObject response = responses.get(i).getAsJsonObject();
+                if (response.has("error")) {
+                    failureCollector.warning(FailureCollector.Stage.INDEXING,
+                            "Failed to compute related guides for %s: %s".formatted(guide.url(), response.get("error")));
+                    continue;
+                }
+                List<URI> related = new ArrayList<>();
+                for (JsonElement hit : response.getAsJsonObject("hits").getAsJsonArray("hits")) {
+                    related.add(URI.create(hit.getAsJsonObject().get("_id").getAsString()));
+                }
+                session.indexingPlan().add(new RelatedGuides(guide.url(), guide.language(), related));
+            }
+        }
+    }
+
+    private JsonObject moreLikeThis(String writeName, GuideKey guide, List<String> searchKeys) {
+        JsonObject like = new JsonObject();
+        like.addProperty("_index", writeName);
+        like.addProperty("_id", guide.url().toString());
+        like.addProperty("routing", guide.routingKey());
+        JsonArray likes = new JsonArray();
+        likes.add(like);
+
+        JsonArray fields = new JsonArray();
+        // Term vectors are stored for these fields with the fast vector highlighter, which makes more-like-this cheap;
+        // otherwise, the text of the guide is re-analyzed (see SearchingConfig.Highlighting).
+        fields.add(guide.language().addSuffix("title"));
+        fields.add(guide.language().addSuffix("summary"));
+        fields.add(guide.language().addSuffix("fullContent"));
+
+        JsonObject moreLikeThis = new JsonObject();
+        moreLikeThis.add("fields", fields);
+        moreLikeThis.add("like", likes);
+        moreLikeThis.addProperty("max_query_terms", config.maxQueryTerms());
+        // Ignore terms that are specific to the guide (e.g. typos) or that are everywhere (e.g. "quarkus").
+        moreLikeThis.addProperty("min_doc_freq", 2);
+        moreLikeThis.addProperty("max_doc_freq_pct", 50);
+
+        // Same as routing in SearchService: only guides of the same version and language, or Quarkiverse guides.
+        JsonArray routing = new JsonArray();
+        searchKeys.forEach(routing::add);
+        JsonObject terms = new JsonObject();
+        terms.add("_routing", routing);
+        JsonObject filter = new JsonObject();
+        filter.add("terms", terms);
+
+        JsonObject bool = new JsonObject();
+        JsonObject must = new JsonObject();
+        must.add("more_like_this", moreLikeThis);
+        bool.add("must", must);
+        bool.add("filter", filter);
+        JsonObject query = new JsonObject();
+        query.add("bool", bool);
+
+        JsonObject search = new JsonObject();
+        search.addProperty("size", config.count());
+        search.addProperty("_source", false);
+        search.add("query", query);
+        return search;
+    }
+
+    private static void refresh(Rest5Client client, String writeName) throws IOException {
+        client.performRequest(new Request("POST", "/" + writeName + "/_refresh"));
+    }
+
+    private static JsonObject send(Rest5Client client, Gson gson, Request request) throws IOException {
+        var response = client.performRequest(request);
+        try (var input = response.getEntity().getContent()) {
+            return gson.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8), JsonObject.class);
+        }
+    }
+
+    private record GuideKey(URI url, String routingKey, String version, Language language) {
+    }
+}
@@ -13,9 +13,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import io.quarkus.search.app.jfr.RolloverCommitEvent;
+import io.quarkus.search.app.util.Tracing;
+
 import io.quarkus.logging.Log;
 
 import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
@@ -49,6 +53,26 @@ public class Rollover implements Closeable {
      *         and which on close will do nothing if committed, or will roll back the rollover otherwise.
      */
     public static Rollover start(SearchMapping searchMapping) {
+        return start(searchMapping, (entity, mapping) -> {
+        });
+    }
+
+    /**
+     * Starts a rollover.
+     *
+     * @param searchMapping The Hibernate Search mapping.
+     * @param mappingCustomizer Alters the mapping exported by Hibernate Search for an indexed entity,
+     *        before the corresponding new index is created.
+     * @return A closeable object allowing to commit a rollover,
+     *         and which on close will do nothing if committed, or will roll back the rollover otherwise.
+     */
+    public static Rollover start(SearchMapping searchMapping,
+            BiConsumer<SearchIndexedEntity<?>, JsonObject> mappingCustomizer) {
+        return Tracing.trace("rollover.start", span -> doStart(searchMapping, mappingCustomizer));
+    }
+
+    private static Rollover doStart(SearchMapping searchMapping,
+            BiConsumer<SearchIndexedEntity<?>, JsonObject> mappingCustomizer) {
         Log.info("Starting index rollover");
 
         var mappings = new HashMap<String, JsonObject>();
@@ -65,8 +89,10 @@ public class Rollover implements Closeable {
         try {
             for (SearchIndexedEntity<?> entity : searchMapping.allIndexedEntities()) {
                 var index = entity.indexManager().unwrap(ElasticsearchIndexManager.class).descriptor();
-                successfulRollovers.add(rollover(client, gson, index,
-                        mappings.get(index.hibernateSearchName()), settings.get(index.hibernateSearchName())));
+                var mapping = mappings.get(index.hibernateSearchName());
+                mappingCustomizer.accept(entity, mapping);
+                successfulRollovers.add(rollover(client, gson, index, mapping,
+                        settings.get(index.hibernateSearchName())));
             }
         } catch (RuntimeException | IOException e) {
             try {
@@ -122,12 +148,22 @@ public class Rollover implements Closeable {
     }
 
     public void commit() {
-        commitAll(client, gson, indexRolloverResults);
+        RolloverCommitEvent event = new RolloverCommitEvent();
+        event.begin();
+        Tracing.run("rollover.commit", span -> {
+            span.setAttribute("rollover.index_count", indexRolloverResults.size());
+            commitAll(client, gson, indexRolloverResults);
+        });
         done = true;
+        event.end();
+        if (event.shouldCommit()) {
+            event.indexCount = indexRolloverResults.size();
+            event.commit();
+        }
     }
 
     public void rollback() {
-        rollbackAll(client, gson, indexRolloverResults);
+        Tracing.run("rollover.rollback", span -> rollbackAll(client, gson, indexRolloverResults));
         done = true;
     }
 
@@ -1,7 +1,7 @@
 package io.quarkus.search.app.indexing.state;
 
 public class IndexingAlreadyInProgressException extends RuntimeException {
-    IndexingAlreadyInProgressException() {
+    public IndexingAlreadyInProgressException() {
         super("Indexing is already in progress and cannot be started at this moment");
     }
 }
@@ -0,0 +1,56 @@
+package io.quarkus.search.app.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import io.quarkus.search.app.hibernate.InputProvider;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing and preprocessing the HTML content of a single guide.
+ */
+@Name(GuideParsingEvent.NAME)
+@Label("Guide Parsing")
+@Category({ "Quarkus Search", "Indexing" })
+@Description("Parsing and preprocessing the HTML content of a guide")
+@StackTrace(false)
+public class GuideParsingEvent extends Event {
+    public static final String NAME = "io.quarkus.search.GuideParsing";
+
+    @Label("Origin")
+    public String origin;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Preprocessed Content Size")
+    @DataAmount(DataAmount.BYTES)
+    public long contentSize;
+
+    @Label("Configuration Property Count")
+    public int configPropertyCount;
+
+    public void end(String origin, String path, InputProvider inputProvider) {
+        end();
+        if (shouldCommit()) {
+            this.origin = origin;
+            this.path = path;
+            if (inputProvider != null) {
+                configPropertyCount = inputProvider.configProperties().size();
+                try {
+                    contentSize = Files.size(inputProvider.content());
+                } catch (IOException e) {
+                    // Leave the size unset: this is just for diagnostics.
+                }
+            }
+            commit();
+        }
+    }
+}
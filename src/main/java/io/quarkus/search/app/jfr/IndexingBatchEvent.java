@@ -0,0 +1,44 @@
+package io.quarkus.search.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading (fetching then parsing) or indexing a batch of guides during mass indexing.
+ */
+@Name(IndexingBatchEvent.NAME)
+@Label("Indexing Batch")
+@Category({ "Quarkus Search", "Indexing" })
+@Description("Loading or indexing a batch of guides during mass indexing")
+@StackTrace(false)
+public class IndexingBatchEvent extends Event {
+    public static final String NAME = "io.quarkus.search.IndexingBatch";
+
+    public static final String PHASE_LOAD = "load";
+    public static final String PHASE_INDEX = "index";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Guide Count")
+    public int guideCount;
+
+    public static IndexingBatchEvent begin(String phase) {
+        IndexingBatchEvent event = new IndexingBatchEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void end(int guideCount) {
+        end();
+        if (shouldCommit()) {
+            this.guideCount = guideCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.quarkus.search.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Committing an index rollover, i.e. switching read aliases to the new indexes.
+ */
+@Name(RolloverCommitEvent.NAME)
+@Label("Rollover Commit")
+@Category({ "Quarkus Search", "Indexing" })
+@Description("Switching read aliases to newly built indexes")
+@StackTrace(false)
+public class RolloverCommitEvent extends Event {
+    public static final String NAME = "io.quarkus.search.RolloverCommit";
+
+    @Label("Index Count")
+    public int indexCount;
+}
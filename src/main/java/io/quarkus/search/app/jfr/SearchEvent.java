@@ -0,0 +1,81 @@
+package io.quarkus.search.app.jfr;
+
+import java.util.List;
+
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Language;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single phase of a search request: serving it from the catalog, the local index,
+ * or the search backend, possibly followed by a retry with a suggestion.
+ */
+@Name(SearchEvent.NAME)
+@Label("Search")
+@Category({ "Quarkus Search", "Search" })
+@Description("A phase of a search request")
+@StackTrace(false)
+public class SearchEvent extends Event {
+    public static final String NAME = "io.quarkus.search.Search";
+
+    public static final String PHASE_CATALOG = "catalog";
+    public static final String PHASE_LOCAL_INDEX = "local-index";
+    public static final String PHASE_SEARCH_BACKEND = "search-backend";
+    public static final String PHASE_SUGGESTION_RETRY = "suggestion-retry";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Version")
+    public String version;
+
+    @Label("Language")
+    public String language;
+
+    @Label("Query Length")
+    public int queryLength;
+
+    @Label("Category Count")
+    public int categoryCount;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Hit Count")
+    public int hitCount;
+
+    @Label("Total Hit Count")
+    public long totalHitCount;
+
+    public static SearchEvent begin(String phase, String version, Language language, List<String> categories,
+            String q, int page) {
+        SearchEvent event = new SearchEvent();
+        event.phase = phase;
+        event.version = version;
+        event.language = language.code;
+        event.queryLength = q == null ? 0 : q.length();
+        event.categoryCount = categories == null ? 0 : categories.size();
+        event.page = page;
+        event.begin();
+        return event;
+    }
+
+    public void end(SearchResult<?> result) {
+        end(result.hits().size(), result.total().lowerBound());
+    }
+
+    public void end(int hitCount, long totalHitCount) {
+        end();
+        if (shouldCommit()) {
+            this.hitCount = hitCount;
+            this.totalHitCount = totalHitCount;
+            commit();
+        }
+    }
+}
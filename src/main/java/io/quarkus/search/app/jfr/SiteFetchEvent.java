@@ -0,0 +1,39 @@
+package io.quarkus.search.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fetching the git repository of a single site (quarkus.io or one of its localized versions).
+ */
+@Name(SiteFetchEvent.NAME)
+@Label("Site Fetch")
+@Category({ "Quarkus Search", "Fetching" })
+@Description("Cloning, updating or unzipping the git repository of a site")
+@StackTrace(false)
+public class SiteFetchEvent extends Event {
+    public static final String NAME = "io.quarkus.search.SiteFetch";
+
+    public static final String OPERATION_CLONE = "clone";
+    public static final String OPERATION_UPDATE = "update";
+    public static final String OPERATION_UNZIP = "unzip";
+    public static final String OPERATION_OPEN = "open";
+
+    @Label("Site")
+    public String site;
+
+    @Label("Git URI")
+    public String gitUri;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Size On Disk")
+    @DataAmount(DataAmount.BYTES)
+    public long sizeOnDisk;
+}
@@ -0,0 +1,908 @@
+package io.quarkus.search.app.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.dto.GuideExport;
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.I18nData;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.entity.QuarkusVersionAndLanguageRoutingBinder;
+import io.quarkus.search.app.hibernate.InputProvider;
+import io.quarkus.search.app.indexing.reporting.FailureCollector;
+import io.quarkus.search.app.query.PartialWord;
+import io.quarkus.search.app.query.QueryGuard;
+import io.quarkus.search.app.quarkiverseio.QuarkiverseIO;
+import io.quarkus.search.app.quarkusio.QuarkusIO;
+
+import io.quarkus.logging.Log;
+
+import org.apache.commons.io.file.PathUtils;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.shingle.ShingleFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.spell.DirectSpellChecker;
+import org.apache.lucene.search.spell.SuggestMode;
+import org.apache.lucene.search.spell.SuggestWord;
+import org.apache.lucene.search.uhighlight.LengthGoalBreakIterator;
+import org.apache.lucene.search.uhighlight.Passage;
+import org.apache.lucene.search.uhighlight.PassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.search.uhighlight.WholeBreakIterator;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * An embedded Lucene index holding the same guides as the search backend,
+ * analyzed the same way (see {@link LocalIndexAnalysis}).
+ * <p>
+ * The local index is populated during indexing, alongside the search backend,
+ * and can serve searches either when the search backend is unhealthy or instead of it,
+ * depending on {@link LocalIndexConfig#readMode()}.
+ * <p>
+ * Each reindexing writes a new "generation" of the index to a separate directory,
+ * which replaces the previous one atomically on commit;
+ * the previous generation gets deleted as soon as searches running against it are done.
+ */
+@ApplicationScoped
+public class LocalIndex {
+
+    static final List<String> TEXT_FIELDS = List.of("title", "summary", "keywords", "fullContent", "topics");
+    static final String AUTOCOMPLETE_SUFFIX = "_autocomplete";
+    static final String SUGGESTION_FIELD = "fullContent_suggestion";
+
+    private static final String URL = "url";
+    private static final String ROUTING = "routing";
+    private static final String QUARKUS_VERSION = "quarkusVersion";
+    private static final String PATH = "path";
+    private static final String TYPE = "type";
+    private static final String STATUS = "status";
+    private static final String ORIGIN = "origin";
+    private static final String CATEGORIES = "categories";
+    private static final Set<String> HIT_FIELDS = Set.of(URL, TYPE, STATUS, ORIGIN);
+
+    private static final String GENERATION_PREFIX = "generation-";
+    // Same as index.highlight.max_analyzed_offset in settings-template.json
+    private static final int HIGHLIGHT_MAX_ANALYZED_OFFSET = 5_000_000;
+    // Fields highlighted in toHits: the highlighter extracts snippets from their stored value.
+    private static final Set<String> HIGHLIGHTED_FIELDS = Set.of("title", "summary", "fullContent");
+    private static final FieldType HIGHLIGHTABLE_TEXT;
+
+    static {
+        HIGHLIGHTABLE_TEXT = new FieldType(TextField.TYPE_STORED);
+        // Offsets in postings make highlighting cheap, much like term vectors in the search backend.
+        HIGHLIGHTABLE_TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        HIGHLIGHTABLE_TEXT.freeze();
+    }
+
+    @Inject
+    LocalIndexConfig config;
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    private final LocalIndexAnalysis analysis = new LocalIndexAnalysis();
+
+    private volatile Generation current;
+
+    @PostConstruct
+    void init() {
+        if (!config.enabled()) {
+            return;
+        }
+        try {
+            Path root = root();
+            Files.createDirectories(root);
+            List<Path> generations;
+            try (Stream<Path> children = Files.list(root)) {
+                generations = children.filter(path -> path.getFileName().toString().startsWith(GENERATION_PREFIX))
+                        .sorted(Comparator.reverseOrder())
+                        .toList();
+            }
+            // Reuse the most recent generation that was committed, and get rid of the others.
+            for (Path generation : generations) {
+                if (current == null) {
+                    try {
+                        current = Generation.open(generation);
+                        Log.infof("Opened local index generation %s", generation);
+                        continue;
+                    } catch (IOException | RuntimeException e) {
+                        Log.infof("Ignoring unusable local index generation %s: %s", generation, e.getMessage());
+                    }
+                }
+                delete(generation);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.warnf(e, "Failed to open the local index: %s", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        Generation generation = current;
+        current = null;
+        if (generation != null) {
+            generation.reader.decRef();
+        }
+    }
+
+    /**
+     * @return Whether searches should go to the local index rather than to the search backend.
+     */
+    public boolean isPrimary() {
+        return switch (config.readMode()) {
+            case EXCLUSIVE -> config.enabled();
+            case PRIMARY -> isAvailable();
+            case NONE, FALLBACK -> false;
+        };
+    }
+
+    /**
+     * @return Whether the search backend must not be used at all, for indexing or searching.
+     */
+    public boolean isExclusive() {
+        return config.enabled() && config.readMode() == LocalIndexConfig.ReadMode.EXCLUSIVE;
+    }
+
+    /**
+     * @return Whether searches can go to the local index while the search backend is unhealthy.
+     */
+    public boolean isFallback() {
+        return config.readMode() != LocalIndexConfig.ReadMode.NONE && isAvailable();
+    }
+
+    private boolean isAvailable() {
+        return config.enabled() && current != null;
+    }
+
+    /**
+     * @return The number of documents in the local index, or {@code 0} if it hasn't been populated yet.
+     */
+    public long documentCount() {
+        Generation generation = acquire();
+        if (generation == null) {
+            return 0L;
+        }
+        try {
+            return generation.reader.numDocs();
+        } finally {
+            release(generation);
+        }
+    }
+
+    /**
+     * @param field The name of a keyword field, e.g. {@code quarkusVersion} or {@code categories}.
+     * @return All values of this field in the local index, in no particular order.
+     */
+    public List<String> allValues(String field) {
+        Generation generation = acquire();
+        if (generation == null) {
+            return List.of();
+        }
+        try {
+            Terms terms = MultiTerms.getTerms(generation.reader, field);
+            if (terms == null) {
+                return List.of();
+            }
+            List<String> values = new ArrayList<>();
+            TermsEnum termsEnum = terms.iterator();
+            for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next()) {
+                values.add(term.utf8ToString());
+            }
+            return values;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list values of field '" + field + "' in the local index: "
+                    + e.getMessage(), e);
+        } finally {
+            release(generation);
+        }
+    }
+
+    /**
+     * @param failureCollector A collector for failures; failures to write to the local index
+     *         are reported as warnings, as they don't affect the search backend,
+     *         unless the local index is {@link #isExclusive() exclusive}.
+     * @return A writer for a new generation of the local index, which must be closed after use.
+     *         If the local index is disabled, the writer will simply ignore all calls.
+     */
+    public Writer startWriting(FailureCollector failureCollector) {
+        FailureCollector.Level failureLevel = isExclusive() ? FailureCollector.Level.CRITICAL
+                : FailureCollector.Level.WARNING;
+        if (!config.enabled()) {
+            return new Writer(failureCollector, failureLevel, null, null);
+        }
+        Path path = root().resolve(GENERATION_PREFIX + "%013d".formatted(System.currentTimeMillis()));
+        IndexWriter indexWriter = null;
+        try {
+            Directory directory = FSDirectory.open(path);
+            try {
+                indexWriter = new IndexWriter(directory, new IndexWriterConfig(analysis.indexAnalyzer())
+                        .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            } catch (IOException | RuntimeException e) {
+                directory.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            failureCollector.collect(failureLevel, FailureCollector.Stage.INDEXING,
+                    "Failed to open the local index for writing: " + e.getMessage(), e);
+            delete(path);
+        }
+        return new Writer(failureCollector, failureLevel, path, indexWriter);
+    }
+
+    public SearchResult<GuideSearchHit> search(List<String> versions, List<String> categories, String q, String origin,
+            Language language, String highlightCssClass, int offset, int limit, int contentSnippets,
+            int contentSnippetsLength, QueryGuard.Verdict verdict) {
+        Generation generation = acquire();
+        if (generation == null) {
+            // Not populated yet: same as empty indexes in the search backend.
+            return new SearchResult<>(new SearchResult.Total(0L, 0L), List.of(), null, false, null);
+        }
+        try {
+            IndexSearcher searcher = generation.searcher;
+            var result = search(searcher, versions, categories, q, origin, language, highlightCssClass, offset, limit,
+                    contentSnippets, contentSnippetsLength, verdict);
+            if (result.total().lowerBound() > 0 || q == null || q.isBlank() || !verdict.highlighting()) {
+                return result;
+            }
+            // Same as SearchService#search: retry with a suggestion if there are no hits.
+            SearchResult.Suggestion suggestion = suggest(searcher, q, language, highlightCssClass);
+            if (suggestion == null) {
+                return result;
+            }
+            result = search(searcher, versions, categories, suggestion.query(), origin, language, highlightCssClass,
+                    offset, limit, contentSnippets, contentSnippetsLength, verdict);
+            return new SearchResult<>(result.total(), result.hits(),
+                    result.total().lowerBound() > 0 ? suggestion : null, false, null);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Failed to search the local index: " + e.getMessage(), e);
+        } finally {
+            release(generation);
+        }
+    }
+
+    private SearchResult<GuideSearchHit> search(IndexSearcher searcher, List<String> versions, List<String> categories,
+            String q, String origin, Language language, String highlightCssClass, int offset, int limit,
+            int contentSnippets, int contentSnippetsLength, QueryGuard.Verdict verdict) throws IOException {
+        Query textQuery = q == null || q.isBlank() ? null : textQuery(q, language, verdict);
+        Query query = query(versions, categories, textQuery, origin, language);
+        SortField titleSort = new SortField(language.addSuffix("title_sort"), SortField.Type.STRING);
+        titleSort.setMissingValue(SortField.STRING_LAST);
+        Sort sort = new Sort(SortField.FIELD_SCORE, titleSort);
+        boolean collapse = versions.size() > 1;
+        // Each guide has at most one document per version,
+        // so that many documents are enough to get offset + limit distinct guides.
+        TopFieldDocs topDocs = searcher.search(query, (offset + limit) * (collapse ? versions.size() : 1), sort, true);
+
+        ScoreDoc[] scoreDocs = collapse ? collapse(searcher, topDocs.scoreDocs) : topDocs.scoreDocs;
+        int[] docIds = Arrays.stream(scoreDocs, Math.min(offset, scoreDocs.length),
+                Math.min(offset + limit, scoreDocs.length))
+                .mapToInt(scoreDoc -> scoreDoc.doc)
+                .toArray();
+        List<GuideSearchHit> hits = toHits(searcher, docIds, textQuery, language, highlightCssClass,
+                verdict.highlighting() ? contentSnippets : 0, contentSnippetsLength);
+        if (collapse) {
+            hits = withVersions(searcher, query, sort, docIds, hits, versions.size());
+        }
+
+        TotalHits totalHits = topDocs.totalHits;
+        return new SearchResult<>(
+                new SearchResult.Total(totalHits.relation == TotalHits.Relation.EQUAL_TO ? totalHits.value : null,
+                        totalHits.value),
+                hits, null, false, null);
+    }
+
+    /**
+     * The equivalent of ExportService#exportFromSearchBackend:
+     * passes all guides matching the given version and language to the consumer, one page at a time.
+     */
+    public void export(String version, Language language, int pageSize, Consumer<List<GuideExport>> pageConsumer) {
+        Generation generation = acquire();
+        if (generation == null) {
+            // Not populated yet: same as empty indexes in the search backend.
+            return;
+        }
+        try {
+            IndexSearcher searcher = generation.searcher;
+            Query query = anyTerm(ROUTING, QuarkusVersionAndLanguageRoutingBinder.searchKeys(version, language));
+            String titleField = language.addSuffix("title");
+            String summaryField = language.addSuffix("summary");
+            Set<String> fieldsToLoad = Set.of(URL, QUARKUS_VERSION, TYPE, ORIGIN, STATUS, titleField, summaryField,
+                    CATEGORIES);
+            ScoreDoc after = null;
+            while (true) {
+                ScoreDoc[] scoreDocs = searcher.searchAfter(after, query, pageSize, Sort.INDEXORDER, false).scoreDocs;
+                List<GuideExport> page = new ArrayList<>(scoreDocs.length);
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    Document document = searcher.storedFields().document(scoreDoc.doc, fieldsToLoad);
+                    page.add(new GuideExport(URI.create(document.get(URL)), document.get(QUARKUS_VERSION),
+                            document.get(TYPE), document.get(ORIGIN), document.get(STATUS), document.get(titleField),
+                            document.get(summaryField), List.of(document.getValues(CATEGORIES))));
+                }
+                pageConsumer.accept(page);
+                if (scoreDocs.length < pageSize) {
+                    return;
+                }
+                after = scoreDocs[scoreDocs.length - 1];
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to export from the local index: " + e.getMessage(), e);
+        } finally {
+            release(generation);
+        }
+    }
+
+    // The equivalent of field collapsing in SearchService#requestCollapse:
+    // keeps only the best document for each guide path.
+    private static ScoreDoc[] collapse(IndexSearcher searcher, ScoreDoc[] scoreDocs) throws IOException {
+        Map<String, ScoreDoc> bestPerPath = new LinkedHashMap<>();
+        for (ScoreDoc scoreDoc : scoreDocs) {
+            bestPerPath.putIfAbsent(path(searcher, scoreDoc.doc), scoreDoc);
+        }
+        return bestPerPath.values().toArray(ScoreDoc[]::new);
+    }
+
+    // The equivalent of inner hits in SearchService#requestCollapse:
+    // lists all matching versions of each guide, best-scoring first.
+    private static List<GuideSearchHit> withVersions(IndexSearcher searcher, Query query, Sort sort, int[] docIds,
+            List<GuideSearchHit> hits, int versionCount) throws IOException {
+        if (docIds.length == 0) {
+            return hits;
+        }
+        List<String> paths = new ArrayList<>(docIds.length);
+        for (int docId : docIds) {
+            paths.add(path(searcher, docId));
+        }
+        Query samePaths = new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(anyTerm(PATH, paths), BooleanClause.Occur.FILTER)
+                .build();
+        Map<String, List<String>> versionsPerPath = new HashMap<>();
+        for (ScoreDoc scoreDoc : searcher.search(samePaths, paths.size() * versionCount, sort).scoreDocs) {
+            Document document = searcher.storedFields().document(scoreDoc.doc, Set.of(PATH, QUARKUS_VERSION));
+            String version = document.get(QUARKUS_VERSION);
+            if (version != null) {
+                versionsPerPath.computeIfAbsent(document.get(PATH), ignored -> new ArrayList<>()).add(version);
+            }
+        }
+        List<GuideSearchHit> result = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            List<String> versions = versionsPerPath.getOrDefault(paths.get(i), List.of());
+            result.add(versions.isEmpty() ? hits.get(i)
+                    : hits.get(i).withVersions(versions.get(0), versions.subList(1, versions.size())));
+        }
+        return result;
+    }
+
+    private static String path(IndexSearcher searcher, int docId) throws IOException {
+        Document document = searcher.storedFields().document(docId, Set.of(PATH, URL));
+        String path = document.get(PATH);
+        return path != null ? path : document.get(URL);
+    }
+
+    /**
+     * The equivalent of the phrase suggester used in SearchService#requestSuggestion:
+     * replaces each word of the query that doesn't appear in the guides with the closest word that does.
+     */
+    private SearchResult.Suggestion suggest(IndexSearcher searcher, String q, Language language,
+            String highlightCssClass) throws IOException {
+        String field = language.addSuffix(SUGGESTION_FIELD);
+        DirectSpellChecker spellChecker = new DirectSpellChecker();
+        StringJoiner query = new StringJoiner(" ");
+        StringJoiner highlighted = new StringJoiner(" ");
+        boolean corrected = false;
+        try (TokenStream tokens = analysis.get(language).suggestion().tokenStream(field, q)) {
+            CharTermAttribute termAttribute = tokens.addAttribute(CharTermAttribute.class);
+            TypeAttribute typeAttribute = tokens.addAttribute(TypeAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                if (ShingleFilter.DEFAULT_TOKEN_TYPE.equals(typeAttribute.type())) {
+                    continue;
+                }
+                String word = termAttribute.toString();
+                SuggestWord[] suggestions = spellChecker.suggestSimilar(new Term(field, word), 1,
+                        searcher.getIndexReader(), SuggestMode.SUGGEST_WHEN_NOT_IN_INDEX);
+                if (suggestions.length > 0) {
+                    corrected = true;
+                    query.add(suggestions[0].string);
+                    highlighted.add("<span class=\"" + highlightCssClass + "\">" + suggestions[0].string + "</span>");
+                } else {
+                    query.add(word);
+                    highlighted.add(word);
+                }
+            }
+            tokens.end();
+        }
+        return corrected ? new SearchResult.Suggestion(query.toString(), highlighted.toString()) : null;
+    }
+
+    private Query textQuery(String q, Language language, QueryGuard.Verdict verdict) {
+        // Same fields and boosts as SearchService#textMatch
+        Map<String, Float> weights = new LinkedHashMap<>();
+        weights.put(language.addSuffix("title"), 10.0f);
+        weights.put(language.addSuffix("topics"), 10.0f);
+        weights.put(language.addSuffix("keywords"), 10.0f);
+        weights.put(language.addSuffix("summary"), 5.0f);
+        weights.put(language.addSuffix("fullContent"), 1.0f);
+        boolean edgeNgram = isEdgeNgram();
+        if (verdict.autocomplete() && edgeNgram) {
+            weights.put(language.addSuffix("keywords" + AUTOCOMPLETE_SUFFIX), 1.0f);
+            weights.put(language.addSuffix("title" + AUTOCOMPLETE_SUFFIX), 1.0f);
+            weights.put(language.addSuffix("summary" + AUTOCOMPLETE_SUFFIX), 0.5f);
+            weights.put(language.addSuffix("fullContent" + AUTOCOMPLETE_SUFFIX), 0.1f);
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analysis.get(language).defaultSearch(), weights,
+                SimpleQueryParser.AND_OPERATOR | SimpleQueryParser.OR_OPERATOR | SimpleQueryParser.PHRASE_OPERATOR);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query match = parser.parse(q);
+        PartialWord partialWord = verdict.autocomplete() && !edgeNgram ? PartialWord.of(q) : null;
+        if (partialWord == null) {
+            return match;
+        }
+        // Same prefix match as SearchService#textMatch
+        BooleanQuery.Builder prefixMatch = new BooleanQuery.Builder();
+        prefixMatch.add(prefix(language.addSuffix("keywords"), partialWord, 1.0f), BooleanClause.Occur.SHOULD);
+        prefixMatch.add(prefix(language.addSuffix("title"), partialWord, 1.0f), BooleanClause.Occur.SHOULD);
+        prefixMatch.add(prefix(language.addSuffix("summary"), partialWord, 0.5f), BooleanClause.Occur.SHOULD);
+        prefixMatch.add(prefix(language.addSuffix("fullContent"), partialWord, 0.1f), BooleanClause.Occur.SHOULD);
+        Query partialMatch = prefixMatch.build();
+        if (partialWord.before() != null) {
+            partialMatch = new BooleanQuery.Builder()
+                    .add(parser.parse(partialWord.before()), BooleanClause.Occur.MUST)
+                    .add(partialMatch, BooleanClause.Occur.MUST)
+                    .build();
+        }
+        return new BooleanQuery.Builder()
+                .add(match, BooleanClause.Occur.SHOULD)
+                .add(partialMatch, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private static Query prefix(String field, PartialWord partialWord, float boost) {
+        return new BoostQuery(new PrefixQuery(new Term(field, partialWord.prefix())), boost);
+    }
+
+    private boolean isEdgeNgram() {
+        return searchingConfig.autocomplete().mode() == SearchingConfig.Autocomplete.Mode.EDGE_NGRAM;
+    }
+
+    private static Query query(List<String> versions, List<String> categories, Query textQuery, String origin,
+            Language language) {
+        BooleanQuery.Builder root = new BooleanQuery.Builder();
+        // Equivalent to routing in the search backend
+        root.add(anyTerm(ROUTING, QuarkusVersionAndLanguageRoutingBinder.searchKeys(versions, language)),
+                BooleanClause.Occur.FILTER);
+        if (categories != null && !categories.isEmpty()) {
+            root.add(anyTerm(CATEGORIES, categories), BooleanClause.Occur.FILTER);
+        }
+        if (origin != null && !origin.isEmpty()) {
+            root.add(new TermQuery(new Term(ORIGIN, origin)), BooleanClause.Occur.FILTER);
+        }
+        if (textQuery == null) {
+            root.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        } else {
+            // Same boosts as in SearchService#performSearch: see there for explanations.
+            Query notCompatibility = new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(language.addSuffix("topics"), "compatibility")),
+                            BooleanClause.Occur.MUST_NOT)
+                    .build();
+            Query quarkusIo = new BooleanQuery.Builder()
+                    .add(textQuery, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(ORIGIN, QuarkusIO.QUARKUS_ORIGIN)), BooleanClause.Occur.FILTER)
+                    .add(new BoostQuery(notCompatibility, 50.0f), BooleanClause.Occur.SHOULD)
+                    .build();
+            Query quarkiverseIo = new BooleanQuery.Builder()
+                    .add(textQuery, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(ORIGIN, QuarkiverseIO.QUARKIVERSE_ORIGIN)), BooleanClause.Occur.FILTER)
+                    .build();
+            root.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(quarkusIo, 2.0f), BooleanClause.Occur.SHOULD)
+                    .add(quarkiverseIo, BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        return root.build();
+    }
+
+    private static Query anyTerm(String field, Collection<String> values) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String value : values) {
+            builder.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private List<GuideSearchHit> toHits(IndexSearcher searcher, int[] docIds, Query textQuery, Language language,
+            String highlightCssClass, int contentSnippets, int contentSnippetsLength) throws IOException {
+        String titleField = language.addSuffix("title");
+        String summaryField = language.addSuffix("summary");
+        String contentField = language.addSuffix("fullContent");
+        String preTag = "<span class=\"" + highlightCssClass + "\">";
+        String postTag = "</span>";
+
+        Map<String, Object[]> titleAndSummary = null;
+        Map<String, Object[]> content = null;
+        if (textQuery != null && docIds.length > 0) {
+            titleAndSummary = UnifiedHighlighter.builder(searcher, analysis.indexAnalyzer())
+                    .withMaxLength(HIGHLIGHT_MAX_ANALYZED_OFFSET)
+                    // We want the whole text of the field, regardless of whether it has a match or not.
+                    .withBreakIterator(WholeBreakIterator::new)
+                    .withMaxNoHighlightPassages(1)
+                    .withFormatter(new SnippetFormatter(preTag, postTag, false))
+                    .build()
+                    .highlightFieldsAsObjects(new String[] { titleField, summaryField }, textQuery, docIds,
+                            new int[] { 1, 1 });
+            if (contentSnippets > 0) {
+                content = UnifiedHighlighter.builder(searcher, analysis.indexAnalyzer())
+                        .withMaxLength(HIGHLIGHT_MAX_ANALYZED_OFFSET)
+                        // Content is really huge, so we want to only get small parts of the sentences.
+                        .withBreakIterator(() -> LengthGoalBreakIterator.createClosestToLength(
+                                BreakIterator.getWordInstance(Locale.ROOT), Math.max(contentSnippetsLength, 1)))
+                        // If there's no match in the full content we don't want to return anything.
+                        .withMaxNoHighlightPassages(0)
+                        .withFormatter(new SnippetFormatter(preTag, postTag, true))
+                        .build()
+                        .highlightFieldsAsObjects(new String[] { contentField }, textQuery, docIds,
+                                new int[] { contentSnippets });
+            }
+        }
+
+        // Without highlighting, we simply return the title/summary as stored.
+        Set<String> fieldsToLoad = titleAndSummary == null
+                ? Set.of(URL, TYPE, STATUS, ORIGIN, titleField, summaryField)
+                : HIT_FIELDS;
+        List<GuideSearchHit> hits = new ArrayList<>(docIds.length);
+        for (int i = 0; i < docIds.length; i++) {
+            Document document = searcher.storedFields().document(docIds[i], fieldsToLoad);
+            String title = titleAndSummary == null ? document.get(titleField) : first(titleAndSummary.get(titleField)[i]);
+            String summary = titleAndSummary == null ? document.get(summaryField)
+                    : first(titleAndSummary.get(summaryField)[i]);
+            hits.add(new GuideSearchHit(URI.create(document.get(URL)), document.get(TYPE), document.get(STATUS),
+                    document.get(ORIGIN), Optional.ofNullable(title), Optional.ofNullable(summary),
+                    content == null ? List.of() : snippets(content.get(contentField)[i])));
+        }
+        return hits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> snippets(Object highlighted) {
+        return highlighted == null ? List.of() : (List<String>) highlighted;
+    }
+
+    private static String first(Object highlighted) {
+        List<String> snippets = snippets(highlighted);
+        return snippets.isEmpty() ? null : snippets.get(0);
+    }
+
+    private Generation acquire() {
+        while (true) {
+            Generation generation = current;
+            if (generation == null) {
+                return null;
+            }
+            if (generation.reader.tryIncRef()) {
+                return generation;
+            }
+            // The generation was replaced concurrently: try again with the new one.
+        }
+    }
+
+    private static void release(Generation generation) {
+        try {
+            generation.reader.decRef();
+        } catch (IOException e) {
+            Log.warnf(e, "Failed to release local index generation %s: %s", generation.path, e.getMessage());
+        }
+    }
+
+    private void swap(Generation next) {
+        Generation previous = current;
+        current = next;
+        if (previous != null) {
+            previous.obsolete = true;
+            release(previous);
+        }
+    }
+
+    private Path root() {
+        return config.directory()
+                .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "search-quarkus-io-local-index"));
+    }
+
+    private static void delete(Path path) {
+        try {
+            if (Files.exists(path)) {
+                PathUtils.deleteDirectory(path);
+            }
+        } catch (IOException e) {
+            Log.warnf(e, "Failed to delete local index directory %s: %s", path, e.getMessage());
+        }
+    }
+
+    public final class Writer implements Closeable {
+        private final FailureCollector failureCollector;
+        private final FailureCollector.Level failureLevel;
+        private final Path path;
+        private final IndexWriter indexWriter;
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private boolean committed;
+
+        private Writer(FailureCollector failureCollector, FailureCollector.Level failureLevel, Path path,
+                IndexWriter indexWriter) {
+            this.failureCollector = failureCollector;
+            this.failureLevel = failureLevel;
+            this.path = path;
+            this.indexWriter = indexWriter;
+        }
+
+        /**
+         * Adds guides to the local index; may be called concurrently.
+         *
+         * @param guides The guides to add.
+         */
+        public void add(List<Guide> guides) {
+            if (indexWriter == null || failed.get()) {
+                return;
+            }
+            try {
+                List<Document> documents = new ArrayList<>(guides.size());
+                for (Guide guide : guides) {
+                    documents.add(toDocument(guide));
+                }
+                indexWriter.addDocuments(documents);
+            } catch (IOException | RuntimeException e) {
+                fail("Failed to write guides to the local index: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Commits the new generation of the local index, which will then replace the current one.
+         */
+        public void commit() {
+            if (indexWriter == null || failed.get()) {
+                return;
+            }
+            try {
+                // Data is read-only after indexing -- we may as well have a single segment
+                indexWriter.forceMerge(1);
+                indexWriter.commit();
+                indexWriter.close();
+                swap(Generation.open(path));
+                committed = true;
+                Log.infof("Committed local index generation %s", path);
+            } catch (IOException | RuntimeException e) {
+                fail("Failed to commit the local index: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (indexWriter == null || committed) {
+                return;
+            }
+            // Not committed: discard this generation.
+            try {
+                indexWriter.rollback();
+            } catch (IOException | RuntimeException e) {
+                Log.warnf(e, "Failed to roll back the local index: %s", e.getMessage());
+            }
+            delete(path);
+        }
+
+        private void fail(String details, Exception exception) {
+            // Only report the first failure: subsequent ones are most likely caused by the same problem.
+            if (failed.compareAndSet(false, true)) {
+                failureCollector.collect(failureLevel, FailureCollector.Stage.INDEXING, details, exception);
+            }
+        }
+
+        private Document toDocument(Guide guide) throws IOException {
+            Document document = new Document();
+            document.add(new StringField(URL, guide.url.toString(), Field.Store.YES));
+            document.add(new StringField(ROUTING, QuarkusVersionAndLanguageRoutingBinder.routingKey(guide),
+                    Field.Store.NO));
+            if (guide.quarkusVersion != null) {
+                document.add(new StringField(QUARKUS_VERSION, guide.quarkusVersion, Field.Store.YES));
+            }
+            if (guide.path != null) {
+                document.add(new StringField(PATH, guide.path, Field.Store.YES));
+            }
+            if (guide.type != null) {
+                document.add(new StringField(TYPE, guide.type, Field.Store.YES));
+            }
+            if (guide.origin != null) {
+                document.add(new StringField(ORIGIN, guide.origin, Field.Store.YES));
+            }
+            if (guide.status != null) {
+                document.add(new StoredField(STATUS, guide.status));
+            }
+            for (String category : guide.categories) {
+                document.add(new StringField(CATEGORIES, category, Field.Store.YES));
+            }
+            // Prefixes are matched on the main fields otherwise, see textQuery.
+            boolean autocomplete = isEdgeNgram();
+            // Quarkiverse guides share the same content provider for all languages: read it only once.
+            Map<InputProvider, String> contents = new IdentityHashMap<>();
+            for (Language language : Language.values()) {
+                String title = guide.title.get(language);
+                addText(document, language, "title", title, autocomplete);
+                if (title != null) {
+                    String sortField = language.addSuffix("title_sort");
+                    document.add(new SortedDocValuesField(sortField,
+                            analysis.get(language).sort().normalize(sortField, title)));
+                }
+                addText(document, language, "summary", guide.summary.get(language), autocomplete);
+                addText(document, language, "keywords", guide.keywords.get(language), autocomplete);
+                String content = read(guide.htmlFullContentProvider.get(language), contents);
+                addText(document, language, "fullContent", content, autocomplete);
+                if (content != null) {
+                    document.add(new TextField(language.addSuffix(SUGGESTION_FIELD), content, Field.Store.NO));
+                }
+                for (I18nData<String> topic : guide.topics) {
+                    addText(document, language, "topics", topic.get(language), false);
+                }
+            }
+            return document;
+        }
+
+        private static void addText(Document document, Language language, String field, String value,
+                boolean autocomplete) {
+            if (value == null) {
+                return;
+            }
+            document.add(HIGHLIGHTED_FIELDS.contains(field)
+                    ? new Field(language.addSuffix(field), value, HIGHLIGHTABLE_TEXT)
+                    // Never highlighted nor loaded: no need to store it.
+                    : new TextField(language.addSuffix(field), value, Field.Store.NO));
+            if (autocomplete) {
+                document.add(new TextField(language.addSuffix(field + AUTOCOMPLETE_SUFFIX), value, Field.Store.NO));
+            }
+        }
+
+        private static String read(InputProvider provider, Map<InputProvider, String> contents) throws IOException {
+            if (provider == null) {
+                return null;
+            }
+            String content = contents.get(provider);
+            if (content == null) {
+                try (InputStream in = provider.open()) {
+                    content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                contents.put(provider, content);
+            }
+            return content;
+        }
+    }
+
+    private static final class Generation {
+        private final Path path;
+        private final Directory directory;
+        private final DirectoryReader reader;
+        private final IndexSearcher searcher;
+        private volatile boolean obsolete;
+
+        static Generation open(Path path) throws IOException {
+            Directory directory = FSDirectory.open(path);
+            try {
+                return new Generation(path, directory, DirectoryReader.open(directory));
+            } catch (IOException | RuntimeException e) {
+                directory.close();
+                throw e;
+            }
+        }
+
+        private Generation(Path path, Directory directory, DirectoryReader reader) {
+            this.path = path;
+            this.directory = directory;
+            this.reader = reader;
+            this.searcher = new IndexSearcher(reader);
+            // Called once the reader is no longer referenced: by us or by running searches.
+            reader.getReaderCacheHelper().addClosedListener(ignored -> {
+                directory.close();
+                if (obsolete) {
+                    delete(path);
+                }
+            });
+        }
+    }
+
+    private static final class SnippetFormatter extends PassageFormatter {
+        private final String preTag;
+        private final String postTag;
+        private final boolean orderByScore;
+
+        SnippetFormatter(String preTag, String postTag, boolean orderByScore) {
+            this.preTag = preTag;
+            this.postTag = postTag;
+            this.orderByScore = orderByScore;
+        }
+
+        @Override
+        public List<String> format(Passage[] passages, String content) {
+            Stream<Passage> stream = Arrays.stream(passages);
+            if (orderByScore) {
+                stream = stream.sorted(Comparator.comparingDouble(Passage::getScore).reversed());
+            }
+            return stream.map(passage -> format(passage, content)).toList();
+        }
+
+        private String format(Passage passage, String content) {
+            StringBuilder builder = new StringBuilder();
+            int position = passage.getStartOffset();
+            for (int i = 0; i < passage.getNumMatches(); i++) {
+                // Matches may overlap, e.g. with synonyms
+                int start = Math.max(passage.getMatchStarts()[i], position);
+                int end = passage.getMatchEnds()[i];
+                if (end <= start) {
+                    continue;
+                }
+                builder.append(content, position, start)
+                        .append(preTag).append(content, start, end).append(postTag);
+                position = end;
+            }
+            builder.append(content, position, passage.getEndOffset());
+            return builder.toString();
+        }
+    }
+}
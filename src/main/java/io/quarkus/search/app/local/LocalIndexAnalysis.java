@@ -0,0 +1,232 @@
+package io.quarkus.search.app.local;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.text.ParseException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.hibernate.AnalysisConfigurer;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthCharFilter;
+import org.apache.lucene.analysis.cn.smart.HMMChineseTokenizer;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.en.PorterStemFilter;
+import org.apache.lucene.analysis.ja.JapaneseAnalyzer;
+import org.apache.lucene.analysis.ja.JapaneseBaseFormFilter;
+import org.apache.lucene.analysis.ja.JapaneseKatakanaStemFilter;
+import org.apache.lucene.analysis.ja.JapanesePartOfSpeechStopFilter;
+import org.apache.lucene.analysis.ja.JapaneseTokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.pattern.PatternCaptureGroupTokenFilter;
+import org.apache.lucene.analysis.shingle.ShingleFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.synonym.SolrSynonymParser;
+import org.apache.lucene.analysis.synonym.SynonymGraphFilter;
+import org.apache.lucene.analysis.synonym.SynonymMap;
+
+/**
+ * The Lucene equivalent of {@link AnalysisConfigurer},
+ * used to populate and query the {@link LocalIndex local index}.
+ * <p>
+ * Analyzers mirror the ones defined for the search backend as closely as possible.
+ * The only notable difference is that we cannot rely on the ICU plugin,
+ * so full-width character normalization for Japanese uses a simpler char filter.
+ */
+public final class LocalIndexAnalysis {
+
+    public record LanguageAnalyzers(Analyzer defaultAnalyzer, Analyzer defaultSearch, Analyzer autocomplete,
+            Analyzer suggestion, Analyzer sort) {
+    }
+
+    private final Map<Language, LanguageAnalyzers> analyzers = new EnumMap<>(Language.class);
+    private final Analyzer indexAnalyzer;
+
+    public LocalIndexAnalysis() {
+        for (Language language : Language.values()) {
+            analyzers.put(language, switch (language) {
+                case ENGLISH, PORTUGUESE, SPANISH -> englishLike();
+                case JAPANESE -> japanese();
+                case CHINESE -> chinese();
+            });
+        }
+        Map<String, Analyzer> perField = new HashMap<>();
+        for (Language language : Language.values()) {
+            LanguageAnalyzers languageAnalyzers = analyzers.get(language);
+            for (String field : LocalIndex.TEXT_FIELDS) {
+                perField.put(language.addSuffix(field), languageAnalyzers.defaultAnalyzer());
+                perField.put(language.addSuffix(field + LocalIndex.AUTOCOMPLETE_SUFFIX),
+                        languageAnalyzers.autocomplete());
+            }
+            perField.put(language.addSuffix(LocalIndex.SUGGESTION_FIELD), languageAnalyzers.suggestion());
+        }
+        // Keyword fields (url, origin, ...) are not analyzed, so the default analyzer doesn't matter much.
+        this.indexAnalyzer = new PerFieldAnalyzerWrapper(new ChainAnalyzer(KeywordTokenizer::new), perField);
+    }
+
+    public LanguageAnalyzers get(Language language) {
+        return analyzers.get(language);
+    }
+
+    /**
+     * @return The analyzer to use when writing documents to the local index.
+     */
+    public Analyzer indexAnalyzer() {
+        return indexAnalyzer;
+    }
+
+    private static LanguageAnalyzers englishLike() {
+        UnaryOperator<Reader> charFilters = HTMLStripCharFilter::new;
+        Supplier<Tokenizer> tokenizer = StandardTokenizer::new;
+        UnaryOperator<TokenStream> searchBaseFilters = ts -> {
+            ts = new LowerCaseFilter(ts);
+            ts = new EnglishPossessiveFilter(ts);
+            ts = new PorterStemFilter(ts);
+            return new ASCIIFoldingFilter(ts);
+        };
+        UnaryOperator<TokenStream> defaultFilters = ts -> searchBaseFilters.apply(compoundTechnicalName(ts));
+        SynonymMap synonyms = synonyms(new ChainAnalyzer(tokenizer, searchBaseFilters));
+        return new LanguageAnalyzers(
+                new ChainAnalyzer(charFilters, tokenizer, defaultFilters),
+                new ChainAnalyzer(charFilters, tokenizer,
+                        ts -> new SynonymGraphFilter(searchBaseFilters.apply(ts), synonyms, true)),
+                new ChainAnalyzer(charFilters, tokenizer, ts -> autocompleteEdgeNgram(defaultFilters.apply(ts))),
+                new ChainAnalyzer(charFilters, tokenizer, LocalIndexAnalysis::suggestionFilters),
+                sort());
+    }
+
+    private static LanguageAnalyzers japanese() {
+        // See AnalysisConfigurer#configureJapanese
+        // CJKWidthCharFilter is the closest we have to icu_normalizer without the ICU plugin.
+        UnaryOperator<Reader> charFilters = reader -> new HTMLStripCharFilter(new CJKWidthCharFilter(reader));
+        Supplier<Tokenizer> tokenizer = () -> new JapaneseTokenizer(null, true, JapaneseTokenizer.Mode.SEARCH);
+        UnaryOperator<TokenStream> searchBaseFilters = ts -> {
+            ts = new LowerCaseFilter(ts);
+            ts = new JapaneseBaseFormFilter(ts);
+            ts = new JapanesePartOfSpeechStopFilter(ts, JapaneseAnalyzer.getDefaultStopTags());
+            ts = new EnglishPossessiveFilter(ts);
+            ts = new StopFilter(ts, JapaneseAnalyzer.getDefaultStopSet());
+            ts = new JapaneseKatakanaStemFilter(ts);
+            ts = new PorterStemFilter(ts);
+            return new ASCIIFoldingFilter(ts);
+        };
+        UnaryOperator<TokenStream> defaultFilters = ts -> searchBaseFilters.apply(compoundTechnicalName(ts));
+        SynonymMap synonyms = synonyms(new ChainAnalyzer(tokenizer, searchBaseFilters));
+        return new LanguageAnalyzers(
+                new ChainAnalyzer(charFilters, tokenizer, defaultFilters),
+                new ChainAnalyzer(charFilters, tokenizer,
+                        ts -> new SynonymGraphFilter(searchBaseFilters.apply(ts), synonyms, true)),
+                new ChainAnalyzer(charFilters, tokenizer, ts -> autocompleteEdgeNgram(defaultFilters.apply(ts))),
+                new ChainAnalyzer(HTMLStripCharFilter::new, tokenizer, LocalIndexAnalysis::suggestionFilters),
+                sort());
+    }
+
+    private static LanguageAnalyzers chinese() {
+        // See AnalysisConfigurer#configureChinese
+        UnaryOperator<Reader> charFilters = HTMLStripCharFilter::new;
+        Supplier<Tokenizer> tokenizer = HMMChineseTokenizer::new;
+        UnaryOperator<TokenStream> defaultFilters = ts -> {
+            ts = compoundTechnicalName(ts);
+            ts = new LowerCaseFilter(ts);
+            ts = new EnglishPossessiveFilter(ts);
+            ts = new StopFilter(ts, SmartChineseAnalyzer.getDefaultStopSet());
+            ts = new PorterStemFilter(ts);
+            return new ASCIIFoldingFilter(ts);
+        };
+        UnaryOperator<TokenStream> searchBaseFilters = ts -> {
+            ts = new LowerCaseFilter(ts);
+            ts = new EnglishPossessiveFilter(ts);
+            ts = new PorterStemFilter(ts);
+            return new ASCIIFoldingFilter(ts);
+        };
+        SynonymMap synonyms = synonyms(new ChainAnalyzer(tokenizer, searchBaseFilters));
+        return new LanguageAnalyzers(
+                new ChainAnalyzer(charFilters, tokenizer, defaultFilters),
+                new ChainAnalyzer(charFilters, tokenizer,
+                        // The stop filter must go last as it conflicts with the synonyms filter.
+                        ts -> new StopFilter(new SynonymGraphFilter(searchBaseFilters.apply(ts), synonyms, true),
+                                SmartChineseAnalyzer.getDefaultStopSet())),
+                new ChainAnalyzer(charFilters, tokenizer, ts -> autocompleteEdgeNgram(defaultFilters.apply(ts))),
+                new ChainAnalyzer(charFilters, tokenizer, LocalIndexAnalysis::suggestionFilters),
+                sort());
+    }
+
+    private static Analyzer sort() {
+        return new ChainAnalyzer(KeywordTokenizer::new, LowerCaseFilter::new);
+    }
+
+    private static TokenStream compoundTechnicalName(TokenStream ts) {
+        return new PatternCaptureGroupTokenFilter(ts, true, AnalysisConfigurer.SIMPLIFIED_JAVA_CLASS_NAME_CAPTURE_PATTERN);
+    }
+
+    private static TokenStream autocompleteEdgeNgram(TokenStream ts) {
+        return new EdgeNGramTokenFilter(ts, 2, 70, false);
+    }
+
+    private static TokenStream suggestionFilters(TokenStream ts) {
+        return new ShingleFilter(new ASCIIFoldingFilter(new LowerCaseFilter(ts)));
+    }
+
+    private static SynonymMap synonyms(Analyzer analyzer) {
+        // Synonyms are analyzed with the filters preceding the synonym filter, just like in the search backend.
+        try (analyzer) {
+            SolrSynonymParser parser = new SolrSynonymParser(true, true, analyzer);
+            parser.parse(new StringReader(String.join("\n", AnalysisConfigurer.SYNONYMS)));
+            return parser.build();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to build the synonym map: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class ChainAnalyzer extends Analyzer {
+        private final UnaryOperator<Reader> charFilters;
+        private final Supplier<Tokenizer> tokenizer;
+        private final UnaryOperator<TokenStream> tokenFilters;
+
+        ChainAnalyzer(Supplier<Tokenizer> tokenizer) {
+            this(UnaryOperator.identity(), tokenizer, UnaryOperator.identity());
+        }
+
+        ChainAnalyzer(Supplier<Tokenizer> tokenizer, UnaryOperator<TokenStream> tokenFilters) {
+            this(UnaryOperator.identity(), tokenizer, tokenFilters);
+        }
+
+        ChainAnalyzer(UnaryOperator<Reader> charFilters, Supplier<Tokenizer> tokenizer,
+                UnaryOperator<TokenStream> tokenFilters) {
+            this.charFilters = charFilters;
+            this.tokenizer = tokenizer;
+            this.tokenFilters = tokenFilters;
+        }
+
+        @Override
+        protected Reader initReader(String fieldName, Reader reader) {
+            return charFilters.apply(reader);
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = tokenizer.get();
+            return new TokenStreamComponents(source, tokenFilters.apply(source));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new LowerCaseFilter(in);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.quarkus.search.app.local;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "local-index")
+public interface LocalIndexConfig {
+
+    /**
+     * @return Whether to write guides to an embedded Lucene index during indexing,
+     *         in addition to the search backend.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return The directory holding the local index.
+     *         Defaults to a directory in the temporary directory of the JVM.
+     */
+    Optional<Path> directory();
+
+    /**
+     * @return When to execute searches against the local index instead of the search backend.
+     */
+    @WithDefault("fallback")
+    ReadMode readMode();
+
+    enum ReadMode {
+        /**
+         * Never read from the local index: it's only populated.
+         */
+        NONE,
+        /**
+         * Read from the local index only while the search backend is unhealthy.
+         */
+        FALLBACK,
+        /**
+         * Always read from the local index, as long as it has been populated.
+         */
+        PRIMARY,
+        /**
+         * Use the local index exclusively: the search backend is never used, neither for indexing nor for searching.
+         */
+        EXCLUSIVE
+    }
+
+}
@@ -18,7 +18,9 @@ import java.util.stream.Stream;
 import io.quarkus.search.app.entity.Guide;
 import io.quarkus.search.app.hibernate.InputProvider;
 import io.quarkus.search.app.indexing.reporting.FailureCollector;
+import io.quarkus.search.app.jfr.GuideParsingEvent;
 import io.quarkus.search.app.util.CloseableDirectory;
+import io.quarkus.search.app.util.Tracing;
 
 import io.quarkus.logging.Log;
 
@@ -41,21 +43,27 @@ public class QuarkiverseIO implements Closeable {
     private final Optional<Path> pages;
     private final URI baseUri;
     private final CloseableDirectory tempDir;
+    private final boolean withSections;
 
     public QuarkiverseIO(Optional<Path> pages, URI baseUri, FailureCollector failureCollector,
-            CloseableDirectory tempDir) {
+            CloseableDirectory tempDir, boolean withSections) {
         this.failureCollector = failureCollector;
         this.pages = pages;
         this.baseUri = baseUri;
         this.tempDir = tempDir;
+        this.withSections = withSections;
     }
 
     private Guide readGuide(Path file) {
         Guide guide = new Guide();
         guide.url = baseUri.resolve(pages.get().relativize(file).toString());
+        // Quarkiverse guides are not versioned.
+        guide.path = guide.url.toString();
         guide.type = "reference";
         guide.origin = QUARKIVERSE_ORIGIN;
 
+        GuideParsingEvent event = new GuideParsingEvent();
+        event.begin();
         try {
             Document document = Jsoup.parse(file);
 
@@ -71,7 +79,12 @@ public class QuarkiverseIO implements Closeable {
             guide.title.set(title.trim());
 
             guide.summary.set(document.select("div#preamble").text());
-            guide.htmlFullContentProvider.set(InputProvider.from(document, tempDir, file));
+            InputProvider inputProvider = Tracing.trace("quarkiverseio.preprocess", span -> {
+                span.setAttribute("quarkiverseio.guide.path", guide.path);
+                return InputProvider.from(document, tempDir, file, withSections);
+            });
+            guide.htmlFullContentProvider.set(inputProvider);
+            event.end(QUARKIVERSE_ORIGIN, guide.path, inputProvider);
         } catch (IOException e) {
             failureCollector.warning(FailureCollector.Stage.PARSING, "Failed to parse guide file: " + file, e);
         }
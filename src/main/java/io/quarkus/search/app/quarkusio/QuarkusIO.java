@@ -34,9 +34,11 @@ import io.quarkus.search.app.entity.I18nData;
 import io.quarkus.search.app.entity.Language;
 import io.quarkus.search.app.hibernate.InputProvider;
 import io.quarkus.search.app.indexing.reporting.FailureCollector;
+import io.quarkus.search.app.jfr.GuideParsingEvent;
 import io.quarkus.search.app.util.CloseableDirectory;
 import io.quarkus.search.app.util.GitCloneDirectory;
 import io.quarkus.search.app.util.GitUtils;
+import io.quarkus.search.app.util.Tracing;
 
 import org.hibernate.search.util.common.impl.Closer;
 
@@ -91,14 +93,17 @@ public class QuarkusIO implements Closeable {
     private final Map<Language, URI> siteUris;
     private final CloseableDirectory processedGuidesDirectory = CloseableDirectory.temp("preprocessed-guides-");
     private final FailureCollector failureCollector;
+    private final boolean withSections;
 
     public QuarkusIO(QuarkusIOConfig config, GitCloneDirectory mainRepository,
-            Map<Language, GitCloneDirectory> localizedSites, FailureCollector failureCollector) throws IOException {
+            Map<Language, GitCloneDirectory> localizedSites, FailureCollector failureCollector, boolean withSections)
+            throws IOException {
         HashMap<Language, URI> languageUriMap = new HashMap<>(localizedSites.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, e -> config.localized().get(e.getKey().code).webUri())));
         languageUriMap.put(Language.ENGLISH, config.webUri());
         this.siteUris = Collections.unmodifiableMap(languageUriMap);
         this.failureCollector = failureCollector;
+        this.withSections = withSections;
 
         Map<Language, QuarkusIOCloneDirectory> all = new HashMap<>();
         all.put(Language.ENGLISH, new QuarkusIOCloneDirectory(failureCollector, mainRepository));
@@ -183,14 +188,18 @@ public class QuarkusIO implements Closeable {
                                         resolveTranslationPath(
                                                 quarkusVersion.versionDirectory(), "quarkus.yaml", language));
 
-                                try (InputStream file = cloneDirectory.sourcesFile(quarkus)) {
-                                    return parseYamlMetadata(cloneDirectory, file, quarkusVersion.version(), language,
-                                            translations);
-                                } catch (IOException e) {
-                                    throw new IllegalStateException(
-                                            "Unable to load %s: %s".formatted(quarkusVersion.path(), e.getMessage()),
-                                            e);
-                                }
+                                return Tracing.trace("quarkusio.metadata", span -> {
+                                    span.setAttribute("quarkusio.metadata.path", quarkus);
+                                    span.setAttribute("quarkusio.language", language.code);
+                                    try (InputStream file = cloneDirectory.sourcesFile(quarkus)) {
+                                        return parseYamlMetadata(cloneDirectory, file, quarkusVersion.version(), language,
+                                                translations);
+                                    } catch (IOException e) {
+                                        throw new IllegalStateException(
+                                                "Unable to load %s: %s".formatted(quarkusVersion.path(), e.getMessage()),
+                                                e);
+                                    }
+                                });
                             });
                 });
     }
@@ -215,14 +224,18 @@ public class QuarkusIO implements Closeable {
                                         repository, translationSourcesTree,
                                         resolveLegacyTranslationPath(quarkusVersion.versionDirectory(), language));
 
-                                try (InputStream file = cloneDirectory.sourcesFile(quarkus)) {
-                                    return parseYamlLegacyMetadata(cloneDirectory, file, quarkusVersion.version(), language,
-                                            translations);
-                                } catch (IOException e) {
-                                    throw new IllegalStateException(
-                                            "Unable to load %s: %s".formatted(quarkusVersion.path(), e.getMessage()),
-                                            e);
-                                }
+                                return Tracing.trace("quarkusio.metadata", span -> {
+                                    span.setAttribute("quarkusio.metadata.path", quarkus);
+                                    span.setAttribute("quarkusio.language", language.code);
+                                    try (InputStream file = cloneDirectory.sourcesFile(quarkus)) {
+                                        return parseYamlLegacyMetadata(cloneDirectory, file, quarkusVersion.version(), language,
+                                                translations);
+                                    } catch (IOException e) {
+                                        throw new IllegalStateException(
+                                                "Unable to load %s: %s".formatted(quarkusVersion.path(), e.getMessage()),
+                                                e);
+                                    }
+                                });
                             });
                 });
     }
@@ -333,7 +346,10 @@ public class QuarkusIO implements Closeable {
         }
 
         try (InputStream file = GitUtils.file(repository, sources, path)) {
-            return new PoParser().parseCatalog(file, false);
+            return Tracing.trace("quarkusio.translations", span -> {
+                span.setAttribute("quarkusio.translations.path", path);
+                return new PoParser().parseCatalog(file, false);
+            });
         } catch (NoSuchFileException e) {
             // translation may be missing, but that's just the way it is: it'll get translated when someone has time
             failureCollector.info(FailureCollector.Stage.TRANSLATION,
@@ -428,16 +444,15 @@ public class QuarkusIO implements Closeable {
         guide.title.set(language, renderMarkdown(translate(messages, toString(parsedGuide.get("title")))));
         guide.summary.set(language, renderMarkdown(translate(messages, toString(parsedGuide.get(summaryKey)))));
         guide.url = httpUrl(siteUris.get(language), quarkusVersion, parsedUrl);
+        guide.path = parsedUrl;
 
         guide.htmlFullContentProvider.set(language, inputProvider);
 
         return guide;
     }
 
-    private InputProvider createInputProvider(GitCloneDirectory cloneDirectory, String path) {
-        if (path.startsWith("/")) {
-            path = path.substring(1);
-        }
+    private InputProvider createInputProvider(GitCloneDirectory cloneDirectory, String htmlPath) {
+        String path = htmlPath.startsWith("/") ? htmlPath.substring(1) : htmlPath;
 
         InputProvider inputProvider;
         String message = "";
@@ -450,12 +465,19 @@ public class QuarkusIO implements Closeable {
             inputProvider = null;
             message = path + " is ignored since we were not able to find an HTML content file for it." + cloneDirectory;
         } else {
+            GuideParsingEvent event = new GuideParsingEvent();
+            event.begin();
             try {
-                inputProvider = InputProvider.from(
-                        Jsoup.parse(GitUtils.file(cloneDirectory.git().getRepository(), cloneDirectory.pagesTree(), path),
-                                StandardCharsets.UTF_8.displayName(), "/"),
-                        processedGuidesDirectory,
-                        path);
+                inputProvider = Tracing.trace("quarkusio.preprocess", span -> {
+                    span.setAttribute("quarkusio.guide.path", path);
+                    return InputProvider.from(
+                            Jsoup.parse(GitUtils.file(cloneDirectory.git().getRepository(), cloneDirectory.pagesTree(),
+                                    path), StandardCharsets.UTF_8.displayName(), "/"),
+                            processedGuidesDirectory,
+                            path,
+                            withSections);
+                });
+                event.end(QUARKUS_ORIGIN, path, inputProvider);
             } catch (IOException e) {
                 message = path + " is ignored since we were not able to write a preprocessed HTML content file for it: "
                         + e.getMessage();
@@ -0,0 +1,83 @@
+package io.quarkus.search.app.query;
+
+import java.util.List;
+import java.util.Locale;
+
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.entity.QuarkusVersionAndLanguageRoutingBinder;
+
+/**
+ * The parameters of a guide search, once validated and resolved.
+ *
+ * @param version The version, as requested: may be a comma-separated list, or {@code *}.
+ * @param versions The versions to search, as resolved from {@code version}.
+ * @param fallbackLanguage The language to return hits in when there are none in {@code language},
+ *        or {@code null} to not fall back.
+ * @param verdict How the search should be executed, see {@link QueryGuard}.
+ */
+public record GuideSearchRequest(String version, List<String> versions, List<String> categories, String q,
+        String origin, Language language, Language fallbackLanguage, String highlightCssClass, int page,
+        int contentSnippets, int contentSnippetsLength, QueryGuard.Verdict verdict) {
+
+    public boolean hasQuery() {
+        return q != null && !q.isBlank();
+    }
+
+    public List<String> routingKeys() {
+        return QuarkusVersionAndLanguageRoutingBinder.searchKeys(versions, language);
+    }
+
+    /**
+     * @return The same request, for another query string (e.g. a suggestion), without falling back to another language.
+     */
+    public GuideSearchRequest withQuery(String q) {
+        return new GuideSearchRequest(version, versions, categories, q, origin, language, null, highlightCssClass,
+                page, contentSnippets, contentSnippetsLength, verdict);
+    }
+
+    /**
+     * @return The same request, in the fallback language.
+     */
+    public GuideSearchRequest inFallbackLanguage() {
+        return new GuideSearchRequest(version, versions, categories, q, origin, fallbackLanguage, null,
+                highlightCssClass, page, contentSnippets, contentSnippetsLength, verdict);
+    }
+
+    /**
+     * @return A key identifying this request, i.e. identical for requests that would return identical results.
+     */
+    public String key() {
+        StringBuilder key = new StringBuilder()
+                .append(version).append('|')
+                .append(language.code);
+        if (fallbackLanguage != null) {
+            key.append('>').append(fallbackLanguage.code);
+        }
+        key.append('|')
+                .append(origin == null ? "" : origin).append('|');
+        if (categories != null) {
+            categories.stream().sorted().forEach(category -> key.append(category).append(','));
+        }
+        key.append('|').append(normalizeQuery(q))
+                .append('|').append(highlightCssClass)
+                .append('|').append(page)
+                .append('|').append(contentSnippets)
+                .append('|').append(contentSnippetsLength);
+        return key.toString();
+    }
+
+    /**
+     * @return A search backend preference derived from {@link #key()}.
+     */
+    public String preference() {
+        // Must not start with '_', which is reserved for built-in preferences.
+        return "q" + Integer.toUnsignedString(key().hashCode(), Character.MAX_RADIX);
+    }
+
+    static String normalizeQuery(String q) {
+        if (q == null || q.isBlank()) {
+            return "";
+        }
+        return q.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
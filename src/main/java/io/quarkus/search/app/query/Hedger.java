@@ -0,0 +1,182 @@
+package io.quarkus.search.app.query;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Races a search against a hedge, see {@link SearchHedging}.
+ * <p>
+ * Each hedge holds a permit until both executions of its search completed,
+ * including the one that lost the race, whose request may still be in flight.
+ * The permits thus bound the number of requests sent in addition to those of searches being waited for.
+ */
+final class Hedger {
+
+    private final ExecutorService executor;
+    private final HedgingBudget budget;
+    private final Semaphore permits;
+    private final Counter hedged;
+    private final Counter won;
+
+    Hedger(ExecutorService executor, HedgingBudget budget, int maxConcurrency, Counter hedged, Counter won) {
+        this.executor = executor;
+        this.budget = budget;
+        this.permits = new Semaphore(maxConcurrency);
+        this.hedged = hedged;
+        this.won = won;
+    }
+
+    /**
+     * @param search The search; executions must be able to run concurrently.
+     * @param delayNanos How long to wait for the first execution before sending a hedge.
+     * @return The result of the first execution to complete successfully.
+     */
+    <T> T execute(SearchHedging.Search<T> search, long delayNanos) {
+        budget.earn();
+        Race<T> race = new Race<>();
+        Attempt<T> primary = new Attempt<>(race, search, false);
+        if (!primary.submit()) {
+            // All threads are busy, which shouldn't happen given the concurrency limit of searches and the permits:
+            // don't add even more load.
+            return search.execute(false);
+        }
+        Attempt<T> hedge = null;
+        try {
+            try {
+                return race.first.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Slow: try hedging below.
+            }
+            hedge = tryHedge(race, search, primary);
+            return race.first.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } finally {
+            // The search backend cannot abort requests that were already sent,
+            // but interrupting the loser releases its thread and connection early.
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    private <T> Attempt<T> tryHedge(Race<T> race, SearchHedging.Search<T> search, Attempt<T> primary) {
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        if (!budget.trySpend() || !race.enter()) {
+            permits.release();
+            return null;
+        }
+        Attempt<T> hedge = new Attempt<>(race, search, true);
+        CompletableFuture.allOf(primary.completion, hedge.completion)
+                .whenComplete((ignored, throwable) -> permits.release());
+        if (hedge.submit()) {
+            hedged.increment();
+        }
+        return hedge;
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // Preserve the original exception, so that fault tolerance (fallback, circuit breaker) can react to it.
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException e) {
+            throw e;
+        }
+        if (throwable instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException(throwable.getMessage(), throwable);
+    }
+
+    private static final class Race<T> {
+        private final CompletableFuture<T> first = new CompletableFuture<>();
+        // Executions that may still succeed; the race fails when it drops to zero.
+        private final AtomicInteger running = new AtomicInteger(1);
+
+        /**
+         * @return {@code true} if another execution can enter the race,
+         *         {@code false} if all previous executions already failed.
+         */
+        boolean enter() {
+            return running.getAndUpdate(count -> count == 0 ? 0 : count + 1) > 0;
+        }
+
+        void fail(Throwable throwable) {
+            if (running.decrementAndGet() == 0) {
+                first.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    private final class Attempt<T> implements Runnable {
+        private final Race<T> race;
+        private final SearchHedging.Search<T> search;
+        private final boolean hedge;
+        private final AtomicBoolean started = new AtomicBoolean();
+        // Completes when the execution returned, or when it's cancelled before it started.
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile Future<?> future;
+
+        Attempt(Race<T> race, SearchHedging.Search<T> search, boolean hedge) {
+            this.race = race;
+            this.search = search;
+            this.hedge = hedge;
+        }
+
+        boolean submit() {
+            try {
+                future = executor.submit(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                cancel();
+                race.fail(e);
+                return false;
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return; // Cancelled: don't send a request that nobody is waiting for.
+            }
+            try {
+                T result = search.execute(hedge);
+                if (race.first.complete(result) && hedge) {
+                    won.increment();
+                }
+            } catch (RuntimeException | Error e) {
+                race.fail(e);
+            } finally {
+                completion.complete(null);
+            }
+        }
+
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                completion.complete(null);
+            }
+            Future<?> submitted = future;
+            if (submitted != null) {
+                submitted.cancel(true);
+            }
+        }
+    }
+}
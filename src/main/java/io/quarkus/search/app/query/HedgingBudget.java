@@ -0,0 +1,49 @@
+package io.quarkus.search.app.query;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the extra load caused by hedging: each search earns a fraction of a hedge,
+ * and each hedge spends one, as long as there is at least one available.
+ * <p>
+ * Lock-free, since every search goes through it.
+ *
+ * @see SearchHedging
+ */
+final class HedgingBudget {
+
+    // Fixed-point amounts, so that they can be updated atomically.
+    private static final long ONE = 1_000_000L;
+
+    private final long ratio;
+    private final long burst;
+    private final AtomicLong available = new AtomicLong();
+
+    /**
+     * @param ratio The fraction of a hedge earned by each search.
+     * @param burst The maximum number of hedges that can be accumulated.
+     */
+    HedgingBudget(double ratio, double burst) {
+        this.ratio = Math.round(ratio * ONE);
+        this.burst = Math.round(burst * ONE);
+    }
+
+    void earn() {
+        available.updateAndGet(current -> Math.min(burst, current + ratio));
+    }
+
+    boolean trySpend() {
+        long current;
+        do {
+            current = available.get();
+            if (current < ONE) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - ONE));
+        return true;
+    }
+
+    double available() {
+        return (double) available.get() / ONE;
+    }
+}
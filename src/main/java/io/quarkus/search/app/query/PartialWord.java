@@ -0,0 +1,57 @@
+package io.quarkus.search.app.query;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The last word of a query string, which the user may not have finished typing,
+ * given the syntax we enable for simple query strings (AND, OR, PHRASE).
+ * <p>
+ * Used to match that word as a prefix when edge n-grams are not indexed,
+ * see {@link io.quarkus.search.app.SearchingConfig.Autocomplete.Mode#PREFIX}.
+ *
+ * @param before The rest of the query string, before the last word, or {@code null} if there is none.
+ * @param prefix The last word, normalized to lowercase.
+ */
+public record PartialWord(String before, String prefix) {
+
+    // Same as the edge n-gram filters: shorter prefixes would match too many terms.
+    public static final int MIN_LENGTH = 2;
+
+    // A trailing word, preceded by whitespace or nothing: anything else (quotes, dots, hyphens, ...)
+    // means the word is part of a phrase or compound name, which we don't attempt to complete.
+    private static final Pattern LAST_WORD = Pattern
+            .compile("(?:^|(?<=\\s))([\\p{L}\\p{N}]{" + MIN_LENGTH + ",})\\s*$");
+    // Chinese and Japanese are written without spaces between words, so the "last word" would be
+    // the whole trailing run of text, which never matches the (much shorter) tokens produced by their analyzers.
+    private static final Pattern UNSPACED_SCRIPT = Pattern
+            .compile("[\\p{IsHan}\\p{IsHiragana}\\p{IsKatakana}]");
+
+    /**
+     * @param q The query string, as passed by the user.
+     * @return The last word of the query string, or {@code null} if it cannot be matched as a prefix.
+     */
+    public static PartialWord of(String q) {
+        if (q == null || q.isBlank()) {
+            return null;
+        }
+        Matcher matcher = LAST_WORD.matcher(q);
+        if (!matcher.find()) {
+            return null;
+        }
+        if (UNSPACED_SCRIPT.matcher(matcher.group(1)).find()) {
+            return null;
+        }
+        String before = q.substring(0, matcher.start()).trim();
+        if (before.chars().filter(c -> c == '"').count() % 2 != 0) {
+            // Within a phrase that is not closed yet.
+            return null;
+        }
+        if (before.endsWith("|") || before.endsWith("+")) {
+            // Operand of an explicit operator: removing it would change the meaning of the rest of the query.
+            return null;
+        }
+        return new PartialWord(before.isEmpty() ? null : before, matcher.group(1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,61 @@
+package io.quarkus.search.app.query;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A rough estimate of how expensive a query string will be to execute,
+ * given the syntax we enable for simple query strings (AND, OR, PHRASE).
+ *
+ * @param terms The number of terms in the query, including terms in phrases.
+ * @param phraseTerms The number of terms in phrases.
+ * @param longestPhrase The number of terms in the longest phrase.
+ * @param orOperators The number of OR operators.
+ */
+public record QueryComplexity(int terms, int phraseTerms, int longestPhrase, int orOperators) {
+
+    // Close enough to what the standard tokenizer would produce, for the purpose of estimating cost.
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    public static QueryComplexity of(String q) {
+        if (q == null || q.isBlank()) {
+            return new QueryComplexity(0, 0, 0, 0);
+        }
+        int terms = 0;
+        int phraseTerms = 0;
+        int longestPhrase = 0;
+        int orOperators = 0;
+        // Odd segments are within quotes, i.e. phrases... unless the last quote is not closed.
+        String[] segments = q.split("\"", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            int segmentTerms = countTerms(segment);
+            terms += segmentTerms;
+            if (i % 2 == 1 && i < segments.length - 1) {
+                phraseTerms += segmentTerms;
+                longestPhrase = Math.max(longestPhrase, segmentTerms);
+            } else {
+                orOperators += (int) segment.chars().filter(c -> c == '|').count();
+            }
+        }
+        return new QueryComplexity(terms, phraseTerms, longestPhrase, orOperators);
+    }
+
+    private static int countTerms(String text) {
+        int count = 0;
+        Matcher matcher = TERM.matcher(text);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return An estimated cost, in arbitrary units.
+     *         Each term costs 1, each term in a phrase costs 2 more (positions must be checked),
+     *         and each OR operator costs 2 more (disjunctions cannot skip as many documents as conjunctions).
+     */
+    public int cost() {
+        return terms + 2 * phraseTerms + 2 * orOperators;
+    }
+}
@@ -0,0 +1,113 @@
+package io.quarkus.search.app.query;
+
+import java.util.Locale;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+
+import io.quarkus.search.app.SearchingConfig;
+
+import io.quarkus.logging.Log;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Protects the search backend against abusive query strings (pasted stack traces, hundreds of OR'd terms, ...),
+ * by downgrading the corresponding searches to cheaper ones, or rejecting them altogether.
+ */
+@ApplicationScoped
+public class QueryGuard {
+
+    private static final String METRIC_NAME = "search.query.guard";
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * @param q The query string, as passed by the user.
+     * @return How the search should be executed.
+     * @throws BadRequestException If the query is too expensive to be executed at all.
+     */
+    public Verdict check(String q) {
+        var config = searchingConfig.queryGuard();
+        if (!config.enabled() || q == null || q.isBlank()) {
+            return Verdict.FULL;
+        }
+        QueryComplexity complexity = QueryComplexity.of(q);
+        int cost = complexity.cost();
+        if (complexity.terms() > config.maxTerms()) {
+            throw reject(complexity, "Too many terms in query: %s terms, maximum is %s."
+                    .formatted(complexity.terms(), config.maxTerms()));
+        }
+        if (complexity.longestPhrase() > config.maxPhraseTerms()) {
+            throw reject(complexity, "Phrase too long in query: %s terms, maximum is %s."
+                    .formatted(complexity.longestPhrase(), config.maxPhraseTerms()));
+        }
+        if (cost > config.rejectCost()) {
+            throw reject(complexity, "Query too complex, please simplify it.");
+        }
+        Verdict verdict;
+        if (cost > config.withoutHighlightingCost()) {
+            verdict = Verdict.WITHOUT_HIGHLIGHTING;
+        } else if (cost > config.withoutAutocompleteCost()) {
+            verdict = Verdict.WITHOUT_AUTOCOMPLETE;
+        } else {
+            return Verdict.FULL;
+        }
+        Log.debugf("Downgrading search to %s for query of complexity %s", verdict, complexity);
+        count(verdict.name());
+        return verdict;
+    }
+
+    private BadRequestException reject(QueryComplexity complexity, String message) {
+        Log.debugf("Rejecting search for query of complexity %s", complexity);
+        count("rejected");
+        return new BadRequestException(message);
+    }
+
+    private void count(String action) {
+        meterRegistry.counter(METRIC_NAME, "action", action.toLowerCase(Locale.ROOT)).increment();
+    }
+
+    public enum Verdict {
+        /**
+         * Execute the search as usual.
+         */
+        FULL(true, true),
+        /**
+         * Do not search autocomplete fields, whose term dictionaries are much larger.
+         */
+        WITHOUT_AUTOCOMPLETE(false, true),
+        /**
+         * Do not search autocomplete fields, and skip content highlighting and suggestions,
+         * which both require analyzing large amounts of text.
+         */
+        WITHOUT_HIGHLIGHTING(false, false);
+
+        private final boolean autocomplete;
+        private final boolean highlighting;
+
+        Verdict(boolean autocomplete, boolean highlighting) {
+            this.autocomplete = autocomplete;
+            this.highlighting = highlighting;
+        }
+
+        /**
+         * @return Whether to search autocomplete fields.
+         */
+        public boolean autocomplete() {
+            return autocomplete;
+        }
+
+        /**
+         * @return Whether to highlight content and compute suggestions.
+         */
+        public boolean highlighting() {
+            return highlighting;
+        }
+    }
+}
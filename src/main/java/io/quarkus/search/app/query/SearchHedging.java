@@ -0,0 +1,217 @@
+package io.quarkus.search.app.query;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.entity.Guide;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValuePercentile;
+import io.opentelemetry.context.Context;
+
+/**
+ * Hedges searches: when a search didn't complete within the recent 95th percentile of search latency,
+ * a duplicate is sent (preferably to another shard copy), and whichever completes first wins.
+ * <p>
+ * This trades a bit of extra load for lower tail latency when a single node is slow (GC pause, merges, ...),
+ * so it only makes sense when indexes have replicas: hedging is suspended while they don't.
+ * The extra load is bounded by a budget: each search earns a fraction of a hedge,
+ * and hedges are only sent while there is enough budget left;
+ * on top of that, the number of extra requests in flight is bounded, see {@link Hedger}.
+ */
+@ApplicationScoped
+public class SearchHedging {
+
+    private static final String HEDGED_METRIC_NAME = "search.hedging.hedged";
+    private static final String WON_METRIC_NAME = "search.hedging.won";
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    SearchMapping searchMapping;
+
+    private ExecutorService executor;
+    private Hedger hedger;
+    private volatile boolean replicated;
+
+    private volatile long delayNanos;
+    private volatile long delayComputedAtNanos;
+
+    @PostConstruct
+    void init() {
+        var config = searchingConfig.hedging();
+        if (!config.enabled()) {
+            return;
+        }
+        // Searches are waited for within the concurrency limit of searches (see SearchService#search),
+        // and hedges hold a permit until both executions completed:
+        // this is enough threads for all of them, and extra tasks are executed in the caller thread.
+        int maxThreads = searchingConfig.concurrency().max() + config.maxConcurrency();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(0, maxThreads, 1, TimeUnit.MINUTES, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-hedging");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Tasks carry the tracing context of the thread that submitted them.
+        executor = Context.taskWrapping(pool);
+        hedger = new Hedger(executor, new HedgingBudget(config.budgetRatio(), config.budgetBurst()),
+                config.maxConcurrency(), meterRegistry.counter(HEDGED_METRIC_NAME),
+                meterRegistry.counter(WON_METRIC_NAME));
+        delayNanos = config.minDelay().toNanos();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes the given search, hedging it if it's too slow and the budget allows.
+     *
+     * @param search The search; will be executed concurrently when hedging,
+     *        and thus must not share non-thread-safe state (sessions, ...) between executions.
+     * @return The result of the first execution to complete successfully.
+     */
+    public <T> T execute(Search<T> search) {
+        if (hedger == null || !replicated) {
+            return search.execute(false);
+        }
+        return hedger.execute(withRequestContext(search), delayNanos());
+    }
+
+    // Executions may rely on request-scoped beans (e.g. to mark responses as stale),
+    // but run in other threads: propagate the request context of the caller.
+    private static <T> Search<T> withRequestContext(Search<T> search) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        if (!requestContext.isActive()) {
+            return search;
+        }
+        InjectableContext.ContextState state = requestContext.getState();
+        return hedge -> {
+            if (requestContext.isActive()) {
+                // Executed in the caller thread.
+                return search.execute(hedge);
+            }
+            requestContext.activate(state);
+            try {
+                return search.execute(hedge);
+            } finally {
+                // Deactivates without destroying: the context belongs to the caller.
+                requestContext.deactivate();
+            }
+        };
+    }
+
+    /**
+     * Hedges are only useful if another copy of shards can serve them:
+     * with a single search backend node (see auto_expand_replicas in settings-template.json),
+     * they would just add load to the node that's already slow.
+     */
+    @Scheduled(every = "{searching.hedging.replicas-check-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void checkReplicas() {
+        if (hedger == null) {
+            return;
+        }
+        boolean wasReplicated = replicated;
+        try {
+            replicated = minReplicas() > 0;
+        } catch (IOException | RuntimeException e) {
+            Log.debugf(e, "Failed to retrieve the number of replicas, suspending hedging: %s", e.getMessage());
+            replicated = false;
+        }
+        if (replicated != wasReplicated) {
+            Log.infof("Hedging of searches %s", replicated ? "resumed: indexes have replicas"
+                    : "suspended: indexes have no replicas");
+        }
+    }
+
+    private int minReplicas() throws IOException {
+        String readName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+        var request = new Request("GET", "/" + readName + "/_settings/index.number_of_replicas");
+        var response = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
+                .performRequest(request);
+        JsonObject indexes;
+        try (var input = response.getEntity().getContent()) {
+            indexes = JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8)).getAsJsonObject();
+        }
+        // The read alias may target several indexes while reindexing.
+        int min = Integer.MAX_VALUE;
+        for (var index : indexes.entrySet()) {
+            min = Math.min(min, index.getValue().getAsJsonObject().getAsJsonObject("settings")
+                    .getAsJsonObject("index").get("number_of_replicas").getAsInt());
+        }
+        return indexes.isEmpty() ? 0 : min;
+    }
+
+    private long delayNanos() {
+        long now = System.nanoTime();
+        if (now - delayComputedAtNanos > DELAY_REFRESH_NANOS) {
+            // Computing percentiles isn't free: only do it once in a while.
+            delayComputedAtNanos = now;
+            long minDelayNanos = searchingConfig.hedging().minDelay().toNanos();
+            delayNanos = Math.max(minDelayNanos, p95Nanos());
+        }
+        return delayNanos;
+    }
+
+    private long p95Nanos() {
+        Timer timer = meterRegistry.find(SearchService.LATENCY_METRIC_NAME).timer();
+        if (timer == null) {
+            return 0L;
+        }
+        for (ValuePercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.95) {
+                return (long) value.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0L;
+    }
+
+    @FunctionalInterface
+    public interface Search<T> {
+        /**
+         * @param hedge {@code true} if this execution is a hedge,
+         *        in which case it should preferably target other shard copies.
+         * @return The result of the search.
+         */
+        T execute(boolean hedge);
+    }
+}
@@ -0,0 +1,103 @@
+package io.quarkus.search.app.query;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Condenses the (very verbose) output of the search backend's profile API
+ * into a per-shard, per-clause timing breakdown that can be read by a human.
+ *
+ * @see <a href="https://www.elastic.co/guide/en/elasticsearch/reference/current/search-profile.html">Profile API</a>
+ */
+public final class SearchProfile {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    private SearchProfile() {
+    }
+
+    /**
+     * @param responseBody The response to a search request sent with {@code "profile": true}.
+     * @param suggestTookMillis The time taken by the suggest phase, which is not profiled by the search backend,
+     *        or {@code null} if there was no suggestion.
+     * @return A condensed timing breakdown.
+     */
+    public static JsonObject condense(JsonObject responseBody, Long suggestTookMillis) {
+        JsonObject result = new JsonObject();
+        result.add("took", responseBody.get("took"));
+        JsonArray shards = new JsonArray();
+        result.add("shards", shards);
+        JsonObject profile = responseBody.getAsJsonObject("profile");
+        if (profile != null) {
+            for (JsonElement shard : profile.getAsJsonArray("shards")) {
+                shards.add(condenseShard(shard.getAsJsonObject()));
+            }
+        }
+        if (suggestTookMillis != null) {
+            JsonObject suggest = new JsonObject();
+            result.add("suggest", suggest);
+            suggest.addProperty("took", suggestTookMillis);
+        }
+        return result;
+    }
+
+    private static JsonObject condenseShard(JsonObject shard) {
+        JsonObject result = new JsonObject();
+        result.add("id", shard.get("id"));
+        JsonArray query = new JsonArray();
+        result.add("query", query);
+        long rewriteNanos = 0L;
+        long collectorNanos = 0L;
+        for (JsonElement element : shard.getAsJsonArray("searches")) {
+            JsonObject search = element.getAsJsonObject();
+            for (JsonElement clause : search.getAsJsonArray("query")) {
+                query.add(condenseClause(clause.getAsJsonObject()));
+            }
+            rewriteNanos += search.get("rewrite_time").getAsLong();
+            for (JsonElement collector : search.getAsJsonArray("collector")) {
+                collectorNanos += collector.getAsJsonObject().get("time_in_nanos").getAsLong();
+            }
+        }
+        result.addProperty("rewriteMs", toMillis(rewriteNanos));
+        result.addProperty("collectorMs", toMillis(collectorNanos));
+        JsonObject fetch = shard.getAsJsonObject("fetch");
+        if (fetch != null) {
+            result.addProperty("fetchMs", toMillis(fetch.get("time_in_nanos").getAsLong()));
+            JsonArray phases = fetch.getAsJsonArray("children");
+            if (phases != null) {
+                for (JsonElement element : phases) {
+                    JsonObject phase = element.getAsJsonObject();
+                    if (phase.get("type").getAsString().contains("Highlight")) {
+                        result.addProperty("highlightMs", toMillis(phase.get("time_in_nanos").getAsLong()));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static JsonObject condenseClause(JsonObject clause) {
+        JsonObject result = new JsonObject();
+        result.add("type", clause.get("type"));
+        String description = clause.get("description").getAsString();
+        result.addProperty("description", description.length() > MAX_DESCRIPTION_LENGTH
+                ? description.substring(0, MAX_DESCRIPTION_LENGTH) + "…"
+                : description);
+        result.addProperty("timeMs", toMillis(clause.get("time_in_nanos").getAsLong()));
+        JsonArray children = clause.getAsJsonArray("children");
+        if (children != null && !children.isEmpty()) {
+            JsonArray condensedChildren = new JsonArray();
+            result.add("children", condensedChildren);
+            for (JsonElement child : children) {
+                condensedChildren.add(condenseClause(child.getAsJsonObject()));
+            }
+        }
+        return result;
+    }
+
+    private static double toMillis(long nanos) {
+        // Microsecond precision is more than enough.
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,164 @@
+package io.quarkus.search.app.query;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchingConfig;
+import io.quarkus.search.app.health.WarmUpRequest;
+import io.quarkus.search.app.util.BackgroundWriter;
+
+import io.quarkus.logging.Log;
+
+import com.google.gson.JsonObject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Logs searches that took longer than a threshold, with everything needed to reproduce them:
+ * normalized parameters, routing keys, and the exact request(s) sent to the search backend.
+ * <p>
+ * Entries are handed over to the {@link BackgroundWriter} through a bounded queue,
+ * so that logging never blocks (or slows down further) the request thread;
+ * entries are dropped when the queue is full.
+ */
+@ApplicationScoped
+public class SlowQueryLog {
+
+    private static final String DROPPED_METRIC_NAME = "search.slow_query_log.dropped";
+    private static final Duration WRITE_INTERVAL = Duration.ofSeconds(1);
+
+    @Inject
+    SearchingConfig searchingConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    BackgroundWriter backgroundWriter;
+
+    private BlockingQueue<Entry> queue;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        var config = searchingConfig.slowQueryLog();
+        if (!config.enabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(config.queueSize());
+        dropped = meterRegistry.counter(DROPPED_METRIC_NAME);
+        backgroundWriter.register(this::write, WRITE_INTERVAL);
+    }
+
+    /**
+     * @return A new trace, to pass to {@link #record(Trace, String, List)} once the search is done.
+     */
+    public Trace start() {
+        return new Trace(System.nanoTime());
+    }
+
+    /**
+     * Records the given search if it was slow (and sampled); never blocks.
+     *
+     * @param trace The trace returned by {@link #start()}, and filled in while searching.
+     * @param requestKey The normalized parameters of the search.
+     * @param routingKeys The routing keys passed to the search backend.
+     */
+    public void record(Trace trace, String requestKey, List<String> routingKeys) {
+        if (queue == null || WarmUpRequest.isCurrent()) {
+            return;
+        }
+        var config = searchingConfig.slowQueryLog();
+        Duration duration = Duration.ofNanos(System.nanoTime() - trace.startNanos);
+        if (duration.compareTo(config.threshold()) < 0) {
+            return;
+        }
+        if (config.samplingRate() < 1.0 && ThreadLocalRandom.current().nextDouble() >= config.samplingRate()) {
+            return;
+        }
+        if (!queue.offer(new Entry(duration, trace.took(), trace.suggestionRetried(), trace.requestBodies(), requestKey,
+                routingKeys))) {
+            dropped.increment();
+        }
+    }
+
+    private boolean write() {
+        // Draining at most as many entries as the queue can hold, so that other background tasks get to run.
+        int remaining = searchingConfig.slowQueryLog().queueSize();
+        Entry entry;
+        while (remaining > 0 && (entry = queue.poll()) != null) {
+            remaining--;
+            // Serializing request bodies is relatively expensive: this is why we do it here.
+            Log.warnf("Slow search: %sms (search backend took %sms). Request key: '%s'. Routing keys: %s."
+                    + " Suggestion retry: %s. Requests (including suggestion retries and hedges): %s."
+                    + " Request bodies: %s",
+                    entry.duration().toMillis(), entry.took().toMillis(), entry.requestKey(),
+                    entry.routingKeys(), entry.suggestionRetry(), entry.requestBodies().size(),
+                    entry.requestBodies());
+        }
+        return remaining == 0;
+    }
+
+    private record Entry(Duration duration, Duration took, boolean suggestionRetry, List<JsonObject> requestBodies,
+            String requestKey, List<String> routingKeys) {
+    }
+
+    /**
+     * Collects information about a single search, which may involve multiple requests to the search backend
+     * (e.g. when retrying with a suggestion).
+     * <p>
+     * Thread-safe, since hedged searches (see {@link SearchHedging}) send requests concurrently.
+     */
+    public static final class Trace {
+        private final long startNanos;
+        private final List<JsonObject> requestBodies = new ArrayList<>(1);
+        private Duration took = Duration.ZERO;
+        private boolean suggestionRetry;
+
+        private Trace(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param body The body of a request about to be sent to the search backend; must not be mutated afterwards.
+         */
+        public synchronized void request(JsonObject body) {
+            requestBodies.add(body);
+        }
+
+        /**
+         * @param responseBody The body of a response from the search backend, to a search or multi-search.
+         */
+        public synchronized void response(JsonObject responseBody) {
+            took = took.plus(Duration.ofMillis(responseBody.get("took").getAsLong()));
+        }
+
+        /**
+         * Marks the search as retried with a suggestion, because the original query didn't match anything.
+         */
+        public synchronized void suggestionRetry() {
+            suggestionRetry = true;
+        }
+
+        private synchronized boolean suggestionRetried() {
+            return suggestionRetry;
+        }
+
+        private synchronized Duration took() {
+            return took;
+        }
+
+        private synchronized List<JsonObject> requestBodies() {
+            return List.copyOf(requestBodies);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.quarkus.search.app.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many operations can be in flight at the same time,
+ * with a limit that can be changed while operations are in flight.
+ * <p>
+ * Lowering the limit doesn't interrupt operations that are already in flight,
+ * but prevents new ones from starting until enough of them completed.
+ */
+public final class AdaptiveLimiter {
+
+    private final int maxLimit;
+    private int limit;
+    private int inFlight;
+
+    /**
+     * @param maxLimit The maximum (and initial) limit.
+     */
+    public AdaptiveLimiter(int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Waits until the number of operations in flight is under the limit, then starts an operation.
+     * Must be followed by a call to {@link #release()} when the operation completes.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Waits at most {@code timeout} until the number of operations in flight is under the limit,
+     * then starts an operation.
+     * Must be followed by a call to {@link #release()} when the operation completes, if it returns {@code true}.
+     *
+     * @return {@code true} if the operation was started, {@code false} if the timeout elapsed before it could be.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public synchronized boolean tryAcquire(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight >= limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Signals that an operation started with {@link #acquire()} or {@link #tryAcquire(Duration)} completed.
+     */
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    /**
+     * @param limit The new limit, which will be capped to {@code [0, maxLimit]};
+     *        {@code 0} pauses all operations until the limit is raised again.
+     */
+    public synchronized void limit(int limit) {
+        this.limit = Math.max(0, Math.min(limit, maxLimit));
+        notifyAll();
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
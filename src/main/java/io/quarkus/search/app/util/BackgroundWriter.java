@@ -0,0 +1,108 @@
+package io.quarkus.search.app.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.quarkus.logging.Log;
+
+/**
+ * A single daemon thread that periodically drains the queues of components
+ * that must never block the request thread (search analytics, slow query log, ...),
+ * and writes their content out.
+ * <p>
+ * The thread is only started when the first task gets registered.
+ */
+@ApplicationScoped
+public class BackgroundWriter {
+
+    private final List<Task> tasks = new CopyOnWriteArrayList<>();
+    private Thread thread;
+    private volatile boolean stopping;
+    private volatile long idleNanos = Long.MAX_VALUE;
+
+    /**
+     * @param task The task to run repeatedly.
+     * @param idleInterval How long the task can wait before being run again, when it has nothing left to process.
+     */
+    public synchronized void register(Task task, Duration idleInterval) {
+        tasks.add(task);
+        idleNanos = Math.min(idleNanos, idleInterval.toNanos());
+        if (thread == null) {
+            thread = new Thread(this::run, "background-writer");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            // The idle interval may have changed.
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @PreDestroy
+    synchronized void stop() throws InterruptedException {
+        if (thread != null) {
+            stopping = true;
+            LockSupport.unpark(thread);
+            // Give tasks a chance to flush remaining items.
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (true) {
+            // Read the flag before draining, so that we don't miss items added right before stopping.
+            boolean stop = stopping;
+            boolean more = false;
+            for (Task task : tasks) {
+                more |= drain(task);
+            }
+            if (!more) {
+                if (stop) {
+                    break;
+                }
+                // Queues are empty: wait for more items to accumulate.
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        for (Task task : tasks) {
+            try {
+                task.close();
+            } catch (IOException | RuntimeException e) {
+                Log.warnf(e, "Failed to close background writer task %s: %s", task, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean drain(Task task) {
+        try {
+            return task.drain();
+        } catch (RuntimeException e) {
+            // Don't let one task prevent others from running.
+            Log.errorf(e, "Background writer task %s failed: %s", task, e.getMessage());
+            return false;
+        }
+    }
+
+    public interface Task extends Closeable {
+        /**
+         * Processes a bounded number of pending items; must not block.
+         *
+         * @return {@code true} if there may be more items to process right away, {@code false} otherwise.
+         */
+        boolean drain();
+
+        /**
+         * Called once after the last call to {@link #drain()}, when the application stops.
+         */
+        @Override
+        default void close() throws IOException {
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.quarkus.search.app.util;
 
 import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import io.smallrye.mutiny.Multi;
@@ -27,9 +28,13 @@ public final class MutinyUtils {
     }
 
     public static <T> Uni<T> runOnWorkerPool(Supplier<T> action) {
+        return runOn(Infrastructure.getDefaultWorkerPool(), action);
+    }
+
+    public static <T> Uni<T> runOn(Executor executor, Supplier<T> action) {
         return Uni.createFrom()
                 .item(action)
-                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+                .runSubscriptionOn(executor);
     }
 
     public static <T> Uni<T> schedule(Duration delay, Supplier<Uni<T>> action) {
@@ -0,0 +1,108 @@
+package io.quarkus.search.app.util;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Helpers to create tracing spans from anywhere, including code that doesn't have access to CDI
+ * (static methods, Hibernate Search loading strategies, ...).
+ * <p>
+ * When tracing is disabled, or outside of a Quarkus application (e.g. in unit tests), spans are no-ops.
+ */
+public final class Tracing {
+
+    private static final String INSTRUMENTATION_SCOPE = "io.quarkus.search.app";
+
+    private Tracing() {
+    }
+
+    /**
+     * Executes the given work in a new span, child of the current span (if any).
+     *
+     * @param spanName The name of the span.
+     * @param work The work to execute.
+     * @return The result of {@code work}.
+     * @throws E If {@code work} throws.
+     */
+    public static <T, E extends Throwable> T trace(String spanName, Work<T, E> work) throws E {
+        return trace(spanName, Context.current(), work);
+    }
+
+    /**
+     * Executes the given work in a new span, child of the given context;
+     * useful when the work is executed in another thread, which doesn't have access to the current context.
+     *
+     * @param spanName The name of the span.
+     * @param parent The parent context, generally retrieved earlier through {@link Context#current()}.
+     * @param work The work to execute.
+     * @return The result of {@code work}.
+     * @throws E If {@code work} throws.
+     */
+    public static <T, E extends Throwable> T trace(String spanName, Context parent, Work<T, E> work) throws E {
+        Span span = tracer().spanBuilder(spanName).setParent(parent).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return work.execute(span);
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Executes the given work, which doesn't return anything, in a new span, child of the current span (if any).
+     * <p>
+     * Not an overload of {@link #trace(String, Work)}, which would be ambiguous for lambdas such as
+     * {@code span -> doSomething()}.
+     *
+     * @param spanName The name of the span.
+     * @param work The work to execute.
+     * @throws E If {@code work} throws.
+     */
+    public static <E extends Throwable> void run(String spanName, VoidWork<E> work) throws E {
+        run(spanName, Context.current(), work);
+    }
+
+    /**
+     * Executes the given work, which doesn't return anything, in a new span, child of the given context.
+     *
+     * @param spanName The name of the span.
+     * @param parent The parent context, generally retrieved earlier through {@link Context#current()}.
+     * @param work The work to execute.
+     * @throws E If {@code work} throws.
+     * @see #trace(String, Context, Work)
+     */
+    public static <E extends Throwable> void run(String spanName, Context parent, VoidWork<E> work) throws E {
+        Tracing.<Void, E> trace(spanName, parent, span -> {
+            work.execute(span);
+            return null;
+        });
+    }
+
+    private static Tracer tracer() {
+        ArcContainer container = Arc.container();
+        if (container == null || !container.isRunning()) {
+            return OpenTelemetry.noop().getTracer(INSTRUMENTATION_SCOPE);
+        }
+        return container.select(OpenTelemetry.class).get().getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    @FunctionalInterface
+    public interface Work<T, E extends Throwable> {
+        T execute(Span span) throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidWork<E extends Throwable> {
+        void execute(Span span) throws E;
+    }
+}
@@ -0,0 +1,77 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.quarkus.search.app.dto.ConfigPropertyHit;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(ConfigPropertyService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class ConfigPropertyServiceTest {
+    private static final TypeRef<List<ConfigPropertyHit>> LIST_OF_HITS = new TypeRef<>() {
+    };
+    private static final String CONFIG_PROPERTIES = "/config-properties";
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void exact() {
+        var result = given()
+                .queryParam("q", "quarkus.hibernate-orm.enabled")
+                .queryParam("exact", true)
+                .when().get(CONFIG_PROPERTIES)
+                .then()
+                .statusCode(200)
+                .extract().body().as(LIST_OF_HITS);
+        assertThat(result).singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.key()).isEqualTo("quarkus.hibernate-orm.enabled");
+                    assertThat(hit.guides()).contains(GuideRef.HIBERNATE_ORM.url()
+                            .resolve("#quarkus-hibernate-orm_quarkus-hibernate-orm-enabled"));
+                });
+    }
+
+    @Test
+    void prefix() {
+        var result = given()
+                .queryParam("q", "quarkus.hibernate-orm.")
+                .when().get(CONFIG_PROPERTIES)
+                .then()
+                .statusCode(200)
+                .extract().body().as(LIST_OF_HITS);
+        assertThat(result).hasSizeGreaterThan(1)
+                .extracting(ConfigPropertyHit::key)
+                .allSatisfy(key -> assertThat(key).startsWith("quarkus.hibernate-orm."))
+                .isSorted();
+    }
+
+    @Test
+    void missingKey() {
+        given()
+                .when().get(CONFIG_PROPERTIES)
+                .then()
+                .statusCode(400);
+    }
+}
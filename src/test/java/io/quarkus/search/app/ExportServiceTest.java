@@ -0,0 +1,98 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import io.quarkus.search.app.dto.GuideExport;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(ExportService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(ExportServiceTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class ExportServiceTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // Small pages, so that we exercise search_after.
+            return Map.of("searching.export.page-size", "3");
+        }
+    }
+
+    private static final String GUIDES_EXPORT = "/guides/export";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<GuideExport> export(String version) {
+        String body = given()
+                .queryParam("version", version)
+                .when().get(GUIDES_EXPORT)
+                .then()
+                .statusCode(200)
+                .contentType(ExportService.APPLICATION_NDJSON)
+                .extract().body().asString();
+        return body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, GuideExport.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Invalid line: " + line, e);
+                    }
+                })
+                .toList();
+    }
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void latest() {
+        assertThat(export(QuarkusVersions.LATEST)).extracting(GuideExport::url)
+                .containsExactlyInAnyOrder(GuideRef.urls(QuarkusIOSample.SearchServiceFilterDefinition.guides()));
+    }
+
+    @Test
+    void version() {
+        assertThat(export(QuarkusVersions.MAIN))
+                .isNotEmpty()
+                .allSatisfy(guide -> {
+                    assertThat(guide.quarkusVersion()).isEqualTo(QuarkusVersions.MAIN);
+                    assertThat(guide.title()).isNotBlank();
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "*", QuarkusVersions.LATEST + "," + QuarkusVersions.MAIN, " " })
+    void version_notSingle(String version) {
+        given()
+                .queryParam("version", version)
+                .when().get(GUIDES_EXPORT)
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,177 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.cache.LastKnownGoodResults;
+import io.quarkus.search.app.local.LocalIndex;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.hibernate.search.util.common.SearchException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.awaitility.Awaitility;
+
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+
+/**
+ * Simulates search backend failures through the local index,
+ * which serves reference data instead of the search backend when it's the primary one.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(ReferenceServiceFaultToleranceTest.Profile.class)
+@QuarkusIOSample.Setup
+class ReferenceServiceFaultToleranceTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("searching.last-known-good.revalidate-interval", "1s");
+        }
+    }
+
+    private static final String VERSIONS_FIELD = "quarkusVersion";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Inject
+    ReferenceService referenceService;
+
+    @CacheName(LastKnownGoodResults.CACHE_NAME)
+    Cache lastKnownGoodCache;
+
+    @CacheName("reference-cache")
+    Cache referenceCache;
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    private LocalIndex localIndex;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    @BeforeEach
+    void resetState() {
+        localIndex = mock(LocalIndex.class);
+        doReturn(true).when(localIndex).isPrimary();
+        QuarkusMock.installMockForType(localIndex, LocalIndex.class);
+        referenceService.invalidateCaches();
+        lastKnownGoodCache.invalidateAll().await().indefinitely();
+        circuitBreakerMaintenance.resetAll();
+    }
+
+    private ExtractableResponse<Response> getVersions(int expectedStatus) {
+        return given()
+                .when().get("/versions")
+                .then()
+                .statusCode(expectedStatus)
+                .extract();
+    }
+
+    private static List<String> versions(ExtractableResponse<Response> response) {
+        return response.jsonPath().getList(".", String.class);
+    }
+
+    private void backendReturns(String... versions) {
+        doReturn(List.of(versions)).when(localIndex).allValues(VERSIONS_FIELD);
+    }
+
+    private void backendFails() {
+        doThrow(new SearchException("Simulated failure")).when(localIndex).allValues(VERSIONS_FIELD);
+    }
+
+    @Test
+    void fallback() {
+        backendReturns("3.2");
+        var fresh = getVersions(200);
+        assertThat(versions(fresh)).containsExactly("3.2");
+        assertThat(fresh.header("Warning")).isNull();
+
+        referenceService.invalidateCaches();
+        backendFails();
+        var stale = getVersions(200);
+        assertThat(versions(stale)).containsExactly("3.2");
+        assertThat(stale.header("Warning")).isEqualTo(STALE_WARNING);
+
+        // The stale result must not have been cached: the next request hits the search backend again.
+        backendReturns("3.3", "3.2");
+        var recovered = getVersions(200);
+        assertThat(versions(recovered)).containsExactly("3.3", "3.2");
+        assertThat(recovered.header("Warning")).isNull();
+    }
+
+    @Test
+    void fallback_noLastKnownGood() {
+        backendFails();
+        getVersions(503);
+    }
+
+    @Test
+    void circuitBreaker() {
+        backendFails();
+        // See requestVolumeThreshold on ReferenceService#versions.
+        for (int i = 0; i < 4; i++) {
+            getVersions(503);
+        }
+        verify(localIndex, times(4)).allValues(VERSIONS_FIELD);
+        clearInvocations(localIndex);
+
+        // The circuit is open: we don't even try to reach the search backend.
+        getVersions(503);
+        verify(localIndex, never()).allValues(VERSIONS_FIELD);
+    }
+
+    @Test
+    void revalidation() {
+        backendReturns("3.2");
+        getVersions(200);
+        referenceService.invalidateCaches();
+        backendFails();
+        assertThat(getVersions(200).header("Warning")).isEqualTo(STALE_WARNING);
+
+        // The search backend recovers: the stale result gets refreshed in the background.
+        backendReturns("3.3", "3.2");
+        Awaitility.await().atMost(Duration.ofSeconds(10))
+                .until(() -> referenceCache.as(CaffeineCache.class).getIfPresent("versions") != null);
+
+        // Served from the refreshed cache, without calling the search backend again.
+        backendFails();
+        clearInvocations(localIndex);
+        var refreshed = getVersions(200);
+        assertThat(versions(refreshed)).containsExactly("3.3", "3.2");
+        assertThat(refreshed.header("Warning")).isNull();
+        verify(localIndex, never()).allValues(VERSIONS_FIELD);
+    }
+}
@@ -0,0 +1,87 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.quarkus.search.app.dto.RelatedGuide;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(RelatedGuidesService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class RelatedGuidesServiceTest {
+    private static final TypeRef<List<RelatedGuide>> LIST_OF_RELATED_GUIDES = new TypeRef<>() {
+    };
+    private static final String GUIDES_RELATED = "/guides/related";
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void related() {
+        var result = given()
+                .queryParam("url", GuideRef.HIBERNATE_ORM.url())
+                .when().get(GUIDES_RELATED)
+                .then()
+                .statusCode(200)
+                .extract().body().as(LIST_OF_RELATED_GUIDES);
+        assertThat(result).isNotEmpty()
+                .hasSizeLessThanOrEqualTo(5)
+                .allSatisfy(guide -> assertThat(guide.title()).isNotBlank())
+                .extracting(RelatedGuide::url)
+                .doesNotContain(GuideRef.HIBERNATE_ORM.url())
+                // Same version as the original guide
+                .allSatisfy(url -> assertThat(url.toString()).startsWith("https://quarkus.io/guides/"));
+    }
+
+    @Test
+    void language() {
+        var result = given()
+                .queryParam("url", GuideRef.HIBERNATE_ORM.url())
+                .queryParam("language", "en")
+                .when().get(GUIDES_RELATED)
+                .then()
+                .statusCode(200)
+                .extract().body().as(LIST_OF_RELATED_GUIDES);
+        assertThat(result).isNotEmpty();
+    }
+
+    @Test
+    void languageMismatch() {
+        // The URL is that of an English guide: we shouldn't return related guides in another language.
+        given()
+                .queryParam("url", GuideRef.HIBERNATE_ORM.url())
+                .queryParam("language", "ja")
+                .when().get(GUIDES_RELATED)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void unknownGuide() {
+        given()
+                .queryParam("url", "https://quarkus.io/guides/does-not-exist")
+                .when().get(GUIDES_RELATED)
+                .then()
+                .statusCode(404);
+    }
+}
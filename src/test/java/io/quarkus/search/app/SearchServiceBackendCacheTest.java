@@ -0,0 +1,80 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+import io.restassured.RestAssured;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SearchServiceBackendCacheTest {
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    @Inject
+    SearchMapping searchMapping;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    private void search(String term) {
+        given()
+                .queryParam("q", term)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200);
+    }
+
+    private long requestCacheHitCount() throws IOException {
+        String readName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+        var response = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
+                .performRequest(new Request("GET", "/" + readName + "/_stats/request_cache"));
+        try (var input = response.getEntity().getContent()) {
+            JsonObject stats = new Gson().fromJson(new InputStreamReader(input, StandardCharsets.UTF_8),
+                    JsonObject.class);
+            return stats.getAsJsonObject("_all").getAsJsonObject("total").getAsJsonObject("request_cache")
+                    .get("hit_count").getAsLong();
+        }
+    }
+
+    @Test
+    void requestCache() throws IOException {
+        // Requests that return hits are only cached because we ask for it explicitly.
+        search("rest client");
+        long hitCount = requestCacheHitCount();
+        search("rest client");
+        assertThat(requestCacheHitCount()).isGreaterThan(hitCount);
+    }
+}
@@ -0,0 +1,197 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.cache.LastKnownGoodResults;
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.query.SearchHedging;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.hibernate.search.util.common.SearchException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.awaitility.Awaitility;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+
+/**
+ * Simulates search backend failures through {@link SearchHedging},
+ * which every search against the search backend goes through.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(SearchServiceFaultToleranceTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SearchServiceFaultToleranceTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("searching.last-known-good.revalidate-interval", "1s");
+        }
+    }
+
+    private static final TypeRef<SearchResult<GuideSearchHit>> SEARCH_RESULT_SEARCH_HITS = new TypeRef<>() {
+    };
+    private static final String GUIDES_SEARCH = "/guides/search";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @CacheName(LastKnownGoodResults.CACHE_NAME)
+    Cache lastKnownGoodCache;
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private SearchHedging searchHedging;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    @BeforeEach
+    void resetState() {
+        searchHedging = mock(SearchHedging.class);
+        QuarkusMock.installMockForType(searchHedging, SearchHedging.class);
+        backendRecovers();
+        lastKnownGoodCache.invalidateAll().await().indefinitely();
+        circuitBreakerMaintenance.resetAll();
+    }
+
+    private ExtractableResponse<Response> search(int expectedStatus) {
+        return given()
+                .queryParam("q", "orm")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(expectedStatus)
+                .extract();
+    }
+
+    private static List<URI> urls(ExtractableResponse<Response> response) {
+        return response.body().as(SEARCH_RESULT_SEARCH_HITS).hits().stream().map(GuideSearchHit::url).toList();
+    }
+
+    // Executes searches without hedging.
+    private void backendRecovers() {
+        doAnswer(invocation -> invocation.<SearchHedging.Search<?>> getArgument(0).execute(false))
+                .when(searchHedging).execute(any());
+    }
+
+    private void backendFails() {
+        doThrow(new SearchException("Simulated failure")).when(searchHedging).execute(any());
+    }
+
+    private Object lastKnownGood() {
+        var cache = lastKnownGoodCache.as(CaffeineCache.class);
+        assertThat(cache.keySet()).hasSize(1);
+        CompletableFuture<Object> future = cache.getIfPresent(cache.keySet().iterator().next());
+        return future == null ? null : future.join();
+    }
+
+    private long latencySampleCount() {
+        return meterRegistry.get(SearchService.LATENCY_METRIC_NAME).timer().count();
+    }
+
+    @Test
+    void fallback() {
+        var fresh = search(200);
+        assertThat(urls(fresh)).isNotEmpty();
+        assertThat(fresh.header("Warning")).isNull();
+
+        backendFails();
+        var stale = search(200);
+        assertThat(urls(stale)).isEqualTo(urls(fresh));
+        assertThat(stale.header("Warning")).isEqualTo(STALE_WARNING);
+        // HTTP caches must not keep the stale response around.
+        assertThat(stale.header("Cache-Control")).isEqualTo("no-store");
+
+        backendRecovers();
+        var recovered = search(200);
+        assertThat(urls(recovered)).isEqualTo(urls(fresh));
+        assertThat(recovered.header("Warning")).isNull();
+    }
+
+    @Test
+    void fallback_noLastKnownGood() {
+        backendFails();
+        search(503);
+    }
+
+    @Test
+    void circuitBreaker() {
+        backendFails();
+        // See requestVolumeThreshold on SearchService#search.
+        for (int i = 0; i < 20; i++) {
+            search(503);
+        }
+        verify(searchHedging, times(20)).execute(any());
+        clearInvocations(searchHedging);
+
+        // The circuit is open: we don't even try to reach the search backend.
+        search(503);
+        verify(searchHedging, never()).execute(any());
+    }
+
+    @Test
+    void revalidation() {
+        search(200);
+        Object initial = lastKnownGood();
+        backendFails();
+        assertThat(search(200).header("Warning")).isEqualTo(STALE_WARNING);
+        clearInvocations(searchHedging);
+        long latencySamples = latencySampleCount();
+
+        // The search backend is still unhealthy: revalidation is attempted, but the entry is left alone.
+        Awaitility.await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> verify(searchHedging, atLeastOnce()).execute(any()));
+        assertThat(lastKnownGood()).isSameAs(initial);
+        // Revalidation isn't a search from a user.
+        assertThat(latencySampleCount()).isEqualTo(latencySamples);
+
+        // The search backend recovers: the stale result gets refreshed in the background.
+        backendRecovers();
+        Awaitility.await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(lastKnownGood()).isNotNull().isNotSameAs(initial));
+        assertThat(latencySampleCount()).isEqualTo(latencySamples);
+    }
+}
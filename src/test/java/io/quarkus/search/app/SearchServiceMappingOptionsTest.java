@@ -0,0 +1,239 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+/**
+ * Tests the non-default mapping options of searches (see SearchingConfig) all at once,
+ * since each test class starts the application and indexes the sample on its own.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(SearchServiceMappingOptionsTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SearchServiceMappingOptionsTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("searching.sections.enabled", "true",
+                    "searching.autocomplete.mode", "prefix",
+                    // A different strategy for each field, to check they can be mixed.
+                    // The full content is highlighted per section, so its strategy is ignored.
+                    "searching.highlighting.title", "plain",
+                    "searching.highlighting.summary", "unified",
+                    "searching.highlighting.full-content", "fast-vector");
+        }
+    }
+
+    private static final TypeRef<SearchResult<GuideSearchHit>> SEARCH_RESULT_SEARCH_HITS = new TypeRef<>() {
+    };
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    @Inject
+    SearchMapping searchMapping;
+
+    private JsonObject properties;
+
+    private SearchResult<GuideSearchHit> search(String term) {
+        return given()
+                .queryParam("q", term)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+    }
+
+    private JsonObject field(String fieldNamePrefix) {
+        return properties.getAsJsonObject(Language.ENGLISH.addSuffix(fieldNamePrefix));
+    }
+
+    @BeforeAll
+    void setup() throws IOException {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+
+        // The actual mapping, including attributes added when creating indexes, see GuideMappingConfigurer.
+        String readName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+        var response = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class)
+                .performRequest(new Request("GET", "/" + readName + "/_mapping"));
+        try (var input = response.getEntity().getContent()) {
+            JsonObject mappings = new Gson().fromJson(new InputStreamReader(input, StandardCharsets.UTF_8),
+                    JsonObject.class);
+            properties = mappings.entrySet().iterator().next().getValue().getAsJsonObject()
+                    .getAsJsonObject("mappings").getAsJsonObject("properties");
+        }
+    }
+
+    @Test
+    void sections_mapping() {
+        assertThat(properties.getAsJsonObject("sections").get("type")).hasToString("\"nested\"");
+        // Content is highlighted per section: the full content doesn't need term vectors.
+        assertThat(field("fullContent").has("term_vector")).isFalse();
+        assertThat(field("fullContent").has("index_options")).isFalse();
+    }
+
+    @Test
+    void sections() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("contentSnippets", 3)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).isNotEmpty()
+                .anySatisfy(hit -> assertThat(hit.sections()).isNotEmpty()
+                        .hasSizeLessThanOrEqualTo(3)
+                        .allSatisfy(section -> assertThat(section.url().toString())
+                                .startsWith(hit.url().toString()))
+                        .anySatisfy(section -> assertThat(section.url().getFragment()).isNotBlank())
+                        .anySatisfy(section -> assertThat(section.content())
+                                .contains("<span class=\"highlighted\">ORM</span>")))
+                // Section snippets replace the content snippets.
+                .allSatisfy(hit -> assertThat(hit.content()).hasSizeLessThanOrEqualTo(3));
+    }
+
+    @Test
+    void sections_fallbackToEnglish() {
+        // Only mentioned in the English version of the guide.
+        var result = given()
+                .queryParam("q", "fibonacci")
+                .queryParam("language", "ja")
+                .queryParam("fallbackToEnglish", "true")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.fallbackLanguage()).isEqualTo(Language.ENGLISH);
+        assertThat(result.hits()).isNotEmpty()
+                .allSatisfy(hit -> {
+                    assertThat(hit.sections()).isNotEmpty();
+                    assertThat(hit.content()).isNotEmpty()
+                            .anySatisfy(snippet -> assertThat(snippet)
+                                    .containsIgnoringCase("<span class=\"highlighted\">fibonacci</span>"));
+                });
+    }
+
+    @Test
+    void sections_noQuery() {
+        var result = given()
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).isNotEmpty()
+                .allSatisfy(hit -> assertThat(hit.sections()).isNullOrEmpty());
+    }
+
+    @Test
+    void prefix_mapping() {
+        var index = searchMapping.indexedEntity(Guide.class).indexManager().descriptor();
+        assertThat(index.field(Language.ENGLISH.addSuffix("fullContent_autocomplete"))).isEmpty();
+        assertThat(index.field(Language.ENGLISH.addSuffix("title_autocomplete"))).isEmpty();
+        for (String field : List.of("keywords", "title", "summary", "fullContent")) {
+            assertThat(field(field).has("index_prefixes")).as(field).isTrue();
+        }
+    }
+
+    @Test
+    void prefix_queryMatchingPrefixTerm() {
+        var result = search("hiber");
+        assertThat(result.hits()).extracting(GuideSearchHit::url).contains(GuideRef.urls(
+                GuideRef.HIBERNATE_ORM,
+                GuideRef.HIBERNATE_ORM_PANACHE,
+                GuideRef.HIBERNATE_SEARCH_ORM_ELASTICSEARCH,
+                GuideRef.HIBERNATE_REACTIVE));
+    }
+
+    @Test
+    void prefix_queryMatchingTermThenPrefix() {
+        var result = search("orm elasticse");
+        assertThat(result.hits()).extracting(GuideSearchHit::url)
+                .contains(GuideRef.HIBERNATE_SEARCH_ORM_ELASTICSEARCH.url())
+                .doesNotContain(GuideRef.HIBERNATE_ORM_PANACHE.url());
+    }
+
+    @Test
+    void prefix_queryMatchingFullTerm() {
+        // Complete words must still match, even though their prefix doesn't match the (stemmed) indexed terms.
+        var result = search("configuration");
+        assertThat(result.hits()).isNotEmpty();
+    }
+
+    @Test
+    void prefix_queryNotMatching() {
+        var result = search("termnotmatching");
+        assertThat(result.hits()).isEmpty();
+    }
+
+    @Test
+    void highlighting_mapping() {
+        assertThat(field("title").has("term_vector")).isFalse();
+        assertThat(field("title").has("index_options")).isFalse();
+        // The unified highlighter uses offsets from the postings instead of term vectors.
+        assertThat(field("summary").has("term_vector")).isFalse();
+        assertThat(field("summary").get("index_options")).hasToString("\"offsets\"");
+    }
+
+    @Test
+    void highlighting() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("highlightCssClass", "highlighted")
+                .queryParam("contentSnippets", "2")
+                .queryParam("contentSnippetsLength", "50")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).extracting(GuideSearchHit::title).contains(
+                "Simplified Hibernate <span class=\"highlighted\">ORM</span> with Panache",
+                "Using Hibernate <span class=\"highlighted\">ORM</span> and Jakarta Persistence");
+        assertThat(result.hits()).extracting(GuideSearchHit::summary)
+                .anySatisfy(summary -> assertThat(summary).contains("<span class=\"highlighted\">"));
+        assertThat(result.hits()).allSatisfy(hit -> assertThat(hit.content()).hasSizeLessThanOrEqualTo(2))
+                .anySatisfy(hit -> assertThat(hit.content()).isNotEmpty()
+                        .allSatisfy(snippet -> assertThat(snippet)
+                                .containsIgnoringCase("<span class=\"highlighted\">orm</span>")));
+    }
+}
@@ -14,6 +14,7 @@ import java.util.regex.Pattern;
 
 import io.quarkus.search.app.dto.GuideSearchHit;
 import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.entity.Language;
 import io.quarkus.search.app.testsupport.GuideRef;
 import io.quarkus.search.app.testsupport.QuarkusIOSample;
 import io.quarkus.search.app.testsupport.SetupUtil;
@@ -144,6 +145,24 @@ class SearchServiceTest {
                 .containsExactlyInAnyOrder(GuideRef.urls(QuarkusIOSample.SearchServiceFilterDefinition.guides()));
     }
 
+    @Test
+    void queryTooComplex() {
+        given()
+                .queryParam("q", "orm ".repeat(100))
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void queryDowngraded() {
+        // Expensive, but not enough to get rejected: we only skip content highlighting.
+        var result = search("orm | hibernate | jpa | persistence | panache | entity | database | datasource | jdbc"
+                + " | transaction | repository | query | reactive | kotlin | sql | schema");
+        assertThat(result.hits()).isNotEmpty()
+                .allSatisfy(hit -> assertThat(hit.content()).isEmpty());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
             "https://quarkus.io",
@@ -287,6 +306,43 @@ class SearchServiceTest {
                         .satisfies(uri -> assertThat(uri).startsWith("https://quarkus.io/version/main/guides/")));
     }
 
+    @Test
+    void multipleVersions() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("version", QuarkusVersions.LATEST + "," + QuarkusVersions.MAIN)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        // One hit per guide, with the other matching versions listed inline.
+        assertThat(result.hits())
+                .filteredOn(hit -> hit.url().equals(GuideRef.HIBERNATE_ORM.url(QuarkusVersions.LATEST))
+                        || hit.url().equals(GuideRef.HIBERNATE_ORM.url(QuarkusVersions.MAIN)))
+                .singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.version()).isIn(QuarkusVersions.LATEST, QuarkusVersions.MAIN);
+                    assertThat(hit.otherVersions()).containsExactly(
+                            QuarkusVersions.LATEST.equals(hit.version()) ? QuarkusVersions.MAIN : QuarkusVersions.LATEST);
+                });
+    }
+
+    @Test
+    void allVersions() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("version", "*")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits())
+                .filteredOn(hit -> hit.url().toString().endsWith(GuideRef.HIBERNATE_ORM.name()))
+                .singleElement()
+                .satisfies(hit -> assertThat(hit.otherVersions()).isNotEmpty()
+                        .doesNotContain(hit.version()));
+    }
+
     @Test
     void categories() {
         var result = given()
@@ -300,6 +356,40 @@ class SearchServiceTest {
                 GuideRef.HIBERNATE_ORM_PANACHE_KOTLIN));
     }
 
+    @Test
+    void profile() {
+        var profile = given()
+                .queryParam("q", "orm")
+                .when().get("http://localhost:" + SetupUtil.managementPort(getClass()) + "/profile-search")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath();
+        assertThat(profile.getList("shards")).isNotEmpty();
+        assertThat(profile.getList("shards[0].query")).isNotEmpty();
+        assertThat(profile.getLong("suggest.took")).isNotNull();
+    }
+
+    @Test
+    void categories_emptyQuery() {
+        var result = given()
+                .queryParam("categories", "alt-languages")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).extracting(GuideSearchHit::url).containsExactlyInAnyOrder(GuideRef.urls(
+                GuideRef.HIBERNATE_ORM_PANACHE_KOTLIN));
+        assertThat(result.total().exact()).isEqualTo(1);
+    }
+
+    @Test
+    void sortedByTitle_emptyQuery() {
+        var result = search("");
+        assertThat(result.hits()).extracting(hit -> hit.title().toLowerCase(Locale.ROOT))
+                .isSorted();
+        assertThat(result.hits()).allSatisfy(hit -> assertThat(hit.content()).isEmpty());
+    }
+
     @Test
     void highlight_title() {
         var result = given()
@@ -389,6 +479,68 @@ class SearchServiceTest {
                         "Hibernate ORMとElasticsearch/OpenSearchでHibernate Searchを使用");
     }
 
+    @Test
+    void language_fallbackToEnglish() {
+        // Only mentioned in the English version of the guide.
+        var result = given()
+                .queryParam("q", "fibonacci")
+                .queryParam("language", "ja")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).isEmpty();
+        assertThat(result.fallbackLanguage()).isNull();
+
+        result = given()
+                .queryParam("q", "fibonacci")
+                .queryParam("language", "ja")
+                .queryParam("fallbackToEnglish", "true")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.fallbackLanguage()).isEqualTo(Language.ENGLISH);
+        assertThat(result.total().exact()).isEqualTo(result.hits().size());
+        assertThat(result.hits()).extracting(GuideSearchHit::url)
+                .containsExactly(GuideRef.ALL_CONFIG.url());
+        assertThat(result.hits()).allSatisfy(hit -> {
+            assertThat(hit.title()).isNotBlank();
+            assertThat(hit.content()).isNotEmpty();
+        });
+
+        // Localized hits take precedence.
+        result = given()
+                .queryParam("q", "ガイド")
+                .queryParam("language", "ja")
+                .queryParam("fallbackToEnglish", "true")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).isNotEmpty();
+        assertThat(result.fallbackLanguage()).isNull();
+    }
+
+    @Test
+    void language_fallbackToEnglish_multipleVersions() {
+        var result = given()
+                .queryParam("q", "fibonacci")
+                .queryParam("language", "ja")
+                .queryParam("version", QuarkusVersions.LATEST + "," + QuarkusVersions.MAIN)
+                .queryParam("fallbackToEnglish", "true")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.fallbackLanguage()).isEqualTo(Language.ENGLISH);
+        // Fallback hits are collapsed per guide too.
+        assertThat(result.hits()).isNotEmpty().allSatisfy(hit -> {
+            assertThat(hit.version()).isIn(QuarkusVersions.LATEST, QuarkusVersions.MAIN);
+            assertThat(hit.content()).isNotEmpty();
+        });
+    }
+
     @Test
     void quoteEmptyQuoteTitleTranslation() {
         var result = given()
@@ -0,0 +1,82 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class TracingTest {
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    @Inject
+    InMemorySpanExporter spanExporter;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    @Test
+    void indexing() {
+        Awaitility.await().timeout(Duration.ofSeconds(10))
+                .untilAsserted(() -> {
+                    List<SpanData> spans = spanExporter.getFinishedSpanItems();
+                    SpanData reindex = span(spans, "reindex");
+                    // Work happening in other threads must be attached to the same trace.
+                    assertThat(spans)
+                            .filteredOn(span -> span.getTraceId().equals(reindex.getTraceId()))
+                            .extracting(SpanData::getName)
+                            .contains("fetch.quarkus.io", "fetch.site", "indexing.mass-indexing",
+                                    "indexing.batch.load", "quarkusio.preprocess", "indexing.batch.listeners",
+                                    "indexing.batch.bulk", "rollover.commit");
+                });
+    }
+
+    @Test
+    void search() {
+        given()
+                .queryParam("q", "orm")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200);
+        Awaitility.await().timeout(Duration.ofSeconds(10))
+                .untilAsserted(() -> {
+                    List<SpanData> spans = spanExporter.getFinishedSpanItems();
+                    SpanData backend = span(spans, "search.backend");
+                    // The search span is attached to the trace of the HTTP request.
+                    assertThat(spans)
+                            .filteredOn(span -> span.getSpanId().equals(backend.getParentSpanId()))
+                            .singleElement()
+                            .satisfies(span -> assertThat(span.getName()).contains(GUIDES_SEARCH));
+                });
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named '%s' in %s".formatted(name,
+                        spans.stream().map(SpanData::getName).toList())));
+    }
+}
@@ -0,0 +1,62 @@
+package io.quarkus.search.app;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(TypeaheadService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class TypeaheadServiceTest {
+    private static final TypeRef<List<String>> LIST_OF_STRINGS = new TypeRef<>() {
+    };
+    private static final String GUIDES_TYPEAHEAD = "/guides/typeahead";
+
+    private List<String> complete(String field, String prefix) {
+        return given()
+                .queryParam("field", field)
+                .queryParam("prefix", prefix)
+                .when().get(GUIDES_TYPEAHEAD)
+                .then()
+                .statusCode(200)
+                .extract().body().as(LIST_OF_STRINGS);
+    }
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void title() {
+        assertThat(complete("title", "HIB")).isNotEmpty()
+                .allSatisfy(title -> assertThat(title).startsWithIgnoringCase("hib"));
+    }
+
+    @Test
+    void category() {
+        assertThat(complete("category", "alt")).contains("alt-languages");
+    }
+
+    @Test
+    void noMatch() {
+        assertThat(complete("title", "doesnotexist")).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package io.quarkus.search.app.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    @Test
+    void capacity() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<>(9).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void full() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+
+        // Slots are reused once drained.
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isTrue();
+        assertThat(buffer.offer(7)).isFalse();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5, 6);
+        assertThat(buffer.drain(drained::add, 10)).isZero();
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        int producerCount = 4;
+        int elementsPerProducer = 10_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producerCount);
+        ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+        try {
+            for (int p = 0; p < producerCount; p++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        if (!buffer.offer(i)) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            AtomicInteger consumed = new AtomicInteger();
+            while (done.getCount() > 0) {
+                buffer.drain(ignored -> consumed.incrementAndGet(), 16);
+            }
+            buffer.drain(ignored -> consumed.incrementAndGet(), Integer.MAX_VALUE);
+
+            // Every element is either consumed exactly once, or rejected.
+            assertThat(consumed.get() + rejected.get()).isEqualTo(producerCount * elementsPerProducer);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
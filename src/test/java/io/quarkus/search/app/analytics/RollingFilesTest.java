@@ -0,0 +1,52 @@
+package io.quarkus.search.app.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RollingFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rollOver() throws IOException {
+        try (RollingFiles files = new RollingFiles(directory, "events", 10, 3)) {
+            files.write(List.of("aaaa"));
+            assertThat(directory.resolve("events.1.ndjson")).doesNotExist();
+            files.write(List.of("bbbb"));
+            files.write(List.of("cccccccccc"));
+            files.write(List.of("dddddddddd"));
+        }
+        assertThat(directory.resolve("events.ndjson")).doesNotExist();
+        assertThat(directory.resolve("events.1.ndjson")).hasContent("dddddddddd\n");
+        assertThat(directory.resolve("events.2.ndjson")).hasContent("cccccccccc\n");
+        // The oldest file got deleted.
+        assertThat(directory.resolve("events.3.ndjson")).doesNotExist();
+    }
+
+    @Test
+    void sizeInBytes() throws IOException {
+        // 4 characters, but 11 bytes in UTF-8.
+        String line = "日本語é";
+        assertThat(line.getBytes(StandardCharsets.UTF_8)).hasSize(11);
+        try (RollingFiles files = new RollingFiles(directory, "events", 13, 3)) {
+            files.write(List.of(line));
+        }
+        assertThat(Files.size(directory.resolve("events.ndjson"))).isEqualTo(12);
+        assertThat(directory.resolve("events.1.ndjson")).doesNotExist();
+
+        try (RollingFiles files = new RollingFiles(directory, "events", 13, 3)) {
+            // The size of existing files is taken into account.
+            files.write(List.of("a"));
+        }
+        assertThat(directory.resolve("events.1.ndjson")).hasContent(line + "\na\n");
+    }
+}
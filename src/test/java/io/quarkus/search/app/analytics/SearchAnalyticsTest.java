@@ -0,0 +1,83 @@
+package io.quarkus.search.app.analytics;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import io.quarkus.search.app.dto.AnalyticsReport;
+import io.quarkus.search.app.dto.QueryStats;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SearchAnalyticsTest {
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    private void search(String q) {
+        given()
+                .queryParam("q", q)
+                .when().get("/api/guides/search")
+                .then()
+                .statusCode(200);
+    }
+
+    private AnalyticsReport report(String path) {
+        return when().get("http://localhost:" + SetupUtil.managementPort(getClass()) + path + "?limit=100")
+                .then()
+                .statusCode(200)
+                .extract().body().as(AnalyticsReport.class);
+    }
+
+    @Test
+    void topQueries() {
+        search("ORM");
+        search("  orm ");
+        search("hibernate   search");
+        Awaitility.await().timeout(Duration.ofSeconds(10))
+                .untilAsserted(() -> {
+                    AnalyticsReport report = report("/analytics/top-queries");
+                    assertThat(report.searchCount()).isGreaterThanOrEqualTo(3);
+                    // Queries are normalized, and sorted by frequency.
+                    assertThat(report.queries())
+                            .isSortedAccordingTo((a, b) -> Long.compare(b.count(), a.count()))
+                            .filteredOn(stats -> stats.query().equals("orm"))
+                            .singleElement()
+                            .satisfies(stats -> assertThat(stats.count()).isGreaterThanOrEqualTo(2));
+                    assertThat(report.queries()).extracting(QueryStats::query).contains("hibernate search");
+                });
+    }
+
+    @Test
+    void zeroHitQueries() {
+        search("qwertyuiopasdfgh");
+        Awaitility.await().timeout(Duration.ofSeconds(10))
+                .untilAsserted(() -> {
+                    AnalyticsReport report = report("/analytics/zero-hit-queries");
+                    assertThat(report.zeroHitCount()).isPositive();
+                    assertThat(report.queries())
+                            .isNotEmpty()
+                            .allSatisfy(stats -> assertThat(stats.zeroHitCount()).isPositive())
+                            .extracting(QueryStats::query)
+                            .contains("qwertyuiopasdfgh");
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package io.quarkus.search.app.benchmark;
+
+import java.util.Map;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Edge-ngram autocomplete and fast vector highlighting, i.e. the defaults.
+ * To compare with {@link PrefixUnifiedMappingBenchmark} and {@link PrefixPlainMappingBenchmark}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestProfile(DefaultMappingBenchmark.Profile.class)
+@QuarkusIOSample.Setup
+class DefaultMappingBenchmark extends MappingBenchmark {
+    public static class Profile extends MappingBenchmark.Profile {
+        public Profile() {
+            super(Map.of("searching.autocomplete.mode", "edge-ngram",
+                    "searching.highlighting.title", "fast-vector",
+                    "searching.highlighting.summary", "fast-vector",
+                    "searching.highlighting.full-content", "fast-vector"));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.quarkus.search.app.benchmark;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.entity.Guide;
+import io.quarkus.search.app.entity.Language;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.logging.Log;
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import org.hibernate.search.backend.elasticsearch.ElasticsearchBackend;
+import org.hibernate.search.backend.elasticsearch.index.ElasticsearchIndexManager;
+import org.hibernate.search.mapper.pojo.standalone.mapping.SearchMapping;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import co.elastic.clients.transport.rest5_client.low_level.Request;
+import co.elastic.clients.transport.rest5_client.low_level.Rest5Client;
+
+/**
+ * Measures the cost of an index mapping on the quarkus.io sample:
+ * indexing time, index size (per field) and search latency.
+ * <p>
+ * Each subclass starts the application with a different configuration; compare their reports in the test logs.
+ * Since starting the application and indexing is the expensive part,
+ * each subclass measures both autocomplete and highlighting searches, and changes both options at once.
+ * Benchmarks are not matched by the default test includes, so they must be run explicitly,
+ * e.g. {@code ./mvnw test -Dtest='*Benchmark'}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class MappingBenchmark {
+
+    private static final String GUIDES_SEARCH = "/guides/search";
+    private static final int INDEXING_ITERATIONS = 3;
+    private static final int SEARCH_WARMUP_ITERATIONS = 20;
+    private static final int SEARCH_ITERATIONS = 100;
+    private static final int REPORTED_FIELDS = 15;
+    private static final Pattern LANGUAGE_SUFFIX = Pattern.compile("_(" + Arrays.stream(Language.values())
+            .map(Language::code).collect(Collectors.joining("|")) + ")\\b");
+
+    public abstract static class Profile implements QuarkusTestProfile {
+        private final Map<String, String> configOverrides;
+
+        protected Profile(Map<String, String> configOverrides) {
+            this.configOverrides = configOverrides;
+        }
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            Map<String, String> overrides = new HashMap<>(configOverrides);
+            // We want to measure searches, not caches.
+            overrides.put("searching.backend-cache.preference", "false");
+            overrides.put("searching.backend-cache.request-cache", "false");
+            return overrides;
+        }
+    }
+
+    // Queries as they would be typed, e.g. in a search-as-you-type input.
+    private static final Scenario AUTOCOMPLETE = new Scenario("Autocomplete",
+            List.of("hiber", "hibernate or", "config prop", "rest cli", "datasou", "orm panache kot", "dev serv",
+                    "quarkus.datasource.jdbc"),
+            Map.of());
+    // Several long snippets, so that highlighting dominates latency.
+    private static final Scenario HIGHLIGHTING = new Scenario("Highlighting",
+            List.of("orm", "hibernate search", "\"dev services\"", "configuration properties", "rest client",
+                    "kubernetes", "security jwt", "datasource"),
+            Map.of("contentSnippets", 3, "contentSnippetsLength", 150));
+
+    private final Gson gson = new Gson();
+
+    @Inject
+    SearchMapping searchMapping;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    @Test
+    void benchmark() throws IOException {
+        StringBuilder report = new StringBuilder("Benchmark report for " + getClass().getSimpleName() + ":\n");
+        reportIndexing(report);
+        reportIndexSize(report);
+        reportSearchLatency(report, AUTOCOMPLETE);
+        reportSearchLatency(report, HIGHLIGHTING);
+        Log.info(report);
+    }
+
+    private void reportIndexing(StringBuilder report) throws IOException {
+        List<Duration> durations = new ArrayList<>();
+        for (int i = 0; i < INDEXING_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            when().get("http://localhost:" + SetupUtil.managementPort(getClass()) + "/reindex")
+                    .then()
+                    .statusCode(200);
+            durations.add(Duration.ofNanos(System.nanoTime() - start));
+        }
+        durations.sort(Comparator.naturalOrder());
+        Duration median = durations.get(durations.size() / 2);
+        long guides = backendRequest("GET", "/_count").get("count").getAsLong();
+        // This includes fetching and parsing guides, which doesn't depend on the mapping.
+        report.append("Indexing (including fetching): %s guides in %s ms (median of %s), %.1f guides/s%n"
+                .formatted(guides, median.toMillis(), INDEXING_ITERATIONS, guides * 1000.0 / median.toMillis()));
+    }
+
+    private void reportIndexSize(StringBuilder report) throws IOException {
+        backendRequest("POST", "/_refresh");
+        // Merge segments so that sizes don't depend on the merge policy.
+        backendRequest("POST", "/_forcemerge?max_num_segments=1");
+        JsonObject stats = backendRequest("GET", "/_stats/store");
+        long size = stats.getAsJsonObject("_all").getAsJsonObject("primaries").getAsJsonObject("store")
+                .get("size_in_bytes").getAsLong();
+        report.append("Index size: %s KiB%n".formatted(size / 1024));
+
+        // Group fields across languages, e.g. fullContent_en and fullContent_ja are reported as fullContent_*.
+        Map<String, FieldSize> fieldSizes = new TreeMap<>();
+        JsonObject diskUsage = backendRequest("POST", "/_disk_usage?run_expensive_tasks=true");
+        for (var index : diskUsage.entrySet()) {
+            if (index.getKey().startsWith("_")) {
+                continue; // _shards
+            }
+            for (var field : index.getValue().getAsJsonObject().getAsJsonObject("fields").entrySet()) {
+                JsonObject usage = field.getValue().getAsJsonObject();
+                fieldSizes.merge(LANGUAGE_SUFFIX.matcher(field.getKey()).replaceAll("_*"), new FieldSize(
+                        usage.get("total_in_bytes").getAsLong(),
+                        usage.getAsJsonObject("inverted_index").get("total_in_bytes").getAsLong(),
+                        usage.get("term_vectors_in_bytes").getAsLong(),
+                        usage.get("stored_fields_in_bytes").getAsLong()),
+                        FieldSize::plus);
+            }
+        }
+        report.append("Largest fields (total / inverted index / term vectors / stored, in KiB):%n".formatted());
+        fieldSizes.entrySet().stream()
+                .sorted(Map.Entry.<String, FieldSize> comparingByValue(Comparator.comparingLong(FieldSize::total))
+                        .reversed())
+                .limit(REPORTED_FIELDS)
+                .forEach(entry -> report.append("  %-40s %8s %8s %8s %8s%n".formatted(entry.getKey(),
+                        entry.getValue().total() / 1024, entry.getValue().invertedIndex() / 1024,
+                        entry.getValue().termVectors() / 1024, entry.getValue().stored() / 1024)));
+    }
+
+    private void reportSearchLatency(StringBuilder report, Scenario scenario) {
+        report.append("%s search latency (p50 / p95 / max, in ms, over %s searches, parameters %s):%n"
+                .formatted(scenario.name(), SEARCH_ITERATIONS, scenario.parameters()));
+        for (String q : scenario.queries()) {
+            for (int i = 0; i < SEARCH_WARMUP_ITERATIONS; i++) {
+                search(q, scenario.parameters());
+            }
+            long[] nanos = new long[SEARCH_ITERATIONS];
+            for (int i = 0; i < SEARCH_ITERATIONS; i++) {
+                long start = System.nanoTime();
+                search(q, scenario.parameters());
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            report.append("  %-40s %8.2f %8.2f %8.2f%n".formatted('"' + q + '"', nanos[nanos.length / 2] / 1e6,
+                    nanos[(int) (nanos.length * 0.95)] / 1e6, nanos[nanos.length - 1] / 1e6));
+        }
+    }
+
+    private void search(String q, Map<String, ?> parameters) {
+        given()
+                .queryParams(parameters)
+                .queryParam("q", q)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200);
+    }
+
+    private JsonObject backendRequest(String method, String path) throws IOException {
+        String readName = searchMapping.indexedEntity(Guide.class).indexManager()
+                .unwrap(ElasticsearchIndexManager.class).descriptor().readName();
+        Rest5Client client = searchMapping.backend().unwrap(ElasticsearchBackend.class).client(Rest5Client.class);
+        var response = client.performRequest(new Request(method, "/" + readName + path));
+        try (var input = response.getEntity().getContent()) {
+            return gson.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8), JsonObject.class);
+        }
+    }
+
+    private record Scenario(String name, List<String> queries, Map<String, ?> parameters) {
+    }
+
+    private record FieldSize(long total, long invertedIndex, long termVectors, long stored) {
+        FieldSize plus(FieldSize other) {
+            return new FieldSize(total + other.total, invertedIndex + other.invertedIndex,
+                    termVectors + other.termVectors, stored + other.stored);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.quarkus.search.app.benchmark;
+
+import java.util.Map;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Prefix autocomplete and plain highlighting, which needs neither term vectors nor offsets.
+ * To compare with {@link DefaultMappingBenchmark} and {@link PrefixUnifiedMappingBenchmark}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestProfile(PrefixPlainMappingBenchmark.Profile.class)
+@QuarkusIOSample.Setup
+class PrefixPlainMappingBenchmark extends MappingBenchmark {
+    public static class Profile extends MappingBenchmark.Profile {
+        public Profile() {
+            super(Map.of("searching.autocomplete.mode", "prefix",
+                    "searching.highlighting.title", "plain",
+                    "searching.highlighting.summary", "plain",
+                    "searching.highlighting.full-content", "plain"));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.quarkus.search.app.benchmark;
+
+import java.util.Map;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Prefix autocomplete and unified highlighting.
+ * To compare with {@link DefaultMappingBenchmark} and {@link PrefixPlainMappingBenchmark}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestProfile(PrefixUnifiedMappingBenchmark.Profile.class)
+@QuarkusIOSample.Setup
+class PrefixUnifiedMappingBenchmark extends MappingBenchmark {
+    public static class Profile extends MappingBenchmark.Profile {
+        public Profile() {
+            super(Map.of("searching.autocomplete.mode", "prefix",
+                    "searching.highlighting.title", "unified",
+                    "searching.highlighting.summary", "unified",
+                    "searching.highlighting.full-content", "unified"));
+        }
+    }
+}
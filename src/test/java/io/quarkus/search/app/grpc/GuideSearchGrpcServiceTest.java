@@ -0,0 +1,74 @@
+package io.quarkus.search.app.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import io.quarkus.search.app.QuarkusVersions;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class GuideSearchGrpcServiceTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @GrpcClient("search")
+    GuideSearch client;
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    @Test
+    void search() {
+        var response = client.search(SearchRequest.newBuilder().setQ("orm").build())
+                .await().atMost(TIMEOUT);
+        assertThat(response.getHitsList()).extracting(GuideSearchHit::getUrl)
+                .contains(GuideRef.HIBERNATE_ORM.url().toString());
+        assertThat(response.getTotal().getLowerBound()).isPositive();
+        assertThat(response.getHitsList()).allSatisfy(hit -> assertThat(hit.getTitle()).isNotBlank());
+    }
+
+    @Test
+    void searchStream() {
+        List<GuideSearchHit> hits = client.searchStream(SearchRequest.newBuilder().build())
+                .collect().asList()
+                .await().atMost(TIMEOUT);
+        assertThat(hits).extracting(GuideSearchHit::getUrl)
+                .containsExactlyInAnyOrder(Arrays.stream(GuideRef.urls(QuarkusIOSample.SearchServiceFilterDefinition.guides()))
+                        .map(URI::toString).toArray(String[]::new));
+    }
+
+    @Test
+    void invalidLanguage() {
+        assertThatThrownBy(() -> client.search(SearchRequest.newBuilder().setLanguage("xx").build())
+                .await().atMost(TIMEOUT))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void versions() {
+        var response = client.listVersions(ListVersionsRequest.getDefaultInstance())
+                .await().atMost(TIMEOUT);
+        assertThat(response.getVersionsList()).contains(QuarkusVersions.LATEST);
+    }
+}
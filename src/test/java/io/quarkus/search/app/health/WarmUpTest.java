@@ -0,0 +1,103 @@
+package io.quarkus.search.app.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+
+class WarmUpTest {
+
+    private final CountDownLatch responsesReleased = new CountDownLatch(1);
+    private final List<String> receivedTokens = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedTokens.add(exchange.getRequestHeaders().getFirst(WarmUp.REQUEST_HEADER));
+            try {
+                responsesReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        responsesReleased.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void readinessDownUntilDone() {
+        WarmUp warmUp = new WarmUp();
+        warmUp.config = mock(WarmUpConfig.class);
+        when(warmUp.config.requests()).thenReturn(List.of("/api/guides/search?q=hibernate"));
+        when(warmUp.config.iterations()).thenReturn(2);
+        when(warmUp.config.budget()).thenReturn(Duration.ofMinutes(1));
+        warmUp.circuitBreakerMaintenance = mock(CircuitBreakerMaintenance.class);
+        WarmUpHealthCheck healthCheck = new WarmUpHealthCheck();
+        healthCheck.warmUp = warmUp;
+
+        assertThat(healthCheck.call().getStatus()).isEqualTo(HealthCheckResponse.Status.DOWN);
+
+        CompletableFuture<Void> run = CompletableFuture.runAsync(() -> warmUp.run(server.getAddress().getPort()));
+        await().atMost(Duration.ofSeconds(5)).until(() -> !receivedTokens.isEmpty());
+        assertThat(warmUp.status()).isEqualTo(WarmUp.Status.RUNNING);
+        assertThat(healthCheck.call().getStatus()).isEqualTo(HealthCheckResponse.Status.DOWN);
+        verify(warmUp.circuitBreakerMaintenance, never()).resetAll();
+
+        responsesReleased.countDown();
+        run.orTimeout(10, TimeUnit.SECONDS).join();
+        assertThat(warmUp.status()).isEqualTo(WarmUp.Status.DONE);
+        assertThat(healthCheck.call().getStatus()).isEqualTo(HealthCheckResponse.Status.UP);
+        // Warm-up requests must not affect circuit breakers once the application is ready.
+        verify(warmUp.circuitBreakerMaintenance).resetAll();
+    }
+
+    @Test
+    void requestsTagged() {
+        WarmUp warmUp = new WarmUp();
+        warmUp.config = mock(WarmUpConfig.class);
+        when(warmUp.config.requests()).thenReturn(List.of("/api/versions", "/api/guides/search"));
+        when(warmUp.config.iterations()).thenReturn(1);
+        when(warmUp.config.budget()).thenReturn(Duration.ofMinutes(1));
+        warmUp.circuitBreakerMaintenance = mock(CircuitBreakerMaintenance.class);
+        responsesReleased.countDown();
+
+        warmUp.run(server.getAddress().getPort());
+
+        assertThat(receivedTokens).hasSize(2)
+                .allSatisfy(token -> assertThat(warmUp.isWarmUpToken(token)).isTrue());
+        // Actual requests cannot pass for warm-up requests.
+        assertThat(warmUp.isWarmUpToken(null)).isFalse();
+        assertThat(warmUp.isWarmUpToken("true")).isFalse();
+        assertThat(new WarmUp().isWarmUpToken(receivedTokens.get(0))).isFalse();
+    }
+}
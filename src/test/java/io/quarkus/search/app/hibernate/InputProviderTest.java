@@ -0,0 +1,59 @@
+package io.quarkus.search.app.hibernate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import io.quarkus.search.app.util.CloseableDirectory;
+
+import org.junit.jupiter.api.Test;
+
+import org.jsoup.Jsoup;
+
+class InputProviderTest {
+    private static final String GUIDE = """
+            <html><body><div class="guide">
+            <p>Preamble.</p>
+            <h2 id="first">First <code>section</code></h2>
+            <p>Content of the first section.</p>
+            <h3 id="nested">Nested section</h3>
+            <p>Content of the nested section.</p>
+            </div></body></html>
+            """;
+
+    @Test
+    void sections() throws IOException {
+        var document = Jsoup.parse(GUIDE);
+        try (var temp = CloseableDirectory.temp("input-provider-test")) {
+            var provider = InputProvider.from(document, temp, "test", true);
+            String content = provider.readSectionsContent();
+            assertThat(provider.sections())
+                    .extracting(InputProvider.Section::anchor, InputProvider.Section::title,
+                            section -> content.substring(section.start(), section.end()))
+                    .containsExactly(
+                            tuple(null, null, "Preamble."),
+                            // Headings are not repeated in the text of their section.
+                            tuple("first", "First section",
+                                    "Content of the first section."),
+                            tuple("nested", "Nested section",
+                                    "Content of the nested section."));
+        }
+    }
+
+    @Test
+    void sections_disabled() throws IOException {
+        var document = Jsoup.parse(GUIDE);
+        try (var temp = CloseableDirectory.temp("input-provider-test")) {
+            var provider = InputProvider.from(document, temp, "test", false);
+            assertThat(provider.sections()).isEmpty();
+            assertThat(provider.sectionsContent()).isNull();
+            assertThat(provider.readSectionsContent()).isEmpty();
+            // Only the guide's content is written to disk.
+            try (var files = Files.list(temp.path())) {
+                assertThat(files).containsExactly(provider.content());
+            }
+        }
+    }
+}
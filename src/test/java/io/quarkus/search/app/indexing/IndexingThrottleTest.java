@@ -0,0 +1,136 @@
+package io.quarkus.search.app.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.search.app.SearchService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IndexingThrottleTest {
+
+    private static final int MAX_CONCURRENCY = 8;
+    private static final int MIN_CONCURRENCY = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IndexingThrottle throttle;
+
+    @BeforeEach
+    void createThrottle() {
+        IndexingConfig.Throttle throttleConfig = mock(IndexingConfig.Throttle.class);
+        when(throttleConfig.enabled()).thenReturn(true);
+        when(throttleConfig.p95()).thenReturn(Duration.ofMillis(300));
+        when(throttleConfig.p99()).thenReturn(Duration.ofSeconds(1));
+        when(throttleConfig.checkInterval()).thenReturn(Duration.ofMillis(10));
+        when(throttleConfig.minConcurrency()).thenReturn(MIN_CONCURRENCY);
+        IndexingConfig indexingConfig = mock(IndexingConfig.class);
+        when(indexingConfig.throttle()).thenReturn(throttleConfig);
+
+        throttle = new IndexingThrottle();
+        throttle.indexingConfig = indexingConfig;
+        throttle.meterRegistry = meterRegistry;
+        throttle.init();
+    }
+
+    // Replaces the search latency timer, so that percentiles don't include previous samples.
+    private void searchLatency(Duration latency) {
+        Timer previous = meterRegistry.find(SearchService.LATENCY_METRIC_NAME).timer();
+        if (previous != null) {
+            meterRegistry.remove(previous);
+        }
+        Timer timer = Timer.builder(SearchService.LATENCY_METRIC_NAME)
+                .publishPercentiles(0.95, 0.99)
+                .register(meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            timer.record(latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double limitGauge() {
+        return meterRegistry.get("indexing.throttle.limit").gauge().value();
+    }
+
+    @Test
+    void noSearchYet() {
+        try (var handle = throttle.start(MAX_CONCURRENCY)) {
+            await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1))
+                    .until(() -> handle.limiter().limit() == MAX_CONCURRENCY);
+        }
+    }
+
+    @Test
+    void slowDownThenSpeedUp() {
+        searchLatency(Duration.ofSeconds(2));
+        try (var handle = throttle.start(MAX_CONCURRENCY)) {
+            // Halved until the minimum, but not below.
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> handle.limiter().limit() == MIN_CONCURRENCY);
+            await().during(Duration.ofMillis(100)).atMost(Duration.ofSeconds(1))
+                    .until(() -> handle.limiter().limit() == MIN_CONCURRENCY);
+            assertThat(limitGauge()).isEqualTo(MIN_CONCURRENCY);
+
+            searchLatency(Duration.ofMillis(10));
+            // Raised back progressively, until the maximum, but not above.
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> handle.limiter().limit() == MAX_CONCURRENCY);
+            await().during(Duration.ofMillis(100)).atMost(Duration.ofSeconds(1))
+                    .until(() -> handle.limiter().limit() == MAX_CONCURRENCY);
+        }
+    }
+
+    @Test
+    void slowDown_p99() {
+        // p95 is fine, but not p99.
+        Timer timer = Timer.builder(SearchService.LATENCY_METRIC_NAME)
+                .publishPercentiles(0.95, 0.99)
+                .register(meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            timer.record(i < 97 ? 10 : 5_000, TimeUnit.MILLISECONDS);
+        }
+        try (var handle = throttle.start(MAX_CONCURRENCY)) {
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> handle.limiter().limit() < MAX_CONCURRENCY);
+        }
+    }
+
+    @Test
+    void close_releasesWaitingBatches() throws InterruptedException {
+        searchLatency(Duration.ofSeconds(2));
+        var handle = throttle.start(MAX_CONCURRENCY);
+        var limiter = handle.limiter();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> limiter.limit() == MIN_CONCURRENCY);
+        for (int i = 0; i < MIN_CONCURRENCY; i++) {
+            limiter.acquire();
+        }
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        await().during(Duration.ofMillis(100)).atMost(Duration.ofSeconds(1))
+                .until(() -> !waiting.isDone());
+
+        handle.close();
+        await().atMost(Duration.ofSeconds(5)).until(waiting::isDone);
+        assertThat(limiter.limit()).isEqualTo(MAX_CONCURRENCY);
+        // No longer adjusted.
+        searchLatency(Duration.ofSeconds(2));
+        await().during(Duration.ofMillis(100)).atMost(Duration.ofSeconds(1))
+                .until(() -> limiter.limit() == MAX_CONCURRENCY);
+        assertThat(limitGauge()).isNaN();
+    }
+}
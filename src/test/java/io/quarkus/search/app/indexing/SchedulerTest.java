@@ -1,7 +1,12 @@
 package io.quarkus.search.app.indexing;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
 import java.util.Map;
 
+import jakarta.inject.Inject;
+
 import io.quarkus.search.app.SearchService;
 import io.quarkus.search.app.testsupport.QuarkusIOSample;
 import io.quarkus.search.app.testsupport.SetupUtil;
@@ -29,10 +34,25 @@ class SchedulerTest {
         }
     }
 
+    @Inject
+    IndexingService indexingService;
+
     @Test
     void scheduler() {
         // since we've disabled the index-on-start there should be no indexes until the scheduler kicks in:
         SetupUtil.waitForIndexing(getClass());
     }
 
+    @Test
+    void completesWhenIndexingFinishes() {
+        SetupUtil.waitForIndexing(getClass());
+        // The scheduler skips executions until the previous one completes:
+        // it must not complete before indexing finished, otherwise reindexing would pile up.
+        // Checked as soon as it completes, on the indexing thread, before it can start indexing again.
+        boolean inProgressOnCompletion = indexingService.indexOnTime()
+                .map(ignored -> indexingService.isIndexingInProgress())
+                .await().atMost(Duration.ofMinutes(5));
+        assertThat(inProgressOnCompletion).isFalse();
+    }
+
 }
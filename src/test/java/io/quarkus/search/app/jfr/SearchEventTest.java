@@ -0,0 +1,85 @@
+package io.quarkus.search.app.jfr;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SearchEventTest {
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+    }
+
+    private List<RecordedEvent> record(Runnable runnable) throws IOException {
+        Path file = Files.createTempFile("search-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SearchEvent.NAME);
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void searchBackend() throws IOException {
+        var events = record(() -> given()
+                .queryParam("q", "orm")
+                .queryParam("categories", "data")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200));
+        assertThat(events)
+                .filteredOn(event -> event.getString("phase").equals(SearchEvent.PHASE_SEARCH_BACKEND))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("language")).isEqualTo("en");
+                    assertThat(event.getInt("queryLength")).isEqualTo(3);
+                    assertThat(event.getInt("categoryCount")).isEqualTo(1);
+                    assertThat(event.getInt("page")).isZero();
+                    assertThat(event.getInt("hitCount")).isPositive();
+                    assertThat(event.getLong("totalHitCount")).isGreaterThanOrEqualTo(event.getInt("hitCount"));
+                    assertThat(event.getDuration()).isPositive();
+                });
+    }
+
+    @Test
+    void catalog() throws IOException {
+        var events = record(() -> given()
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200));
+        // Browsing doesn't involve the search backend.
+        assertThat(events)
+                .extracting(event -> event.getString("phase"))
+                .containsExactly(SearchEvent.PHASE_CATALOG);
+    }
+}
@@ -0,0 +1,139 @@
+package io.quarkus.search.app.local;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.awaitility.Awaitility;
+
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(LocalIndexTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class LocalIndexTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("local-index.enabled", "true",
+                    "local-index.read-mode", "primary",
+                    "local-index.directory", "target/local-index-test");
+        }
+    }
+
+    private static final TypeRef<SearchResult<GuideSearchHit>> SEARCH_RESULT_SEARCH_HITS = new TypeRef<>() {
+    };
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    @Inject
+    LocalIndex localIndex;
+
+    private SearchResult<GuideSearchHit> search(String term) {
+        return given()
+                .queryParam("q", term)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+    }
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        // The local index is committed right after the search backend.
+        Awaitility.await().timeout(Duration.ofSeconds(30))
+                .until(localIndex::isPrimary);
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void queryMatchingFullTerm() {
+        var result = search("orm");
+        assertThat(result.hits()).extracting(GuideSearchHit::url).containsExactlyInAnyOrder(GuideRef.urls(
+                GuideRef.HIBERNATE_ORM,
+                GuideRef.HIBERNATE_ORM_PANACHE,
+                GuideRef.HIBERNATE_ORM_PANACHE_KOTLIN,
+                GuideRef.HIBERNATE_SEARCH_ORM_ELASTICSEARCH,
+                GuideRef.HIBERNATE_REACTIVE,
+                GuideRef.HIBERNATE_REACTIVE_PANACHE,
+                GuideRef.SPRING_DATA_JPA,
+                GuideRef.ALL_CONFIG,
+                GuideRef.ALL_BUILDITEMS));
+        assertThat(result.total().exact()).isEqualTo(9);
+    }
+
+    @Test
+    void queryNotMatching() {
+        var result = search("termnotmatching");
+        assertThat(result.hits()).isEmpty();
+        assertThat(result.total().exact()).isEqualTo(0);
+    }
+
+    @Test
+    void categories() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("categories", "alt-languages")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).extracting(GuideSearchHit::url).containsExactlyInAnyOrder(GuideRef.urls(
+                GuideRef.HIBERNATE_ORM_PANACHE_KOTLIN));
+    }
+
+    @Test
+    void highlight_title() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("highlightCssClass", "highlighted")
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).extracting(GuideSearchHit::title).contains(
+                "Simplified Hibernate <span class=\"highlighted\">ORM</span> with Panache",
+                "Using Hibernate <span class=\"highlighted\">ORM</span> and Jakarta Persistence",
+                "Simplified Hibernate <span class=\"highlighted\">ORM</span> with Panache and Kotlin");
+    }
+
+    @Test
+    void highlight_content() {
+        var result = given()
+                .queryParam("q", "orm")
+                .queryParam("highlightCssClass", "highlighted-content")
+                .queryParam("contentSnippets", 2)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+        assertThat(result.hits()).isNotEmpty()
+                .allSatisfy(hit -> assertThat(hit.content())
+                        .hasSizeBetween(1, 2)
+                        .allSatisfy(snippet -> assertThat(snippet).contains("<span class=\"highlighted-content\">")));
+    }
+}
@@ -0,0 +1,100 @@
+package io.quarkus.search.app.local;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import io.quarkus.search.app.QuarkusVersions;
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.dto.GuideSearchHit;
+import io.quarkus.search.app.dto.SearchResult;
+import io.quarkus.search.app.testsupport.GuideRef;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.filter.log.LogDetail;
+
+/**
+ * Checks that the application works without any search backend,
+ * with the same configuration as the "lucene" profile.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(LuceneProfileTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class LuceneProfileTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // Same as the "lucene" profile in application.properties
+            return Map.of("local-index.enabled", "true",
+                    "local-index.read-mode", "exclusive",
+                    "local-index.directory", "target/lucene-profile-test",
+                    "quarkus.elasticsearch.devservices.enabled", "false",
+                    "quarkus.hibernate-search-standalone.elasticsearch.version-check.enabled", "false",
+                    "quarkus.hibernate-search-standalone.schema-management.strategy", "none");
+        }
+    }
+
+    private static final TypeRef<SearchResult<GuideSearchHit>> SEARCH_RESULT_SEARCH_HITS = new TypeRef<>() {
+    };
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    private SearchResult<GuideSearchHit> search(String term) {
+        return given()
+                .queryParam("q", term)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200)
+                .extract().body().as(SEARCH_RESULT_SEARCH_HITS);
+    }
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails(LogDetail.BODY);
+    }
+
+    @Test
+    void search() {
+        var result = search("orm");
+        assertThat(result.hits()).extracting(GuideSearchHit::url).contains(GuideRef.urls(
+                GuideRef.HIBERNATE_ORM,
+                GuideRef.HIBERNATE_ORM_PANACHE,
+                GuideRef.HIBERNATE_ORM_PANACHE_KOTLIN));
+    }
+
+    @Test
+    void suggestion() {
+        var result = search("hiberante search");
+        assertThat(result.suggestion().query()).isEqualTo("hibernate search");
+        assertThat(result.hits()).isNotEmpty();
+
+        result = search("hibernate search");
+        assertThat(result.suggestion()).isNull();
+    }
+
+    @Test
+    void versions() {
+        List<String> versions = when().get("versions")
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", String.class);
+        assertThat(versions).contains(QuarkusVersions.LATEST, QuarkusVersions.MAIN);
+    }
+}
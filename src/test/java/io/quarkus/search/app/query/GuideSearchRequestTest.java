@@ -0,0 +1,39 @@
+package io.quarkus.search.app.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.quarkus.search.app.entity.Language;
+
+import org.junit.jupiter.api.Test;
+
+class GuideSearchRequestTest {
+
+    private static GuideSearchRequest request(List<String> categories, String q, Language language, int page) {
+        return new GuideSearchRequest("latest", List.of("latest"), categories, q, null, language, null, "highlighted",
+                page, 1, 100, QueryGuard.Verdict.FULL);
+    }
+
+    @Test
+    void preference_stable() {
+        String preference = request(List.of("core", "web"), "hibernate orm", Language.ENGLISH, 0).preference();
+        // Same (normalized) request: same preference, and thus same shard copy.
+        assertThat(request(List.of("core", "web"), "hibernate orm", Language.ENGLISH, 0).preference())
+                .isEqualTo(preference);
+        assertThat(request(List.of("web", "core"), "  Hibernate   ORM ", Language.ENGLISH, 0).preference())
+                .isEqualTo(preference);
+        // Must not start with '_', which is reserved for built-in preferences.
+        assertThat(preference).doesNotStartWith("_");
+    }
+
+    @Test
+    void preference_different() {
+        String preference = request(List.of(), "hibernate orm", Language.ENGLISH, 0).preference();
+        assertThat(request(List.of(), "hibernate", Language.ENGLISH, 0).preference()).isNotEqualTo(preference);
+        assertThat(request(List.of(), "hibernate orm", Language.JAPANESE, 0).preference()).isNotEqualTo(preference);
+        assertThat(request(List.of(), "hibernate orm", Language.ENGLISH, 1).preference()).isNotEqualTo(preference);
+        assertThat(request(List.of("core"), "hibernate orm", Language.ENGLISH, 0).preference())
+                .isNotEqualTo(preference);
+    }
+}
@@ -0,0 +1,209 @@
+package io.quarkus.search.app.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgerTest {
+
+    private static final int MAX_CONCURRENCY = 2;
+    private static final long DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter hedged = meterRegistry.counter("hedged");
+    private final Counter won = meterRegistry.counter("won");
+    // Released at the end of each test, so that blocked executions don't outlive it.
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        blocked.countDown();
+        executor.shutdownNow();
+    }
+
+    private Hedger hedger(double budgetRatio) {
+        return new Hedger(executor, new HedgingBudget(budgetRatio, 10), MAX_CONCURRENCY, hedged, won);
+    }
+
+    @Test
+    void fast() {
+        String result = hedger(1.0).execute(hedge -> hedge ? "hedge" : "primary", DELAY_NANOS);
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedged.count()).isZero();
+    }
+
+    @Test
+    void firstResponseWins() {
+        String result = hedger(1.0).execute(hedge -> hedge ? "hedge" : block("primary"), DELAY_NANOS);
+        assertThat(result).isEqualTo("hedge");
+        assertThat(hedged.count()).isEqualTo(1);
+        assertThat(won.count()).isEqualTo(1);
+    }
+
+    @Test
+    void primaryWinsAfterHedging() {
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        String result = hedger(1.0).execute(hedge -> {
+            if (hedge) {
+                hedgeSent.countDown();
+                return block("hedge");
+            }
+            awaitLatch(hedgeSent);
+            return "primary";
+        }, DELAY_NANOS);
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedged.count()).isEqualTo(1);
+        assertThat(won.count()).isZero();
+    }
+
+    @Test
+    void oneFailure() {
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        String result = hedger(1.0).execute(hedge -> {
+            if (hedge) {
+                hedgeSent.countDown();
+                return "hedge";
+            }
+            awaitLatch(hedgeSent);
+            throw new IllegalStateException("primary failed");
+        }, DELAY_NANOS);
+        // The failure of one execution is ignored as long as the other succeeds.
+        assertThat(result).isEqualTo("hedge");
+    }
+
+    @Test
+    void allFailures() {
+        CountDownLatch hedgeFailed = new CountDownLatch(1);
+        Hedger hedger = hedger(1.0);
+        assertThatThrownBy(() -> hedger.execute(hedge -> {
+            if (hedge) {
+                hedgeFailed.countDown();
+                throw new IllegalStateException("hedge failed");
+            }
+            awaitLatch(hedgeFailed);
+            throw new IllegalArgumentException("primary failed");
+        }, DELAY_NANOS))
+                // The original exception, so that fault tolerance can react to it.
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("primary failed");
+    }
+
+    @Test
+    void failureBeforeDelay() {
+        Hedger hedger = hedger(1.0);
+        assertThatThrownBy(() -> hedger.execute(hedge -> {
+            throw new IllegalArgumentException(hedge ? "hedge failed" : "primary failed");
+        }, TimeUnit.SECONDS.toNanos(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("primary failed");
+        assertThat(hedged.count()).isZero();
+    }
+
+    @Test
+    void loserCancelled() {
+        CompletableFuture<Boolean> primaryInterrupted = new CompletableFuture<>();
+        Hedger hedger = hedger(1.0);
+        String result = hedger.execute(hedge -> {
+            if (hedge) {
+                return "hedge";
+            }
+            try {
+                blocked.await();
+                primaryInterrupted.complete(false);
+            } catch (InterruptedException e) {
+                primaryInterrupted.complete(true);
+            }
+            return "primary";
+        }, DELAY_NANOS);
+        assertThat(result).isEqualTo("hedge");
+        await().atMost(Duration.ofSeconds(5)).until(primaryInterrupted::isDone);
+        assertThat(primaryInterrupted.join()).isTrue();
+        // The permit is released once the loser is done.
+        await().atMost(Duration.ofSeconds(5)).until(() -> hedger.availablePermits() == MAX_CONCURRENCY);
+    }
+
+    @Test
+    void noBudget() {
+        CountDownLatch delayElapsed = new CountDownLatch(1);
+        executor.submit(() -> {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(DELAY_NANOS) * 5);
+            delayElapsed.countDown();
+            return null;
+        });
+        String result = hedger(0.0).execute(hedge -> {
+            awaitLatch(delayElapsed);
+            return hedge ? "hedge" : "primary";
+        }, DELAY_NANOS);
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedged.count()).isZero();
+    }
+
+    @Test
+    void maxConcurrency() {
+        Hedger hedger = hedger(1.0);
+        // Losers hold their permit until they complete.
+        for (int i = 0; i < MAX_CONCURRENCY; i++) {
+            assertThat(hedger.execute(hedge -> hedge ? "hedge" : blockUninterruptibly("primary"), DELAY_NANOS))
+                    .isEqualTo("hedge");
+        }
+        assertThat(hedger.availablePermits()).isZero();
+
+        CountDownLatch delayElapsed = new CountDownLatch(1);
+        executor.submit(() -> {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(DELAY_NANOS) * 5);
+            delayElapsed.countDown();
+            return null;
+        });
+        String result = hedger.execute(hedge -> {
+            awaitLatch(delayElapsed);
+            return hedge ? "hedge" : "primary";
+        }, DELAY_NANOS);
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedged.count()).isEqualTo(MAX_CONCURRENCY);
+    }
+
+    private String block(String result) {
+        awaitLatch(blocked);
+        return result;
+    }
+
+    private String blockUninterruptibly(String result) {
+        while (blocked.getCount() > 0) {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                // Simulates a request that cannot be aborted.
+            }
+        }
+        return result;
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkus.search.app.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HedgingBudgetTest {
+
+    @Test
+    void earnThenSpend() {
+        HedgingBudget budget = new HedgingBudget(0.25, 10);
+        assertThat(budget.trySpend()).isFalse();
+        for (int i = 0; i < 3; i++) {
+            budget.earn();
+        }
+        assertThat(budget.available()).isEqualTo(0.75);
+        assertThat(budget.trySpend()).isFalse();
+
+        budget.earn();
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.available()).isZero();
+        assertThat(budget.trySpend()).isFalse();
+    }
+
+    @Test
+    void burst() {
+        HedgingBudget budget = new HedgingBudget(0.5, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.earn();
+        }
+        assertThat(budget.available()).isEqualTo(2.0);
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.trySpend()).isFalse();
+    }
+
+    @Test
+    void noRoundingDrift() {
+        // 0.05 is not exactly representable as a double: 20 searches must still earn exactly one hedge.
+        HedgingBudget budget = new HedgingBudget(0.05, 10);
+        for (int i = 0; i < 20; i++) {
+            budget.earn();
+        }
+        assertThat(budget.trySpend()).isTrue();
+        assertThat(budget.available()).isZero();
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkus.search.app.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PartialWordTest {
+    @Test
+    void empty() {
+        assertThat(PartialWord.of(null)).isNull();
+        assertThat(PartialWord.of("  ")).isNull();
+    }
+
+    @Test
+    void singleWord() {
+        assertThat(PartialWord.of("Hiber"))
+                .isEqualTo(new PartialWord(null, "hiber"));
+        assertThat(PartialWord.of("hiber  "))
+                .isEqualTo(new PartialWord(null, "hiber"));
+        // Too short
+        assertThat(PartialWord.of("h")).isNull();
+    }
+
+    @Test
+    void lastWord() {
+        assertThat(PartialWord.of("hibernate sea"))
+                .isEqualTo(new PartialWord("hibernate", "sea"));
+        assertThat(PartialWord.of("\"hibernate search\" ela"))
+                .isEqualTo(new PartialWord("\"hibernate search\"", "ela"));
+    }
+
+    @Test
+    void notCompletable() {
+        // Within a phrase
+        assertThat(PartialWord.of("\"hibernate sea")).isNull();
+        assertThat(PartialWord.of("\"hibernate search\"")).isNull();
+        // Operand of an operator
+        assertThat(PartialWord.of("orm | hiber")).isNull();
+        assertThat(PartialWord.of("orm + hiber")).isNull();
+        // Part of a compound name
+        assertThat(PartialWord.of("quarkus.datasou")).isNull();
+        assertThat(PartialWord.of("rest-cli")).isNull();
+        // Written without spaces between words
+        assertThat(PartialWord.of("設定ガイ")).isNull();
+        assertThat(PartialWord.of("hibernate 配置")).isNull();
+    }
+}
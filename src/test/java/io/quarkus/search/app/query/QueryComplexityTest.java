@@ -0,0 +1,42 @@
+package io.quarkus.search.app.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class QueryComplexityTest {
+    @Test
+    void empty() {
+        assertThat(QueryComplexity.of(null).cost()).isZero();
+        assertThat(QueryComplexity.of("  ").cost()).isZero();
+    }
+
+    @Test
+    void terms() {
+        assertThat(QueryComplexity.of("hibernate search"))
+                .isEqualTo(new QueryComplexity(2, 0, 0, 0));
+        assertThat(QueryComplexity.of("quarkus.vertx.eventbus.tcp-keep-alive"))
+                .isEqualTo(new QueryComplexity(6, 0, 0, 0));
+    }
+
+    @Test
+    void phrases() {
+        assertThat(QueryComplexity.of("\"hibernate search\" orm \"dev services\""))
+                .isEqualTo(new QueryComplexity(5, 4, 2, 0));
+        // Unclosed quotes are not phrases
+        assertThat(QueryComplexity.of("\"hibernate search"))
+                .isEqualTo(new QueryComplexity(2, 0, 0, 0));
+    }
+
+    @Test
+    void orOperators() {
+        assertThat(QueryComplexity.of("orm | jpa | \"a|b\""))
+                .isEqualTo(new QueryComplexity(4, 2, 2, 2));
+    }
+
+    @Test
+    void cost() {
+        assertThat(QueryComplexity.of("\"hibernate search\" | orm").cost())
+                .isEqualTo(3 + 2 * 2 + 2);
+    }
+}
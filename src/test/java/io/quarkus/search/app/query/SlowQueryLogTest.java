@@ -0,0 +1,105 @@
+package io.quarkus.search.app.query;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import io.quarkus.search.app.SearchService;
+import io.quarkus.search.app.testsupport.QuarkusIOSample;
+import io.quarkus.search.app.testsupport.SetupUtil;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import org.awaitility.Awaitility;
+import org.jboss.logmanager.ExtLogRecord;
+
+@QuarkusTest
+@TestHTTPEndpoint(SearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestProfile(SlowQueryLogTest.Profile.class)
+@QuarkusIOSample.Setup(filter = QuarkusIOSample.SearchServiceFilterDefinition.class)
+class SlowQueryLogTest {
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // Every search is slow.
+            return Map.of("searching.slow-query-log.threshold", "0ms");
+        }
+    }
+
+    private static final String GUIDES_SEARCH = "/guides/search";
+
+    private final Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record instanceof ExtLogRecord extRecord ? extRecord.getFormattedMessage()
+                    : record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeAll
+    void setup() {
+        SetupUtil.waitForIndexing(getClass());
+        logger.addHandler(handler);
+    }
+
+    @AfterAll
+    void removeHandler() {
+        logger.removeHandler(handler);
+    }
+
+    private String search(String q, String requestKeyQuery) {
+        given()
+                .queryParam("q", q)
+                .when().get(GUIDES_SEARCH)
+                .then()
+                .statusCode(200);
+        return Awaitility.await().atMost(Duration.ofSeconds(10))
+                .until(() -> messages.stream().filter(message -> message.contains("|" + requestKeyQuery + "|"))
+                        .toList(), found -> found.size() == 1)
+                .get(0);
+    }
+
+    @Test
+    void logged() {
+        assertThat(search("Reactive  Messaging", "reactive messaging"))
+                .startsWith("Slow search:")
+                // Everything needed to reproduce the search: routing keys and request bodies.
+                .contains("Routing keys: [")
+                .contains("Request bodies: [{")
+                .contains("Suggestion retry: false.");
+    }
+
+    @Test
+    void suggestionRetry() {
+        // Doesn't match anything, so the search gets retried with "application".
+        assertThat(search("aplication", "aplication"))
+                .contains("Suggestion retry: true.")
+                .contains("Requests (including suggestion retries and hedges): 2.");
+    }
+}
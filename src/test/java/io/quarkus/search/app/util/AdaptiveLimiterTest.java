@@ -0,0 +1,87 @@
+package io.quarkus.search.app.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void limit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2);
+        limiter.acquire();
+        limiter.acquire();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        // Blocked until an operation completes.
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1))
+                .until(() -> !third.isDone());
+
+        limiter.release();
+        await().atMost(Duration.ofSeconds(5)).until(third::isDone);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1);
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+
+        // Gives up once the timeout elapsed.
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(200))).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(limiter.inFlight()).isEqualTo(1);
+
+        // Succeeds if an operation completes in the meantime.
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1))
+                .until(() -> !second.isDone());
+        limiter.release();
+        await().atMost(Duration.ofSeconds(5)).until(second::isDone);
+        assertThat(second.join()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void pause() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4);
+        limiter.limit(0);
+        assertThat(limiter.limit()).isZero();
+
+        CompletableFuture<Void> operation = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1))
+                .until(() -> !operation.isDone());
+
+        // Raising the limit resumes waiting operations; the limit is capped.
+        limiter.limit(10);
+        assertThat(limiter.limit()).isEqualTo(4);
+        await().atMost(Duration.ofSeconds(5)).until(operation::isDone);
+    }
+}